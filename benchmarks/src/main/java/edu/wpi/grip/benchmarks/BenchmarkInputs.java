@@ -0,0 +1,129 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.operations.composite.BlobsReport;
+import edu.wpi.grip.core.operations.composite.ContoursReport;
+import edu.wpi.grip.core.operations.composite.FindBlobsOperation;
+import edu.wpi.grip.core.operations.composite.FindContoursOperation;
+import edu.wpi.grip.core.operations.composite.FindLinesOperation;
+import edu.wpi.grip.core.operations.composite.LinesReport;
+import edu.wpi.grip.core.operations.composite.TrackingWindow;
+import edu.wpi.grip.core.operations.composite.TrackingWindowOperation;
+
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+
+/**
+ * Deterministic inputs for benchmarking operations.
+ * <p>
+ * The images look roughly like what a vision pipeline sees on a robot: a dim background with a few bright targets, so
+ * that thresholds, contours, blobs and lines all have something to find.  Everything is drawn the same way every time
+ * so results from different runs can be compared.
+ */
+final class BenchmarkInputs {
+
+    private final EventBus eventBus;
+    private final Mat image;
+    private final Mat mask;
+
+    /**
+     * @param channels The number of channels in the image.  For three channels, the targets are green, like they would
+     *                 be with a ring light.
+     */
+    BenchmarkInputs(EventBus eventBus, int width, int height, int channels) {
+        this.eventBus = eventBus;
+
+        mask = new Mat(height, width, CV_8UC1, Scalar.all(0));
+        drawTargets(mask, Scalar.all(255));
+
+        // A gradient from top to bottom, so the background isn't completely uniform
+        image = new Mat(height, width, CV_MAKETYPE(CV_8U, channels));
+        final Scalar background = channels == 1 ? Scalar.all(0) : new Scalar(40, 20, 30, 0);
+        for (int y = 0; y < height; y++) {
+            image.row(y).put(new Scalar(background.get(0) + 60.0 * y / height, background.get(1) + 40.0 * y / height,
+                    background.get(2) + 50.0 * y / height, 0));
+        }
+        drawTargets(image, channels == 1 ? Scalar.all(230) : new Scalar(40, 250, 60, 0));
+    }
+
+    /**
+     * Draw a few rectangular targets, a ball and a line, all scaled to the size of the image
+     */
+    private static void drawTargets(Mat mat, Scalar color) {
+        final int width = mat.cols(), height = mat.rows();
+        rectangle(mat, new Point(width / 8, height / 4), new Point(width / 4, height / 2), color, -1, LINE_8, 0);
+        rectangle(mat, new Point(width * 5 / 8, height / 4), new Point(width * 3 / 4, height / 2), color, -1, LINE_8, 0);
+        rectangle(mat, new Point(width / 2, height * 5 / 8), new Point(width * 9 / 16, height * 7 / 8), color,
+                Math.max(1, width / 80), LINE_8, 0);
+        circle(mat, new Point(width * 3 / 8, height * 3 / 4), Math.max(2, height / 10), color, -1, LINE_8, 0);
+        line(mat, new Point(0, height - 1), new Point(width - 1, height / 8), color, Math.max(1, width / 160), LINE_8, 0);
+    }
+
+    /**
+     * Get a value for an input socket that doesn't have a useful default.
+     * <p>
+     * Every image input gets the benchmark image, except for masks, which get a single-channel mask of the targets.
+     * Reports are made by running the operation that would normally come before this one on the mask, and tracking
+     * windows are made from the image.  Other inputs keep their default value, like they would when a step is first
+     * added to the pipeline.
+     */
+    Optional<?> valueFor(InputSocket<?> socket) {
+        final Class<?> type = socket.getSocketHint().getType();
+        if (type == Mat.class) {
+            return Optional.of(socket.getSocketHint().getIdentifier().toLowerCase().contains("mask") ? mask : image);
+        } else if (socket.getValue().isPresent()) {
+            return socket.getValue();
+        } else if (type == ContoursReport.class) {
+            return runOperation(new FindContoursOperation(), mask, 0);
+        } else if (type == BlobsReport.class) {
+            return runOperation(new FindBlobsOperation(), mask, 0);
+        } else if (type == LinesReport.class) {
+            return runOperation(new FindLinesOperation(), mask, 0);
+        } else if (type == TrackingWindow.class) {
+            return runOperation(new TrackingWindowOperation(), image, 1);
+        } else if (type == Number.class) {
+            return Optional.of(1.0);
+        } else if (type == Point.class) {
+            return Optional.of(new Point(image.cols() / 2, image.rows() / 2));
+        } else if (type == Size.class) {
+            return Optional.of(new Size(image.cols(), image.rows()));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Give every input socket of an operation a value from {@link #valueFor}
+     *
+     * @return The first image input, which is the one that changes with every frame in a real pipeline, or
+     * <code>null</code> if the operation doesn't take an image
+     */
+    @SuppressWarnings("unchecked")
+    InputSocket<Mat> fill(InputSocket<?>[] inputs) {
+        InputSocket<Mat> imageSocket = null;
+        for (InputSocket input : inputs) {
+            input.setValueOptional(valueFor(input));
+            if (imageSocket == null && input.getSocketHint().getType() == Mat.class) {
+                imageSocket = input;
+            }
+        }
+        return imageSocket;
+    }
+
+    /**
+     * Run an operation on an image with the default values for all of its other inputs, and return one of its outputs
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<?> runOperation(Operation operation, Mat input, int output) {
+        final InputSocket[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket[] outputs = operation.createOutputSockets(eventBus);
+        inputs[0].setValue(input);
+        operation.perform(inputs, outputs, operation.createData());
+        return outputs[output].getValue();
+    }
+}
@@ -0,0 +1,79 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.events.OperationAddedEvent;
+import edu.wpi.grip.core.operations.Operations;
+import edu.wpi.grip.core.operations.composite.PublishVideoOperation;
+import edu.wpi.grip.core.operations.networktables.NTPublishOperation;
+import edu.wpi.grip.generated.CVOperations;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Every operation in the palette, keyed by name, except for the ones that publish their results.
+ * <p>
+ * The operations are collected the same way the {@link edu.wpi.grip.core.Palette} collects them, so anything that's
+ * added to {@link Operations#addOperations(EventBus)} or {@link CVOperations#addOperations(EventBus)} is benchmarked
+ * without having to list it here.
+ * <p>
+ * Publishing operations are left out because running them has side effects outside of the benchmark.  Publish Video
+ * starts a server on the robot's camera port, and the NetworkTables operations write to the GRIP table.
+ */
+public final class BenchmarkOperations {
+
+    private static final Map<String, Operation> operations = collectOperations();
+
+    private BenchmarkOperations() { /* no op */ }
+
+    public static class Collector {
+        private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+        @Subscribe
+        public void onOperationAdded(OperationAddedEvent event) {
+            final Operation operation = event.getOperation();
+            if (!isPublishing(operation)) {
+                operations.put(operation.getName(), operation);
+            }
+        }
+    }
+
+    /**
+     * @return true if the operation sends its inputs somewhere outside of GRIP
+     */
+    private static boolean isPublishing(Operation operation) {
+        return operation instanceof NTPublishOperation || operation instanceof PublishVideoOperation;
+    }
+
+    private static Map<String, Operation> collectOperations() {
+        final EventBus eventBus = new EventBus();
+        final Collector collector = new Collector();
+        eventBus.register(collector);
+
+        Operations.addOperations(eventBus);
+        CVOperations.addOperations(eventBus);
+
+        return Collections.unmodifiableMap(collector.operations);
+    }
+
+    /**
+     * @return Every operation in the palette, in the order they were added
+     */
+    public static Map<String, Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there's no operation with the given name
+     */
+    public static Operation getOperation(String name) {
+        final Operation operation = operations.get(name);
+        if (operation == null) {
+            throw new IllegalArgumentException("There is no operation named " + name);
+        }
+        return operation;
+    }
+}
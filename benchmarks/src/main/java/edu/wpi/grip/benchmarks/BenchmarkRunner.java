@@ -0,0 +1,94 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.Operation;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+
+/**
+ * Runs {@link OperationBenchmark} for every operation in the palette and writes all of the results to one JSON file.
+ * <p>
+ * Usage: {@code BenchmarkRunner results.json [operation name regex] [JMH options...]}
+ * <p>
+ * Benchmarks are identified in the results by the operation's name rather than its position in the palette, so the
+ * JSON files from two different commits can be compared directly, for example with JMH Visualizer.  Operations that
+ * don't take an image are only run once instead of at every image size.  Operations that can't run on some kind of
+ * image (such as a color threshold on a grayscale image) fail during setup, and those combinations are left out of the
+ * results.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() { /* no op */ }
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, FileNotFoundException {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkRunner results.json [operation name regex] [JMH options...]");
+            return;
+        }
+
+        final File resultFile = new File(args[0]);
+        final Pattern filter = Pattern.compile(args.length > 1 ? args[1] : ".*");
+        final CommandLineOptions jmhOptions = new CommandLineOptions(
+                args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : new String[0]);
+
+        final List<RunResult> results = new ArrayList<>();
+        for (Operation operation : BenchmarkOperations.getOperations().values()) {
+            if (!filter.matcher(operation.getName()).matches()) {
+                continue;
+            }
+
+            final OptionsBuilder options = new OptionsBuilder();
+            options.parent(jmhOptions)
+                    .include(Pattern.quote(OperationBenchmark.class.getName()))
+                    .param("operation", operation.getName())
+                    .shouldFailOnError(false);
+            if (!takesImage(operation)) {
+                options.param("size", "640x480").param("channels", "3");
+            }
+
+            results.addAll(new Runner(options.build()).run());
+        }
+
+        writeResults(resultFile, results);
+        System.out.println("Wrote " + results.size() + " results to " + resultFile);
+    }
+
+    private static boolean takesImage(Operation operation) {
+        for (InputSocket<?> socket : operation.createInputSockets(new EventBus())) {
+            if (socket.getSocketHint().getType() == Mat.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writeResults(File resultFile, Collection<RunResult> results) throws FileNotFoundException {
+        final File directory = resultFile.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create " + directory);
+        }
+
+        try (PrintStream out = new PrintStream(resultFile)) {
+            ResultFormatFactory.getInstance(ResultFormatType.JSON, out).writeOut(results);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.operations.opencv.CVOperation;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+
+/**
+ * The shared setup for the benchmarks generated for each OpenCV operation by the code generator in buildSrc.
+ * <p>
+ * Each generated benchmark only has to say which operation it runs and call it.  The sizes, inputs and measurement
+ * settings are the same as {@link OperationBenchmark}, so the results can be compared with the rest of the palette.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public abstract class CVOperationBenchmark {
+
+    @Param({"160x120", "320x240", "640x480", "1280x720", "1920x1080"})
+    public String size;
+
+    @Param({"1", "3"})
+    public int channels;
+
+    protected InputSocket<?>[] inputs;
+    protected OutputSocket<?>[] outputs;
+    private InputSocket<Mat> imageSocket;
+    private Mat image;
+
+    /**
+     * @return The operation to benchmark
+     */
+    protected abstract CVOperation getOperation();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final String[] dimensions = size.split("x");
+        final EventBus eventBus = new EventBus();
+        final BenchmarkInputs benchmarkInputs = new BenchmarkInputs(eventBus,
+                Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), channels);
+
+        inputs = getOperation().createInputSockets(eventBus);
+        outputs = getOperation().createOutputSockets(eventBus);
+        imageSocket = benchmarkInputs.fill(inputs);
+        if (imageSocket != null) {
+            image = imageSocket.getValue().get();
+        }
+
+        // Fail during setup if the operation can't run on this kind of image, so JMH skips this combination
+        getOperation().perform(inputs, outputs);
+    }
+
+    /**
+     * Set the image input again, the same way a connection updates a step's inputs each time a new frame comes through
+     * the pipeline
+     */
+    protected void resetImage() {
+        if (imageSocket != null) {
+            imageSocket.setValue(image);
+        }
+    }
+}
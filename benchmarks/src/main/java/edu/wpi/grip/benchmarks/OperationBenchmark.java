@@ -0,0 +1,92 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.OutputSocket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+
+/**
+ * Measures how long one call to {@link Operation#perform} takes for an operation in the palette.
+ * <p>
+ * The operation to run is a parameter, so {@link BenchmarkRunner} can run this once for every operation.  The inputs
+ * are stored in {@link InputSocket}s and the image is set again before each call, the same way a connection updates a
+ * step's inputs each time a new frame comes through the pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class OperationBenchmark {
+
+    @Param({"Blur"})
+    public String operation;
+
+    @Param({"160x120", "320x240", "640x480", "1280x720", "1920x1080"})
+    public String size;
+
+    @Param({"1", "3"})
+    public int channels;
+
+    private Operation op;
+    private InputSocket[] inputs;
+    private OutputSocket[] outputs;
+    private Optional<?> data;
+    private InputSocket<Mat> imageSocket;
+    private Mat image;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final String[] dimensions = size.split("x");
+        final EventBus eventBus = new EventBus();
+        final BenchmarkInputs benchmarkInputs = new BenchmarkInputs(eventBus,
+                Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), channels);
+
+        op = BenchmarkOperations.getOperation(operation);
+        inputs = op.createInputSockets(eventBus);
+        outputs = op.createOutputSockets(eventBus);
+        data = op.createData();
+
+        imageSocket = benchmarkInputs.fill(inputs);
+        if (imageSocket != null) {
+            image = imageSocket.getValue().get();
+        }
+
+        // Fail here instead of in the middle of the benchmark if the operation can't run on this kind of image, for
+        // example a color threshold on a one-channel image.  BenchmarkRunner skips over benchmarks that fail setup.
+        op.perform(inputs, outputs, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        op.cleanUp(inputs, outputs, data);
+    }
+
+    @Benchmark
+    public OutputSocket[] perform() {
+        if (imageSocket != null) {
+            imageSocket.setValue(image);
+        }
+        op.perform(inputs, outputs, data);
+        return outputs;
+    }
+}
@@ -0,0 +1,381 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import edu.wpi.grip.core.Connection;
+import edu.wpi.grip.core.GRIPCoreModule;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.Pipeline;
+import edu.wpi.grip.core.PipelineRunner;
+import edu.wpi.grip.core.Source;
+import edu.wpi.grip.core.events.ConnectionAddedEvent;
+import edu.wpi.grip.core.events.ConnectionRemovedEvent;
+import edu.wpi.grip.core.events.RenderEvent;
+import edu.wpi.grip.core.events.SourceAddedEvent;
+import edu.wpi.grip.core.events.SourceRemovedEvent;
+import edu.wpi.grip.core.operations.Operations;
+import edu.wpi.grip.core.serialization.Project;
+import edu.wpi.grip.core.util.ExceptionWitness;
+import edu.wpi.grip.generated.CVOperations;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Size;
+import static org.bytedeco.javacpp.opencv_imgcodecs.IMREAD_COLOR;
+import static org.bytedeco.javacpp.opencv_imgcodecs.imread;
+import static org.bytedeco.javacpp.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.javacpp.opencv_imgproc.resize;
+
+/**
+ * Measures how fast a whole project runs, from the source to the last step.
+ * <p>
+ * The project is loaded through {@link Project} like it would be in headless mode, and then each of its sources is
+ * swapped for a {@link ReplaySource} that plays back the same recorded frames every time.  {@link PipelineRunner} is
+ * asked to run again as soon as it finishes each frame, so the pipeline runs as fast as it can for a fixed amount of
+ * time.  Nothing needs a camera or a display, so this can run in a test JVM or on a robot.
+ * <p>
+ * Usage: {@code PipelineBenchmark [--frames directory] [--size 640x480] [--warmup seconds] [--duration seconds]
+ * project.grip...}
+ */
+public final class PipelineBenchmark {
+
+    private final Injector injector;
+    private final EventBus eventBus;
+    private final Pipeline pipeline;
+    private final Project project;
+    private final PipelineRunner pipelineRunner;
+    private final Connection.Factory<Object> connectionFactory;
+
+    private final List<ReplaySource> replaySources = new ArrayList<>();
+
+    /**
+     * The time each frame took to go through the pipeline, in nanoseconds.  This is written by the pipeline thread and
+     * only read after the pipeline has stopped, and it's a primitive array so that recording latencies doesn't count
+     * towards the pipeline's allocation rate.
+     */
+    private long[] latencies = new long[1 << 16];
+    private int frameCount = 0;
+    private volatile boolean measuring = false;
+
+    /**
+     * The results of running one project
+     */
+    public static final class Result {
+        private final String project;
+        private final int frames;
+        private final double seconds;
+        private final double p50Millis, p99Millis;
+        private final double allocatedMegabytesPerSecond;
+        private final double nativeGrowthMegabytes;
+
+        private Result(String project, int frames, double seconds, double p50Millis, double p99Millis,
+                       double allocatedMegabytesPerSecond, double nativeGrowthMegabytes) {
+            this.project = project;
+            this.frames = frames;
+            this.seconds = seconds;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.allocatedMegabytesPerSecond = allocatedMegabytesPerSecond;
+            this.nativeGrowthMegabytes = nativeGrowthMegabytes;
+        }
+
+        public int getFrames() {
+            return frames;
+        }
+
+        public double getFramesPerSecond() {
+            return frames / seconds;
+        }
+
+        /**
+         * @return The median time for one frame to go through the pipeline, in milliseconds
+         */
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        /**
+         * @return The 99th percentile time for one frame to go through the pipeline, in milliseconds
+         */
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        /**
+         * @return How fast the Java heap was allocated from while the pipeline ran, in megabytes per second
+         */
+        public double getAllocatedMegabytesPerSecond() {
+            return allocatedMegabytesPerSecond;
+        }
+
+        /**
+         * @return How much memory outside of the Java heap (mostly OpenCV's) grew by while the pipeline ran, in
+         * megabytes, or {@link Double#NaN} if this can't be measured on this platform
+         */
+        public double getNativeGrowthMegabytes() {
+            return nativeGrowthMegabytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %d frames in %.1f s, %.1f FPS, p50 %.2f ms, p99 %.2f ms, " +
+                            "%.1f MB/s allocated, native memory %+.1f MB", project, frames, seconds,
+                    getFramesPerSecond(), p50Millis, p99Millis, allocatedMegabytesPerSecond, nativeGrowthMegabytes);
+        }
+    }
+
+    public PipelineBenchmark() {
+        injector = Guice.createInjector(new GRIPCoreModule());
+        eventBus = injector.getInstance(EventBus.class);
+        pipeline = injector.getInstance(Pipeline.class);
+        // The project has to be created before any operations are added, so the palette is listening for them
+        project = injector.getInstance(Project.class);
+        pipelineRunner = injector.getInstance(PipelineRunner.class);
+        connectionFactory = injector.getInstance(Key.get(new TypeLiteral<Connection.Factory<Object>>() {
+        }));
+
+        Operations.addOperations(eventBus);
+        CVOperations.addOperations(eventBus);
+        eventBus.register(this);
+    }
+
+    /**
+     * Load the frames to play back from every image in a directory, in order of their file names.  The frames are all
+     * resized to the same size, like frames from a camera would be.
+     */
+    public static List<Mat> loadFrames(File directory, int width, int height) throws IOException {
+        final File[] files = directory.listFiles();
+        checkArgument(files != null, "%s is not a directory", directory);
+        Arrays.sort(files);
+
+        final List<Mat> frames = new ArrayList<>();
+        for (File file : files) {
+            final Mat image = imread(file.getAbsolutePath(), IMREAD_COLOR);
+            if (!image.empty()) {
+                final Mat frame = new Mat();
+                resize(image, frame, new Size(width, height), 0, 0, INTER_AREA);
+                frames.add(frame);
+            }
+        }
+
+        if (frames.isEmpty()) {
+            throw new IOException("There are no images in " + directory);
+        }
+        return frames;
+    }
+
+    /**
+     * Load a project, replace its sources with replays of the given frames, and run it.
+     *
+     * @param warmupMillis   How long to run the pipeline before measuring, so the JIT compiler and any caches in the
+     *                       operations have settled down
+     * @param durationMillis How long to measure the pipeline for
+     */
+    public Result run(File projectFile, List<Mat> frames, long warmupMillis, long durationMillis)
+            throws IOException, InterruptedException {
+        project.open(projectFile);
+        replaceSources(frames);
+
+        pipelineRunner.startAsync().awaitRunning();
+        final Map<Long, Long> allocatedBefore;
+        final long nativeBefore, nativeAfter, allocated, elapsed;
+        try {
+            replaySources.forEach(ReplaySource::requestFrame);
+            Thread.sleep(warmupMillis);
+
+            allocatedBefore = allocatedBytesByThread();
+            nativeBefore = nativeBytes();
+            final long start = System.nanoTime();
+            frameCount = 0;
+            measuring = true;
+
+            Thread.sleep(durationMillis);
+
+            measuring = false;
+            elapsed = System.nanoTime() - start;
+            nativeAfter = nativeBytes();
+            allocated = allocatedBytesSince(allocatedBefore);
+        } finally {
+            pipelineRunner.stopAndAwait();
+        }
+
+        // The latencies are only read once the pipeline thread has stopped writing them
+        final double seconds = elapsed / 1e9;
+        final long[] sorted = Arrays.copyOf(latencies, frameCount);
+        Arrays.sort(sorted);
+        return new Result(projectFile.getName(), frameCount, seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), allocated / seconds / 1e6,
+                nativeBefore < 0 || nativeAfter < 0 ? Double.NaN : (nativeAfter - nativeBefore) / 1e6);
+    }
+
+    /**
+     * Swap each source in the pipeline for a replay, moving all of its connections over
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceSources(List<Mat> frames) {
+        replaySources.clear();
+        final ExceptionWitness.Factory exceptionWitnessFactory = injector.getInstance(ExceptionWitness.Factory.class);
+
+        for (Source source : pipeline.getSources()) {
+            final ReplaySource replay = new ReplaySource(eventBus, exceptionWitnessFactory, source, frames);
+            final List<OutputSocket> originalSockets = Arrays.asList(source.getOutputSockets());
+            final OutputSocket[] replaySockets = replay.getOutputSockets();
+            eventBus.post(new SourceAddedEvent(replay));
+
+            for (Connection connection : ImmutableList.copyOf(pipeline.getConnections())) {
+                final int index = originalSockets.indexOf(connection.getOutputSocket());
+                if (index >= 0) {
+                    eventBus.post(new ConnectionRemovedEvent(connection));
+                    final Connection replacement = connectionFactory.create(replaySockets[index],
+                            connection.getInputSocket());
+                    eventBus.post(new ConnectionAddedEvent(replacement));
+                }
+            }
+
+            eventBus.post(new SourceRemovedEvent(source));
+            replaySources.add(replay);
+        }
+
+        checkArgument(!replaySources.isEmpty(), "The project doesn't have any sources to replay");
+    }
+
+    /**
+     * Record how long the frame took, then ask for the next one.  This is called on the pipeline thread right after
+     * each run of the pipeline.
+     */
+    @Subscribe
+    public void onRender(RenderEvent event) {
+        if (replaySources.isEmpty()) {
+            return;
+        }
+
+        if (measuring) {
+            if (frameCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[frameCount++] = System.nanoTime() - replaySources.get(0).getLastFrameTime();
+        }
+
+        replaySources.forEach(ReplaySource::requestFrame);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        final int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<Long, Long> allocatedBytesByThread() {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long[] ids = threads.getAllThreadIds();
+        final long[] allocated = threads.getThreadAllocatedBytes(ids);
+
+        final Map<Long, Long> bytesByThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            bytesByThread.put(ids[i], allocated[i]);
+        }
+        return bytesByThread;
+    }
+
+    /**
+     * @return The number of bytes allocated on the heap by every thread that's still alive since the given snapshot
+     */
+    private static long allocatedBytesSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytesByThread().entrySet()) {
+            if (thread.getValue() >= 0) {
+                total += thread.getValue() - Math.max(0, before.getOrDefault(thread.getKey(), 0L));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return The resident memory of the process that isn't part of the JVM's heap or other managed memory, or -1 if
+     * it's not available.  This is read from /proc, so it only works on Linux (including the roboRIO).
+     */
+    private static long nativeBytes() {
+        final Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmRSS:")) {
+                    final long resident = Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    return resident
+                            - ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted()
+                            - ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getCommitted();
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(String[] args) throws IOException, InterruptedException {
+        File framesDirectory = new File("../samples/images");
+        int width = 640, height = 480;
+        long warmupMillis = TimeUnit.SECONDS.toMillis(5), durationMillis = TimeUnit.SECONDS.toMillis(20);
+        final List<File> projects = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--frames":
+                    framesDirectory = new File(args[++i]);
+                    break;
+                case "--size":
+                    final String[] size = args[++i].split("x");
+                    width = Integer.parseInt(size[0]);
+                    height = Integer.parseInt(size[1]);
+                    break;
+                case "--warmup":
+                    warmupMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(args[++i]));
+                    break;
+                case "--duration":
+                    durationMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(args[++i]));
+                    break;
+                default:
+                    projects.add(new File(args[i]));
+            }
+        }
+
+        if (projects.isEmpty()) {
+            System.err.println("Usage: PipelineBenchmark [--frames directory] [--size 640x480] [--warmup seconds] " +
+                    "[--duration seconds] project.grip...");
+            return;
+        }
+
+        final List<Mat> frames = loadFrames(framesDirectory, width, height);
+        for (File project : projects) {
+            System.out.println(new PipelineBenchmark().run(project, frames, warmupMillis, durationMillis));
+        }
+        System.exit(0);
+    }
+}
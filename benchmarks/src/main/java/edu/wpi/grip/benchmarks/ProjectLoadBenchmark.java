@@ -0,0 +1,106 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import edu.wpi.grip.core.Connection;
+import edu.wpi.grip.core.GRIPCoreModule;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.Palette;
+import edu.wpi.grip.core.Pipeline;
+import edu.wpi.grip.core.Step;
+import edu.wpi.grip.core.events.ConnectionAddedEvent;
+import edu.wpi.grip.core.operations.Operations;
+import edu.wpi.grip.core.serialization.BinaryProjectFormat;
+import edu.wpi.grip.core.serialization.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to open a project, in XML and in the {@link BinaryProjectFormat binary format}.
+ * <p>
+ * The project is a chain of image operations, each connected to the one before it, with the values of the other
+ * inputs saved in the project.  Nothing is run after it's opened, so this only measures reading the file and creating
+ * the steps and connections.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ProjectLoadBenchmark {
+
+    private static final String[] OPERATIONS = {"Blur", "Resize Image", "Desaturate", "HSV Threshold"};
+
+    @Param({"xml", "binary"})
+    public String format;
+
+    @Param({"50"})
+    public int steps;
+
+    private Pipeline pipeline;
+    private Project project;
+    private File file;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        final Injector injector = Guice.createInjector(new GRIPCoreModule());
+        final EventBus eventBus = injector.getInstance(EventBus.class);
+        final Palette palette = injector.getInstance(Palette.class);
+        final Step.Factory stepFactory = injector.getInstance(Step.Factory.class);
+        final Connection.Factory<Object> connectionFactory =
+                injector.getInstance(Key.get(new TypeLiteral<Connection.Factory<Object>>() {
+                }));
+        pipeline = injector.getInstance(Pipeline.class);
+        project = injector.getInstance(Project.class);
+
+        Operations.addOperations(eventBus);
+
+        Step previous = null;
+        for (int i = 0; i < steps; i++) {
+            final Step step = stepFactory.create(palette.getOperationByName(OPERATIONS[i % OPERATIONS.length]).get());
+            pipeline.addStep(step);
+            if (previous != null) {
+                eventBus.post(new ConnectionAddedEvent(connectionFactory.create(
+                        (OutputSocket<Object>) previous.getOutputSockets()[0],
+                        (InputSocket<Object>) step.getInputSockets()[0])));
+            }
+            previous = step;
+        }
+
+        file = File.createTempFile("grip-benchmark", format.equals("binary") ? BinaryProjectFormat.EXTENSION : ".grip");
+        project.save(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.clear();
+        file.delete();
+    }
+
+    @Benchmark
+    public Pipeline open() throws IOException {
+        project.open(file);
+        return pipeline;
+    }
+}
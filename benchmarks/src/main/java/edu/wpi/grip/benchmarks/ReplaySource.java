@@ -0,0 +1,109 @@
+package edu.wpi.grip.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.Source;
+import edu.wpi.grip.core.events.SourceHasPendingUpdateEvent;
+import edu.wpi.grip.core.util.ExceptionWitness;
+
+import java.util.List;
+import java.util.Properties;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+
+/**
+ * A source that stands in for a camera or image file by playing back a fixed list of frames, one per run of the
+ * pipeline, in the same order every time.
+ * <p>
+ * It has the same output sockets as the source it replaces, so any connections can be moved over to it.  Image outputs
+ * are given the next frame each time the pipeline runs, copied in the same way {@link
+ * edu.wpi.grip.core.sources.CameraSource} copies frames from the camera, and any other outputs keep the value they had
+ * in the original source.
+ */
+final class ReplaySource extends Source {
+
+    private final EventBus eventBus;
+    private final String name;
+    private final ImmutableList<Mat> frames;
+    private final OutputSocket[] outputSockets;
+
+    private int frameIndex = 0;
+    private volatile long lastFrameTime = 0;
+
+    /**
+     * @param original The source to copy the output sockets of
+     * @param frames   The frames to play back.  These are reused in a loop for as long as the pipeline runs.
+     */
+    @SuppressWarnings("unchecked")
+    ReplaySource(EventBus eventBus, ExceptionWitness.Factory exceptionWitnessFactory, Source original,
+                 List<Mat> frames) {
+        super(exceptionWitnessFactory);
+        checkArgument(!frames.isEmpty(), "There must be at least one frame to replay");
+
+        this.eventBus = eventBus;
+        this.name = "Replay of " + original.getName();
+        this.frames = ImmutableList.copyOf(frames);
+
+        final OutputSocket[] originalSockets = original.getOutputSockets();
+        this.outputSockets = new OutputSocket[originalSockets.length];
+        for (int i = 0; i < originalSockets.length; i++) {
+            outputSockets[i] = new OutputSocket<>(eventBus, originalSockets[i].getSocketHint());
+            if (originalSockets[i].getSocketHint().getType() != Mat.class) {
+                outputSockets[i].setValueOptional(originalSockets[i].getValue());
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    protected OutputSocket[] createOutputSockets() {
+        return outputSockets;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean updateOutputSockets() {
+        lastFrameTime = System.nanoTime();
+
+        final Mat frame = frames.get(frameIndex);
+        frameIndex = (frameIndex + 1) % frames.size();
+
+        for (OutputSocket socket : outputSockets) {
+            if (socket.getSocketHint().getType() == Mat.class) {
+                frame.copyTo((Mat) socket.getValue().get());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tell the pipeline that there's another frame ready.  Since the frames are already in memory, the next one is
+     * always ready as soon as the pipeline can take it.
+     */
+    void requestFrame() {
+        eventBus.post(new SourceHasPendingUpdateEvent(this));
+    }
+
+    /**
+     * @return The value of {@link System#nanoTime()} when the pipeline last took a frame from this source
+     */
+    long getLastFrameTime() {
+        return lastFrameTime;
+    }
+
+    @Override
+    public Properties getProperties() {
+        return new Properties();
+    }
+
+    @Override
+    public void initialize() {
+        /* no-op */
+    }
+}
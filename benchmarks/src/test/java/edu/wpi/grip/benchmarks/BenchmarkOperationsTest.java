@@ -0,0 +1,26 @@
+package edu.wpi.grip.benchmarks;
+
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.operations.composite.PublishVideoOperation;
+import edu.wpi.grip.core.operations.networktables.NTPublishOperation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BenchmarkOperationsTest {
+
+    @Test
+    public void testPublishingOperationsAreExcluded() {
+        for (Operation operation : BenchmarkOperations.getOperations().values()) {
+            assertFalse(operation.getName() + " publishes its results, so it should not be benchmarked",
+                    operation instanceof NTPublishOperation || operation instanceof PublishVideoOperation);
+        }
+    }
+
+    @Test
+    public void testOtherOperationsAreIncluded() {
+        assertTrue(BenchmarkOperations.getOperations().containsKey("Blur"));
+        assertTrue(BenchmarkOperations.getOperations().containsKey("Find Contours"));
+    }
+}
@@ -0,0 +1,53 @@
+package edu.wpi.grip.benchmarks;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PipelineBenchmarkTest {
+
+    private static final File SAMPLES = new File("../samples");
+
+    private static List<Mat> frames;
+
+    @BeforeClass
+    public static void loadFrames() throws Exception {
+        frames = PipelineBenchmark.loadFrames(new File(SAMPLES, "images"), 320, 240);
+    }
+
+    private static void assertRuns(String project) throws Exception {
+        final PipelineBenchmark.Result result = new PipelineBenchmark().run(new File(SAMPLES, project), frames, 500, 1000);
+        assertTrue(project + " did not run any frames: " + result, result.getFrames() > 0);
+        assertTrue("p50 latency should be at most the p99 latency: " + result,
+                result.getP50Millis() <= result.getP99Millis());
+    }
+
+    @Test
+    public void testFramesAreTheSameSize() {
+        for (Mat frame : frames) {
+            assertEquals("Replayed frames should all be the requested width", 320, frame.cols());
+            assertEquals("Replayed frames should all be the requested height", 240, frame.rows());
+        }
+    }
+
+    @Test
+    public void testFindContours() throws Exception {
+        assertRuns("find-contours.grip");
+    }
+
+    @Test
+    public void testFindBlobs() throws Exception {
+        assertRuns("find-blobs.grip");
+    }
+
+    @Test
+    public void testFindLines() throws Exception {
+        assertRuns("find-lines.grip");
+    }
+}
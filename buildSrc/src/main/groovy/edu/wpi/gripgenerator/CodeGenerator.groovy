@@ -22,6 +22,10 @@ class CodeGenerator extends DefaultTask {
      * generated code being added.
      */
     def removeExisting
+    /**
+     * Whether to generate a benchmark for each of the operations instead of the operations themselves.
+     */
+    def benchmarks = false
 
     @TaskAction
     def runAction() {
@@ -30,7 +34,9 @@ class CodeGenerator extends DefaultTask {
         String targetDirectoryString = destSet.getAt(0).toString()
 
         //Generate all of the output units
-        Map<String, CompilationUnit> files = FileParser.generateAllSourceCode();
+        Map<String, CompilationUnit> files = benchmarks ?
+                FileParser.generateAllBenchmarkSourceCode() :
+                FileParser.generateAllSourceCode();
 
 
         File targetDirectory = new File(targetDirectoryString);
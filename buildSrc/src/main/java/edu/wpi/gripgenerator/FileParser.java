@@ -15,6 +15,7 @@ import edu.wpi.gripgenerator.defaults.PrimitiveDefaultValue;
 import edu.wpi.gripgenerator.settings.DefinedMethod;
 import edu.wpi.gripgenerator.settings.DefinedMethodCollection;
 import edu.wpi.gripgenerator.settings.DefinedParamType;
+import edu.wpi.gripgenerator.templates.OperationBenchmark;
 import edu.wpi.gripgenerator.templates.OperationList;
 
 import java.io.ByteArrayInputStream;
@@ -26,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class FileParser {
     /**
@@ -76,9 +78,36 @@ public class FileParser {
      * @return A map of the filename with the compilation units
      */
     public static Map<String, CompilationUnit> generateAllSourceCode() {
+        Map<String, CompilationUnit> returnMap = new HashMap<>();
+        OperationList operationList = parseAllOperations(returnMap);
+
+        // Generate the Operation List class last
+        returnMap.put(operationList.getClassName(), operationList.getDeclaration());
+        return returnMap;
+    }
+
+    /**
+     * Generates a JMH benchmark for every operation generated by {@link #generateAllSourceCode()}.
+     * These are compiled separately, against the generated operations, by the benchmarks project.
+     *
+     * @return A map of the filename with the compilation units
+     */
+    public static Map<String, CompilationUnit> generateAllBenchmarkSourceCode() {
+        OperationList operationList = parseAllOperations(new HashMap<>());
+        return operationList.getOperations().stream()
+                .map(OperationBenchmark::new)
+                .collect(Collectors.toMap(OperationBenchmark::getClassName, OperationBenchmark::getDeclaration));
+    }
+
+    /**
+     * Parses the opencv bindings and generates the operations and enumerations for them
+     *
+     * @param returnMap The map to put the generated compilation units in
+     * @return The list of all of the operations that were generated
+     */
+    private static OperationList parseAllOperations(Map<String, CompilationUnit> returnMap) {
         URL INPUT_URL = FileParser.class.getResource("/org/bytedeco/javacpp/opencv_core.txt");
         CompilationUnit compilationUnit = readFile(INPUT_URL);
-        Map<String, CompilationUnit> returnMap = new HashMap<>();
         DefaultValueCollector collector = new DefaultValueCollector();
         collector.add(new PrimitiveDefaultValue(new PrimitiveType(PrimitiveType.Primitive.Double)) {
             @Override
@@ -114,9 +143,7 @@ public class FileParser {
 
         }
 
-        // Generate the Operation List class last
-        returnMap.put(operationList.getClassName(), operationList.getDeclaration());
-        return returnMap;
+        return operationList;
     }
 
     public static Map<String, CompilationUnit> parseOpenImgprc(CompilationUnit imgprocDeclaration, DefaultValueCollector collector, OperationList operations) {
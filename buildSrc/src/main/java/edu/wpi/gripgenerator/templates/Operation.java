@@ -72,6 +72,13 @@ public class Operation {
         return format.to(CaseFormat.UPPER_CAMEL, definedMethod.getMethodName());
     }
 
+    /**
+     * @return The package that this operation is generated in
+     */
+    public PackageDeclaration getPackageDeclaration() {
+        return packageDec;
+    }
+
     private List<ImportDeclaration> getAdditionalImports() {
         List<ImportDeclaration> imports = new ArrayList(Collections.singletonList(new ImportDeclaration(new NameExpr("org.bytedeco.javacpp." + definedMethod.getParentObjectName()), false, false)));
         imports.addAll(this.definedMethod.getImports());
@@ -95,13 +102,19 @@ public class Operation {
                 null
         );
         BlockStmt methodBody = new BlockStmt(
-                Collections.singletonList(new ReturnStmt(
-                        new StringLiteralExpr("CV " + definedMethod.getMethodName())))
+                Collections.singletonList(new ReturnStmt(new StringLiteralExpr(getName())))
         );
         getName.setBody(methodBody);
         return getName;
     }
 
+    /**
+     * @return The name of the operation, as shown in the palette.
+     */
+    public String getName() {
+        return "CV " + definedMethod.getMethodName();
+    }
+
     /**
      * Creates the description method
      *
@@ -188,50 +201,14 @@ public class Operation {
         assert !inputParamId.equals(outputParamId) : "The input and output param can not be the same";
         List<Expression> expressionList = socketHintDeclarationCollection.getSocketAssignments(inputParamId, outputParamId);
         List<Statement> performStatement = expressionList.stream().map(ExpressionStmt::new).collect(Collectors.toList());
-        final String exceptionVariable = "e";
-        final String outputSocketForEachVariableId = "outputSocket";
 
-        performStatement.addAll(
-                Arrays.asList(
-                                /* Make the operation function call */
-                        new ExpressionStmt(
-                                getFunctionCallExpression()
-                        ),
-                                /*
-                                 * Afterwards iterate over all of the output sockets and call setValue using the value
-                                 * stored.
-                                 */
-                        new ForeachStmt(
-                                new VariableDeclarationExpr(
-                                        0,
-                                        ASTHelper.createReferenceType("OutputSocket", 0),
-                                        Collections.singletonList(
-                                                new VariableDeclarator(
-                                                        new VariableDeclaratorId(outputSocketForEachVariableId)
-                                                )
-                                        )
-                                ),
-                                new NameExpr(outputParamId),
-                                new BlockStmt(
-                                        Collections.singletonList(
-                                                new ExpressionStmt(
-                                                        new MethodCallExpr(
-                                                                new NameExpr(outputSocketForEachVariableId),
-                                                                "setValueOptional",
-                                                                Collections.singletonList(
-                                                                        new MethodCallExpr(
-                                                                                new NameExpr(outputSocketForEachVariableId),
-                                                                                "getValue"
-                                                                        )
-                                                                )
-                                                        )
-                                                )
-                                        )
-                                )
-                        )
-                )
-        );
+        /* Make the operation function call */
+        performStatement.add(new ExpressionStmt(getFunctionCallExpression()));
 
+        /* Afterwards store the results back in each of the output sockets */
+        performStatement.addAll(socketHintDeclarationCollection.getOutputSocketUpdates().stream()
+                .map(ExpressionStmt::new)
+                .collect(Collectors.toList()));
 
         return performStatement;
     }
@@ -241,7 +218,7 @@ public class Operation {
         String outputParamId = "outputs";
         return new MethodDeclaration(
                 ModifierSet.PUBLIC,
-                Arrays.asList(OVERRIDE_ANNOTATION),
+                Arrays.asList(OVERRIDE_ANNOTATION, SUPPRESS_ANNOTATION),
                 null,
                 new VoidType(),
                 "perform",
@@ -0,0 +1,139 @@
+package edu.wpi.gripgenerator.templates;
+
+import com.github.javaparser.ASTHelper;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.comments.BlockComment;
+import com.github.javaparser.ast.comments.JavadocComment;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.github.javaparser.ASTHelper.createReferenceType;
+
+/**
+ * The template for the JMH benchmark of a generated {@link Operation}.
+ * The benchmark calls the perform method on the operation's own class rather than through the CVOperation interface,
+ * so it measures exactly the code that was generated for that operation.
+ * The inputs, sizes and setup are shared by every generated benchmark in <code>CVOperationBenchmark</code>.
+ */
+public class OperationBenchmark {
+    private static final PackageDeclaration PACKAGE = new PackageDeclaration(new NameExpr("edu.wpi.grip.benchmarks.opencv"));
+    private static final String BASE_CLASS_NAME = "CVOperationBenchmark";
+    private static final AnnotationExpr OVERRIDE_ANNOTATION = new MarkerAnnotationExpr(new NameExpr("Override"));
+    private static final AnnotationExpr BENCHMARK_ANNOTATION = new MarkerAnnotationExpr(new NameExpr("Benchmark"));
+    private static final String OPERATION_FIELD = "operation";
+    private final Operation operation;
+
+    /**
+     * @param operation The generated operation to benchmark
+     */
+    public OperationBenchmark(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return The name to be used as the Class and file name.
+     */
+    public String getClassName() {
+        return operation.getOperationClassName() + "Benchmark";
+    }
+
+    /**
+     * Creates the field holding the operation.  It has the operation's exact type so the JIT sees only one possible
+     * implementation of perform.
+     */
+    private FieldDeclaration getOperationField() {
+        final ClassOrInterfaceType operationType = new ClassOrInterfaceType(operation.getOperationClassName());
+        return new FieldDeclaration(
+                ModifierSet.PRIVATE | ModifierSet.FINAL,
+                operationType,
+                new VariableDeclarator(
+                        new VariableDeclaratorId(OPERATION_FIELD),
+                        new ObjectCreationExpr(null, operationType, null)
+                )
+        );
+    }
+
+    /**
+     * Creates the method that gives the base class the operation to set up the sockets for
+     */
+    private MethodDeclaration getOperationMethod() {
+        return new MethodDeclaration(
+                ModifierSet.PROTECTED,
+                Collections.singletonList(OVERRIDE_ANNOTATION),
+                null,
+                createReferenceType("CVOperation", 0),
+                "getOperation",
+                null,
+                0,
+                null,
+                new BlockStmt(Collections.singletonList(new ReturnStmt(new NameExpr(OPERATION_FIELD))))
+        );
+    }
+
+    /**
+     * Creates the benchmark method.  The image is set again before each call, the same way a connection updates a
+     * step's inputs each time a new frame comes through the pipeline.
+     */
+    private MethodDeclaration getBenchmarkMethod() {
+        return new MethodDeclaration(
+                ModifierSet.PUBLIC,
+                Collections.singletonList(BENCHMARK_ANNOTATION),
+                null,
+                SocketHintDeclarationCollection.getSocketReturnParam("OutputSocket"),
+                "perform",
+                null,
+                0,
+                null,
+                new BlockStmt(Arrays.asList(
+                        new ExpressionStmt(new MethodCallExpr(null, "resetImage")),
+                        new ExpressionStmt(new MethodCallExpr(new NameExpr(OPERATION_FIELD), "perform",
+                                Arrays.asList(new NameExpr("inputs"), new NameExpr("outputs")))),
+                        new ReturnStmt(new NameExpr("outputs"))
+                ))
+        );
+    }
+
+    private ClassOrInterfaceDeclaration getClassDeclaration() {
+        ClassOrInterfaceDeclaration benchmark = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, getClassName());
+        benchmark.setExtends(Collections.singletonList(new ClassOrInterfaceType(BASE_CLASS_NAME)));
+        benchmark.setJavaDoc(new JavadocComment(" Measures one call to {@link " + operation.getOperationClassName() + "#perform} "));
+        benchmark.setComment(new BlockComment(
+                " * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *\n" +
+                        " * ===== THIS CODE HAS BEEN DYNAMICALLY GENERATED! DO NOT MODIFY! ==== *\n" +
+                        " * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * "));
+        ASTHelper.addMember(benchmark, getOperationField());
+        ASTHelper.addMember(benchmark, getOperationMethod());
+        ASTHelper.addMember(benchmark, getBenchmarkMethod());
+        return benchmark;
+    }
+
+    /**
+     * Creates the benchmark declaration
+     *
+     * @return The benchmark declaration ready to be turned into a file.
+     */
+    public CompilationUnit getDeclaration() {
+        final String operationClass =
+                operation.getPackageDeclaration().getName().toString() + "." + operation.getOperationClassName();
+        return new CompilationUnit(
+                PACKAGE,
+                Arrays.asList(
+                        new ImportDeclaration(new NameExpr("edu.wpi.grip.benchmarks." + BASE_CLASS_NAME), false, false),
+                        new ImportDeclaration(new NameExpr("edu.wpi.grip.core.OutputSocket"), false, false),
+                        new ImportDeclaration(new NameExpr("edu.wpi.grip.core.operations.opencv.CVOperation"), false, false),
+                        new ImportDeclaration(new NameExpr(operationClass), false, false),
+                        new ImportDeclaration(new NameExpr("org.openjdk.jmh.annotations.Benchmark"), false, false)
+                ),
+                Collections.singletonList(getClassDeclaration())
+        );
+    }
+}
@@ -8,9 +8,12 @@ import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.ModifierSet;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
@@ -59,12 +62,30 @@ public class OperationList {
         operations.add(operation);
     }
 
+    /**
+     * @return All of the operations that have been added to this list
+     */
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    /**
+     * @return A reference to the constructor of the operation, like <code>GaussianBlur::new</code>
+     */
+    private static Expression getConstructorReference(Operation operation) {
+        final MethodReferenceExpr constructor = new MethodReferenceExpr();
+        constructor.setScope(new NameExpr(operation.getOperationClassName()));
+        constructor.setIdentifier("new");
+        return constructor;
+    }
+
     private ClassOrInterfaceDeclaration getClassDeclaration() {
         final ClassOrInterfaceType eventBusType = new ClassOrInterfaceType("EventBus");
         final ClassOrInterfaceType eventType = new ClassOrInterfaceType("OperationAddedEvent");
 
         // This method is how the generated code tells the rest of the application about all of the generated OpenCV
-        // operations. It sends an OperationAddedEvent with a new instance of every operation.
+        // operations. It sends an OperationAddedEvent with the name and constructor of every operation, so each one
+        // is only created when it's first used.
         final MethodDeclaration addOperations = new MethodDeclaration(ModifierSet.PUBLIC | ModifierSet.STATIC,
                 new VoidType(), "addOperations");
 
@@ -72,12 +93,10 @@ public class OperationList {
 
         addOperations.setBody(new BlockStmt(this.operations.stream()
                 .sorted((o1, o2) -> o1.getOperationClassName().toLowerCase().compareToIgnoreCase(o2.getOperationClassName()))
-                .map(Operation::getOperationClassName)
-                .map(ClassOrInterfaceType::new)
-                // Create a new instance of each operation
-                .map(type -> new ObjectCreationExpr(null, type, null))
                 // Create a new OperationAddedEvent for every operation
-                .map(expr -> new ObjectCreationExpr(null, eventType, Collections.singletonList(expr)))
+                .map(operation -> new ObjectCreationExpr(null, eventType, Arrays.asList(
+                        new StringLiteralExpr(operation.getName()),
+                        getConstructorReference(operation))))
                 // Post all of the events to the event bus
                 .map(expr -> new MethodCallExpr(new NameExpr("eventBus"), "post", Collections.singletonList(expr)))
                 .map(ExpressionStmt::new)
@@ -74,8 +74,28 @@ public class SocketHintDeclarationCollection {
         );
     }
 
-    private MethodCallExpr getValueExpression(String paramId, int index) {
-        return new MethodCallExpr(getOrSetValueExpression(arrayAccessExpr(paramId, index), null), "get");
+    /**
+     * @return The type of value stored in the socket for the given param.  This is the same type the socket hint is
+     * declared with, so numbers are stored as a {@link Number} and booleans as a {@link Boolean}.
+     */
+    private static Type getSocketValueType(DefinedParamType paramType) {
+        final Type type = paramType.getType();
+        if (type instanceof PrimitiveType) {
+            return ((PrimitiveType) type).getType().equals(PrimitiveType.Primitive.Boolean)
+                    ? ((PrimitiveType) type).toBoxedType()
+                    : ASTHelper.createReferenceType("Number", 0);
+        }
+        return type;
+    }
+
+    private static ClassOrInterfaceType getSocketType(String socketClassName, DefinedParamType paramType) {
+        final ClassOrInterfaceType socketType = new ClassOrInterfaceType(socketClassName);
+        socketType.setTypeArgs(Collections.singletonList(getSocketValueType(paramType)));
+        return socketType;
+    }
+
+    private static String getOutputSocketName(DefinedParamType paramType) {
+        return paramType.getName() + "Socket";
     }
 
     private Expression generateCopyExpression(DefinedParamType type, String inputParmId, int inputIndex, String outputParamId, int outputIndex) {
@@ -157,7 +177,27 @@ public class SocketHintDeclarationCollection {
                 return null;
             }
 
-            final MethodCallExpr getValueExpression = getValueExpression(paramId, index);
+            // Cast the socket to its exact type so that its value can be used without casting or unboxing it again
+            final Expression socketExpression;
+            if (paramId.equals(outputParamId)) {
+                // Keep a typed reference to each output socket so that the result can be stored after the call
+                assignments.add(
+                        new VariableDeclarationExpr(
+                                ModifierSet.FINAL,
+                                getSocketType("OutputSocket", paramType),
+                                Collections.singletonList(
+                                        new VariableDeclarator(
+                                                new VariableDeclaratorId(getOutputSocketName(paramType)),
+                                                new CastExpr(getSocketType("OutputSocket", paramType), arrayAccessExpr(paramId, index))))
+                        )
+                );
+                socketExpression = new NameExpr(getOutputSocketName(paramType));
+            } else {
+                socketExpression = new EnclosedExpr(
+                        new CastExpr(getSocketType("InputSocket", paramType), arrayAccessExpr(paramId, index)));
+            }
+
+            final MethodCallExpr getValueExpression = new MethodCallExpr(getOrSetValueExpression(socketExpression, null), "get");
             final Expression assignExpression;
             if (paramType.getType() instanceof PrimitiveType && (!((PrimitiveType) paramType.getType()).getType().equals(PrimitiveType.Primitive.Boolean))) {
                 final String numberConversionFunction;
@@ -184,20 +224,9 @@ public class SocketHintDeclarationCollection {
                     default:
                         throw new IllegalStateException("Conversion for type " + paramType.getType() + " is not defined");
                 }
-                assignExpression = new MethodCallExpr(
-                        new EnclosedExpr(
-                                new CastExpr(
-                                        ASTHelper.createReferenceType("Number", 0),
-                                        getValueExpression
-                                )
-                        ),
-                        numberConversionFunction
-                );
+                assignExpression = new MethodCallExpr(getValueExpression, numberConversionFunction);
             } else {
-                assignExpression = new CastExpr(
-                        paramType.getTypeBoxedIfPossible(),
-                        getValueExpression
-                );
+                assignExpression = getValueExpression;
             }
 
             assignments.add(
@@ -214,6 +243,25 @@ public class SocketHintDeclarationCollection {
         return assignments;
     }
 
+    /**
+     * Generates the statements that store the results back in the output sockets after the OpenCV call.
+     * Outputs are written into the same objects on every call, so setting them again doesn't allocate anything or post
+     * an event for every output on every frame.
+     *
+     * @return One <code>setValue</code> call for each output socket, in order.
+     * @see #getSocketAssignments(String, String)
+     */
+    public List<Expression> getOutputSocketUpdates() {
+        List<Expression> updates = new ArrayList<>();
+        for (DefinedParamType paramType : outputParamTypes) {
+            if (paramType.isIgnored()) continue;
+            updates.add(getOrSetValueExpression(
+                    new NameExpr(getOutputSocketName(paramType)),
+                    new NameExpr(paramType.getName())));
+        }
+        return updates;
+    }
+
     public ObjectCreationExpr getSocketListParam(DefinedParamType definedParamType, ClassOrInterfaceType socketType, String inputOrOutputPostfix) {
         //System.out.println("Generating for default " + (definedParamType.getDefaultValue().isPresent() ? definedParamType.getDefaultValue().get().getName().toString() : "null"));
         return new ObjectCreationExpr(null, socketType, Arrays.asList(
@@ -0,0 +1,40 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+
+import java.util.Optional;
+
+/**
+ * An {@link OutputSocket} for booleans that can be set from a primitive.
+ * <p>
+ * There are only two possible values, so {@link #setBoolean(boolean)} always stores one of two shared instances and
+ * never creates anything.  No event is posted unless the value actually changed.
+ */
+public class BooleanOutputSocket extends OutputSocket<Boolean> {
+
+    private static final Optional<Boolean> TRUE = Optional.of(Boolean.TRUE), FALSE = Optional.of(Boolean.FALSE);
+
+    /**
+     * @param eventBus   The Guava {@link EventBus} used by the application.
+     * @param socketHint {@link #getSocketHint}
+     */
+    public BooleanOutputSocket(EventBus eventBus, SocketHint<Boolean> socketHint) {
+        super(eventBus, socketHint);
+    }
+
+    /**
+     * @param value The new value for this socket.  An event is only posted if it's different from the current value.
+     */
+    public synchronized void setBoolean(boolean value) {
+        if (getBoolean() != value) {
+            setValueOptional(value ? TRUE : FALSE);
+        }
+    }
+
+    /**
+     * @return The value currently stored in this socket
+     */
+    public synchronized boolean getBoolean() {
+        return getValue().get();
+    }
+}
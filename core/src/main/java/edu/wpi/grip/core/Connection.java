@@ -57,7 +57,12 @@ public class Connection<T> {
     @Subscribe
     public void onOutputChanged(SocketChangedEvent e) {
         if (e.getSocket() == outputSocket) {
-            inputSocket.setValueOptional(outputSocket.getValue());
+            if (outputSocket instanceof NumberOutputSocket && inputSocket instanceof NumberInputSocket) {
+                // Copy numbers across as primitives so they don't have to be boxed on every frame
+                ((NumberInputSocket) inputSocket).copyValue((NumberOutputSocket) outputSocket);
+            } else {
+                inputSocket.setValueOptional(outputSocket.getValue());
+            }
         }
     }
 
@@ -14,6 +14,7 @@ import edu.wpi.grip.core.serialization.Project;
 import edu.wpi.grip.core.sources.CameraSource;
 import edu.wpi.grip.core.sources.ImageFileSource;
 import edu.wpi.grip.core.sources.MultiImageFileSource;
+import edu.wpi.grip.core.util.AsyncLogHandler;
 import edu.wpi.grip.core.util.ExceptionWitness;
 
 import java.io.IOException;
@@ -48,25 +49,18 @@ public class GRIPCoreModule extends AbstractModule {
             globalLogger.setLevel(Level.FINE);
 
             // We need to stream to System.out instead of System.err
-            final StreamHandler sh = new StreamHandler(System.out, new SimpleFormatter()) {
-
-                @Override
-                public synchronized void publish(final LogRecord record) {
-                    super.publish(record);
-                    // For some reason this doesn't happen automatically.
-                    // This will ensure we get all of the logs printed to the console immediately
-                    // when running on a remote device.
-                    flush();
-                }
-            };
+            final StreamHandler sh = new StreamHandler(System.out, new SimpleFormatter());
             sh.setLevel(Level.CONFIG);
 
-            globalLogger.addHandler(sh); // Add stream handler
-
-            globalLogger.addHandler(fileHandler);//Add the handler to the global logger
-
             fileHandler.setFormatter(new SimpleFormatter());//log in text, not xml
 
+            // Write to the console and the log file on a background thread, so a step that fails on every frame doesn't
+            // slow down the pipeline with console and disk I/O.  This also flushes both of them after each batch of
+            // records, so logs are still printed right away when running on a remote device.
+            final Handler asyncHandler = new AsyncLogHandler(sh, fileHandler);
+            asyncHandler.setLevel(Level.FINE);
+            globalLogger.addHandler(asyncHandler);
+
             globalLogger.config("Configuration done.");//Log that we are done setting up the logger
             globalLogger.config("GRIP Version: " + edu.wpi.grip.core.Main.class.getPackage().getImplementationVersion());
 
@@ -6,9 +6,11 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import edu.wpi.grip.core.events.ExceptionClearedEvent;
 import edu.wpi.grip.core.events.ExceptionEvent;
+import edu.wpi.grip.core.events.RenderEvent;
 import edu.wpi.grip.core.operations.Operations;
 import edu.wpi.grip.core.serialization.Project;
 import edu.wpi.grip.core.util.SafeShutdown;
+import edu.wpi.grip.core.util.StartupTimer;
 import edu.wpi.grip.generated.CVOperations;
 import sun.misc.Signal;
 
@@ -32,6 +34,8 @@ public class Main {
     @Inject
     private Logger logger;
 
+    private final StartupTimer startupTimer = new StartupTimer();
+
     @SuppressWarnings("PMD.SystemPrintln")
     public static void main(String[] args) throws IOException, InterruptedException {
         // Close GRIP when we get SIGHUP.  This signal is sent, for example, when GRIP is run in an SSH session
@@ -51,16 +55,22 @@ public class Main {
         } else {
             logger.log(Level.INFO, "Loading file " + args[0]);
         }
+        startupTimer.phaseFinished("Starting GRIP");
 
+        // Operations are only added by name here.  Each one is loaded when the project uses it.
         Operations.addOperations(eventBus);
         CVOperations.addOperations(eventBus);
+        startupTimer.phaseFinished("Adding operations");
 
         final String projectPath = args[0];
 
         // Open a project from a .grip file specified on the command line
         project.open(new File(projectPath));
+        startupTimer.phaseFinished("Loading project");
 
+        eventBus.register(new FirstFrameListener());
         pipelineRunner.startAsync();
+        startupTimer.phaseFinished("Starting pipeline");
 
         // This is done in order to indicate to the user using the deployment UI that this is running
         logger.log(Level.INFO, "SUCCESS! The project is running in headless mode!");
@@ -70,11 +80,25 @@ public class Main {
         }
     }
 
+    /**
+     * Logs how long startup took once the pipeline has processed its first frame, then stops listening.
+     */
+    private final class FirstFrameListener {
+        @Subscribe
+        public void onRender(RenderEvent event) {
+            eventBus.unregister(this);
+            startupTimer.phaseFinished("Processing the first frame");
+            logger.log(Level.INFO, startupTimer.getReport());
+        }
+    }
+
     @Subscribe
     public final void onExceptionEvent(ExceptionEvent event) {
         Logger.getLogger(event.getOrigin().getClass().getName()).log(
                 Level.SEVERE,
-                event.getMessage(),
+                event.getOccurrences() > 1
+                        ? event.getMessage() + " (" + event.getOccurrences() + " times)"
+                        : event.getMessage(),
                 // The throwable can be null
                 event.getException().orElse(null)
         );
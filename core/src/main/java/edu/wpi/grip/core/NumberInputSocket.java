@@ -0,0 +1,65 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link InputSocket} for numbers that stores its value as a primitive.
+ * <p>
+ * Operations can read the value with {@link #getDouble()} or {@link #getInt()} without unboxing it, and a connection
+ * from a {@link NumberOutputSocket} copies the number across without boxing it at all.  The UI and saved projects
+ * still see this as an ordinary <code>InputSocket&lt;Number&gt;</code>.
+ */
+public class NumberInputSocket extends InputSocket<Number> {
+
+    private final NumberValue number;
+
+    /**
+     * @param eventBus   The Guava {@link EventBus} used by the application.
+     * @param socketHint {@link #getSocketHint}
+     */
+    public NumberInputSocket(EventBus eventBus, SocketHint<Number> socketHint) {
+        super(eventBus, socketHint);
+        this.number = new NumberValue(super.getValue());
+    }
+
+    /**
+     * @return The value currently stored in this socket, without unboxing it
+     * @throws java.util.NoSuchElementException If this socket doesn't have a value
+     */
+    public synchronized double getDouble() {
+        return number.getDouble();
+    }
+
+    /**
+     * @return The value currently stored in this socket as an <code>int</code>, without unboxing it
+     * @throws java.util.NoSuchElementException If this socket doesn't have a value
+     */
+    public synchronized int getInt() {
+        return number.getInt();
+    }
+
+    /**
+     * Copy the value of a connected output socket.  An event is only posted if the value is different from the current
+     * one.
+     */
+    synchronized void copyValue(NumberOutputSocket outputSocket) {
+        if (number.set(outputSocket.getNumberValue())) {
+            onValueChanged();
+        }
+    }
+
+    @Override
+    public synchronized void setValueOptional(Optional<? extends Number> optionalValue) {
+        number.set(checkNotNull(optionalValue, "The optional value can not be null"));
+        super.setValueOptional(optionalValue);
+    }
+
+    @Override
+    public synchronized Optional<Number> getValue() {
+        return number.get();
+    }
+}
@@ -0,0 +1,81 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link OutputSocket} for numbers that stores its value as a primitive.
+ * <p>
+ * Operations that produce a number on every frame can call {@link #setDouble(double)} or {@link #setInt(int)} instead
+ * of {@link #setValue(Object)}.  Nothing is boxed and no event is posted unless the number is actually different from
+ * the last one.  Anything else can still use this like any other <code>OutputSocket&lt;Number&gt;</code>.
+ */
+public class NumberOutputSocket extends OutputSocket<Number> {
+
+    private final NumberValue number;
+
+    /**
+     * @param eventBus   The Guava {@link EventBus} used by the application.
+     * @param socketHint {@link #getSocketHint}
+     */
+    public NumberOutputSocket(EventBus eventBus, SocketHint<Number> socketHint) {
+        super(eventBus, socketHint);
+        this.number = new NumberValue(super.getValue());
+    }
+
+    /**
+     * @param value The new value for this socket.  An event is only posted if it's different from the current value.
+     */
+    public synchronized void setDouble(double value) {
+        if (number.set(value)) {
+            onValueChanged();
+        }
+    }
+
+    /**
+     * @param value The new value for this socket.  An event is only posted if it's different from the current value.
+     */
+    public synchronized void setInt(int value) {
+        if (number.set(value)) {
+            onValueChanged();
+        }
+    }
+
+    /**
+     * @return The value currently stored in this socket, without boxing it
+     * @throws java.util.NoSuchElementException If this socket doesn't have a value
+     */
+    public synchronized double getDouble() {
+        return number.getDouble();
+    }
+
+    /**
+     * @return The value currently stored in this socket as an <code>int</code>, without boxing it
+     * @throws java.util.NoSuchElementException If this socket doesn't have a value
+     */
+    public synchronized int getInt() {
+        return number.getInt();
+    }
+
+    @Override
+    public synchronized void setValueOptional(Optional<? extends Number> optionalValue) {
+        number.set(checkNotNull(optionalValue, "The optional value can not be null"));
+        super.setValueOptional(optionalValue);
+    }
+
+    @Override
+    public synchronized Optional<Number> getValue() {
+        return number.get();
+    }
+
+    /**
+     * @return The value stored in this socket, for copying into a connected {@link NumberInputSocket} without boxing
+     * it.
+     */
+    NumberValue getNumberValue() {
+        return number;
+    }
+}
@@ -0,0 +1,94 @@
+package edu.wpi.grip.core;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The value of a {@link NumberInputSocket} or {@link NumberOutputSocket}.  The number is kept as a primitive so it can
+ * be updated on every frame without boxing it, and is only boxed when something asks for it as a {@link Number}, once
+ * for each new value.
+ * <p>
+ * Whole numbers set with {@link #set(int)} are boxed as {@link Integer Integers} and everything else as {@link Double
+ * Doubles}, so the UI and saved projects see the same kind of number they did when the value was stored boxed.
+ */
+final class NumberValue {
+    private boolean present;
+    private boolean integral;
+    private double value;
+    private Optional<Number> boxed;
+
+    NumberValue(Optional<? extends Number> initialValue) {
+        set(initialValue);
+    }
+
+    /**
+     * @return <code>true</code> if the value changed
+     */
+    boolean set(double value) {
+        if (present && !integral && Double.doubleToLongBits(this.value) == Double.doubleToLongBits(value)) {
+            return false;
+        }
+        this.present = true;
+        this.integral = false;
+        this.value = value;
+        this.boxed = null;
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the value changed
+     */
+    boolean set(int value) {
+        if (present && integral && this.value == value) {
+            return false;
+        }
+        this.present = true;
+        this.integral = true;
+        this.value = value;
+        this.boxed = null;
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the value changed
+     */
+    boolean set(NumberValue other) {
+        if (!other.present) {
+            return set(Optional.empty());
+        }
+        return other.integral ? set((int) other.value) : set(other.value);
+    }
+
+    /**
+     * Set the value from a boxed number, such as one entered in the UI or loaded from a project.  This always counts as
+     * a change, the same as setting any other socket.
+     *
+     * @return <code>true</code>
+     */
+    @SuppressWarnings("unchecked")
+    boolean set(Optional<? extends Number> value) {
+        this.present = value.isPresent();
+        this.integral = present && value.get() instanceof Integer;
+        this.value = present ? value.get().doubleValue() : 0;
+        this.boxed = (Optional<Number>) value;
+        return true;
+    }
+
+    Optional<Number> get() {
+        if (boxed == null) {
+            boxed = Optional.of(integral ? (Number) (int) value : (Number) value);
+        }
+        return boxed;
+    }
+
+    double getDouble() {
+        if (!present) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    int getInt() {
+        return (int) getDouble();
+    }
+}
@@ -18,9 +18,14 @@ import java.util.Optional;
 public class OutputSocket<T> extends Socket<T> {
 
     /**
-     * Indicates if the socket is being previewed
+     * Indicates if the socket is being previewed.  This is read by the pipeline thread when it publishes previews.
      */
-    private boolean previewed = false;
+    private volatile boolean previewed = false;
+
+    /**
+     * Copies of the value for the preview to draw, so it never reads the value while an operation is writing to it
+     */
+    private final PreviewBuffer<T> preview = new PreviewBuffer<>();
 
     /**
      * @param eventBus   The Guava {@link EventBus} used by the application.
@@ -28,7 +33,8 @@ public class OutputSocket<T> extends Socket<T> {
      */
     public OutputSocket(EventBus eventBus, SocketHint<T> socketHint) {
         super(eventBus, socketHint, Direction.OUTPUT);
-        getValue().orElseThrow(()-> new NoSuchElementException("The SocketHint for an output socket must have an initial value to be valid"));
+        // Subclasses may not be set up yet, so check the value that was stored here
+        super.getValue().orElseThrow(()-> new NoSuchElementException("The SocketHint for an output socket must have an initial value to be valid"));
     }
 
     @Override
@@ -36,8 +42,18 @@ public class OutputSocket<T> extends Socket<T> {
         super.setValueOptional(optionalValue);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Operations that write into the same object every time they run, such as an image, set that object again after
+     * each run.  Connected inputs already refer to it, so nothing has changed as far as the rest of the pipeline is
+     * concerned and no event is posted.
+     */
     @Override
     public void setValue(T value) {
+        if (value != null && getValue().orElse(null) == value) {
+            return;
+        }
         super.setValue(value);
     }
 
@@ -48,6 +64,10 @@ public class OutputSocket<T> extends Socket<T> {
         boolean changed = previewed != this.previewed;
         this.previewed = previewed;
 
+        if (!previewed) {
+            preview.clear();
+        }
+
         // Only send an event if the field was actually changed
         if (changed) {
             eventBus.post(new SocketPreviewChangedEvent(this));
@@ -62,6 +82,24 @@ public class OutputSocket<T> extends Socket<T> {
         return this.previewed;
     }
 
+    /**
+     * Publish a copy of the current value for the preview to read, if this socket is being previewed.  This is called by
+     * the pipeline thread at the end of each run, while nothing is writing to the value.
+     */
+    public void publishPreview() {
+        if (previewed) {
+            preview.publish(getValue());
+        }
+    }
+
+    /**
+     * @return The copies of the value that the preview of this socket reads from
+     * @see #publishPreview()
+     */
+    public PreviewBuffer<T> getPreview() {
+        return preview;
+    }
+
     protected void resetValueToInitial() {
         this.setValue(this.getSocketHint()
                 .createInitialValue()
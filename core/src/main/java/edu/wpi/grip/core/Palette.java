@@ -10,6 +10,7 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * The palette is a library of operations that can be added as steps in the {@link Pipeline}
@@ -24,25 +25,29 @@ public class Palette {
         this.eventBus = eventBus;
     }
 
-    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    /**
+     * The operations in the palette, by name.  Each operation is only created when it's first asked for.
+     */
+    private final Map<String, OperationAddedEvent> operations = new LinkedHashMap<>();
 
     @Subscribe
     public void onOperationAdded(OperationAddedEvent event) {
-        final Operation operation = event.getOperation();
-        this.operations.put(operation.getName(), operation);
+        this.operations.put(event.getName(), event);
     }
 
     /**
-     * @return A collection of all available operations
+     * @return A collection of all available operations.  This creates every operation that hasn't been created yet.
      */
     public Collection<Operation> getOperations() {
-        return this.operations.values();
+        return this.operations.values().stream()
+                .map(OperationAddedEvent::getOperation)
+                .collect(Collectors.toList());
     }
 
     /**
      * @return The operation with the specified unique name
      */
     public Optional<Operation> getOperationByName(String name) {
-        return Optional.ofNullable(this.operations.get(name));
+        return Optional.ofNullable(this.operations.get(name)).map(OperationAddedEvent::getOperation);
     }
 }
@@ -1,6 +1,7 @@
 package edu.wpi.grip.core;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Singleton;
@@ -12,11 +13,9 @@ import edu.wpi.grip.core.settings.ProjectSettings;
 
 import javax.inject.Inject;
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -28,6 +27,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <p>
  * The pipeline class is responsible for listening for other components of the application (such as the GUI) adding
  * or removing steps and connections, and for registering and unregistering them from the event bus when appropriate.
+ * <p>
+ * The pipeline can be edited while it's running.  Edits never lock anything, and the pipeline runner picks them up the
+ * next time it reads the steps and sources.  Pipelines are saved and loaded with
+ * {@link edu.wpi.grip.core.serialization.PipelineConverter}.
  */
 @Singleton
 @XStreamAlias(value = "grip:Pipeline")
@@ -41,32 +44,76 @@ public class Pipeline {
     @XStreamOmitField
     private NTManager ntManager;
 
-    /*
-     * We have separate locks for sources and steps because we don't want to
-     * block access to both resources when only one is in use.
+    /**
+     * The structure of the pipeline at one point in time.  A version is never changed once it's made.  Instead, adding,
+     * removing, or moving anything makes a new version and swaps it in, so the pipeline runner and anything else
+     * reading the pipeline never has to wait for, or block, someone editing it.
+     * <p>
+     * Anything that needs the sources, steps, and connections to agree with each other, like the pipeline runner,
+     * should get one version and read all of them from it.
      */
+    public static final class Version {
+        private static final Version EMPTY = new Version(ImmutableList.of(), ImmutableList.of(), ImmutableSet.of());
+
+        private final ImmutableList<Source> sources;
+        private final ImmutableList<Step> steps;
+        private final ImmutableSet<Connection> connections;
+
+        Version(ImmutableList<Source> sources, ImmutableList<Step> steps, ImmutableSet<Connection> connections) {
+            this.sources = checkNotNull(sources);
+            this.steps = checkNotNull(steps);
+            this.connections = checkNotNull(connections);
+        }
+
+        public ImmutableList<Source> getSources() {
+            return sources;
+        }
+
+        public ImmutableList<Step> getSteps() {
+            return steps;
+        }
 
-    private transient final ReadWriteLock sourceLock = new ReentrantReadWriteLock();
-    private final List<Source> sources = new ArrayList<>();
-    private transient ReadWriteLock stepLock = new ReentrantReadWriteLock();
-    private final List<Step> steps = new ArrayList<>();
-    private final Set<Connection> connections = new HashSet<>();
-    private ProjectSettings settings = new ProjectSettings();
+        public ImmutableSet<Connection> getConnections() {
+            return connections;
+        }
+
+        private Version withSources(ImmutableList<Source> sources) {
+            return new Version(sources, this.steps, this.connections);
+        }
+
+        private Version withSteps(ImmutableList<Step> steps) {
+            return new Version(this.sources, steps, this.connections);
+        }
+
+        private Version withConnections(ImmutableSet<Connection> connections) {
+            return new Version(this.sources, this.steps, connections);
+        }
+    }
+
+    /*
+     * The current version of the pipeline.  The functions passed to updateVersion can be run more than once if two
+     * threads edit the pipeline at the same time, so they must not have side effects.
+     */
+    private transient final AtomicReference<Version> version = new AtomicReference<>(Version.EMPTY);
+    private transient volatile ProjectSettings settings = new ProjectSettings();
 
     /**
      * Remove everything in the pipeline
      */
     public void clear() {
         getSteps().forEach(this::removeStep);
-        // We collect the list first because the event modifies the list
-        this.sources.stream()
+        // The sources are read once up front because each event makes a new version without that source
+        getSources().stream()
                 .map(SourceRemovedEvent::new)
                 .collect(Collectors.toList())
                 .forEach(this.eventBus::post);
     }
 
-    private final <R> R readSourcesSafely(Function<List<Source>, R> sourceListFunction) {
-        return accessSafely(sourceLock.readLock(), Collections.unmodifiableList(sources), sourceListFunction);
+    /**
+     * @return The current version of the pipeline
+     */
+    public final Version getVersion() {
+        return version.get();
     }
 
     /**
@@ -76,16 +123,7 @@ public class Pipeline {
      * @see <a href="https://youtu.be/ZeO_J2OcHYM?t=16m35s">Why we use ImmutableList return type</a>
      */
     public final ImmutableList<Source> getSources() {
-        return readSourcesSafely(ImmutableList::copyOf);
-    }
-
-    /**
-     * @param stepListFunction The function to read the steps with.
-     * @param <R>              The return type of the function
-     * @return The value returned by the function.
-     */
-    private final <R> R readStepsSafely(Function<List<Step>, R> stepListFunction) {
-        return accessSafely(stepLock.readLock(), Collections.unmodifiableList(steps), stepListFunction);
+        return version.get().sources;
     }
 
     /**
@@ -95,7 +133,7 @@ public class Pipeline {
      * @see <a href="https://youtu.be/ZeO_J2OcHYM?t=16m35s">Why we use ImmutableList return type</a>
      */
     public final ImmutableList<Step> getSteps() {
-        return readStepsSafely(ImmutableList::copyOf);
+        return version.get().steps;
     }
 
     /*
@@ -105,32 +143,39 @@ public class Pipeline {
      */
 
     /**
-     * @param stepListWriterFunction A function that modifies the step list passed to the operation.
-     * @param <R>                    The return type of the function
-     * @return The value returned by the function.
+     * Make a new version of the pipeline from the current one and publish it.  If another thread publishes a version
+     * first, the new version is made again from that one.
+     *
+     * @param change A function that returns the new version without modifying anything else
      */
-    private <R> R writeStepsSafely(Function<List<Step>, R> stepListWriterFunction) {
-        return accessSafely(stepLock.writeLock(), steps, stepListWriterFunction);
+    private void updateVersion(UnaryOperator<Version> change) {
+        version.updateAndGet(change);
     }
 
     /**
-     * @param stepListWriterConsumer A consumer that can modify the list that is passed to it.
+     * @param stepListWriterConsumer A consumer that modifies a copy of the current step list
      */
-    private void writeStepsSafelyConsume(Consumer<List<Step>> stepListWriterConsumer) {
-        writeStepsSafely(stepList -> {
-            stepListWriterConsumer.accept(stepList);
-            return null;
+    private void updateSteps(Consumer<List<Step>> stepListWriterConsumer) {
+        updateVersion(current -> {
+            final List<Step> steps = new ArrayList<>(current.steps);
+            stepListWriterConsumer.accept(steps);
+            return current.withSteps(ImmutableList.copyOf(steps));
         });
     }
 
-    private <R> R writeSourcesSafely(Function<List<Source>, R> sourceListWriterFunction) {
-        return accessSafely(sourceLock.writeLock(), sources, sourceListWriterFunction);
+    private void updateSources(Consumer<List<Source>> sourceListWriterConsumer) {
+        updateVersion(current -> {
+            final List<Source> sources = new ArrayList<>(current.sources);
+            sourceListWriterConsumer.accept(sources);
+            return current.withSources(ImmutableList.copyOf(sources));
+        });
     }
 
-    private void writeSourcesSafelyConsume(Consumer<List<Source>> sourceListWriterFunction) {
-        writeSourcesSafely(sources -> {
-            sourceListWriterFunction.accept(sources);
-            return null;
+    private void updateConnections(Consumer<Set<Connection>> connectionSetWriterConsumer) {
+        updateVersion(current -> {
+            final Set<Connection> connections = new LinkedHashSet<>(current.connections);
+            connectionSetWriterConsumer.accept(connections);
+            return current.withConnections(ImmutableSet.copyOf(connections));
         });
     }
 
@@ -138,34 +183,11 @@ public class Pipeline {
      * End of methods that should not be made public
      */
 
-    /**
-     * Locks the resource with the specified lock and performs the function.
-     * When the function is complete then the lock unlocked again.
-     *
-     * @param lock         The lock for the given resource
-     * @param list         The list that will be accessed while the resource is locked
-     * @param listFunction The function that either modifies or accesses the list
-     * @param <T>          The type of list
-     * @param <R>          The return value for the function
-     * @return The value returned by the list function
-     */
-    private static <T, R> R accessSafely(Lock lock, List<T> list, Function<List<T>, R> listFunction) {
-        final R returnValue;
-        lock.lock();
-        try {
-            returnValue = listFunction.apply(list);
-        } finally {
-            // Ensure that no matter what may get thrown while reading the steps we unlock
-            lock.unlock();
-        }
-        return returnValue;
-    }
-
     /**
      * @return The unmodifiable set of connections between inputs and outputs of steps in the algorithm
      */
     public Set<Connection> getConnections() {
-        return Collections.unmodifiableSet(this.connections);
+        return version.get().connections;
     }
 
     /*
@@ -227,21 +249,18 @@ public class Pipeline {
      * @return true if the step1 is before step2 in the pipeline
      */
     private boolean isBefore(Step step1, Step step2) {
-        return readStepsSafely(steps -> steps.indexOf(step1) < steps.indexOf(step2));
+        final ImmutableList<Step> steps = getSteps();
+        return steps.indexOf(step1) < steps.indexOf(step2);
     }
 
     @Subscribe
     public void onSourceAdded(SourceAddedEvent event) {
-        writeSourcesSafelyConsume(sources -> {
-            sources.add(event.getSource());
-        });
+        updateSources(sources -> sources.add(event.getSource()));
     }
 
     @Subscribe
     public void onSourceRemoved(SourceRemovedEvent event) {
-        writeSourcesSafelyConsume(sources -> {
-            sources.remove(event.getSource());
-        });
+        updateSources(sources -> sources.remove(event.getSource()));
 
         // Sockets of deleted sources should not be previewed
         for (OutputSocket<?> socket : event.getSource().getOutputSockets()) {
@@ -253,20 +272,25 @@ public class Pipeline {
         checkNotNull(step, "The step can not be null");
         checkArgument(!step.removed(), "The step must not have been disabled already");
 
-        writeStepsSafelyConsume(steps -> steps.add(index, step));
+        updateSteps(steps -> steps.add(index, step));
 
         this.eventBus.register(step);
         this.eventBus.post(new StepAddedEvent(step, index));
     }
 
     public void addStep(Step step) {
-        addStep(this.steps.size(), step);
+        addStep(getSteps().size(), step);
     }
 
+    /**
+     * Remove a step from the pipeline.  This never waits for the pipeline thread.  If the step is running when it's
+     * removed, it finishes running and is cleaned up on the pipeline thread, so the {@link StepRemovedEvent} may be
+     * posted before the step's operation has been cleaned up.
+     */
     public void removeStep(Step step) {
         checkNotNull(step, "The step can not be null");
 
-        writeStepsSafelyConsume(steps -> steps.remove(step));
+        updateSteps(steps -> steps.remove(step));
 
         // Sockets of deleted steps should not be previewed
         for (OutputSocket<?> socket : step.getOutputSockets()) {
@@ -277,34 +301,31 @@ public class Pipeline {
         this.eventBus.post(new StepRemovedEvent(step));
     }
 
-    public synchronized void moveStep(Step step, int delta) {
+    public void moveStep(Step step, int delta) {
         checkNotNull(step, "The step can not be null");
-        checkArgument(this.steps.contains(step), "The step must exist in the pipeline to be moved");
 
-        // We are modifying the steps array
-        writeStepsSafelyConsume(steps -> {
-            final int oldIndex = this.steps.indexOf(step);
-            this.steps.remove(oldIndex);
+        updateSteps(steps -> {
+            final int oldIndex = steps.indexOf(step);
+            checkArgument(oldIndex != -1, "The step must exist in the pipeline to be moved");
+            steps.remove(oldIndex);
 
             // Compute the new index of the step, clamping to the beginning or end of pipeline if it goes past either end
-            final int newIndex = Math.min(Math.max(oldIndex + delta, 0), this.steps.size());
-            this.steps.add(newIndex, step);
+            final int newIndex = Math.min(Math.max(oldIndex + delta, 0), steps.size());
+            steps.add(newIndex, step);
         });
 
-        // Do not lock while posting the event
         eventBus.post(new StepMovedEvent(step, delta));
-
     }
 
     @Subscribe
     public void onConnectionAdded(ConnectionAddedEvent event) {
         final Connection connection = event.getConnection();
-        this.connections.add(connection);
+        updateConnections(connections -> connections.add(connection));
     }
 
     @Subscribe
     public void onConnectionRemoved(ConnectionRemovedEvent event) {
-        this.connections.remove(event.getConnection());
+        updateConnections(connections -> connections.remove(event.getConnection()));
         this.eventBus.unregister(event.getConnection());
     }
 
@@ -3,15 +3,18 @@ package edu.wpi.grip.core;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.AbstractScheduledService;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import edu.wpi.grip.core.events.ProjectSettingsChangedEvent;
 import edu.wpi.grip.core.events.RenderEvent;
 import edu.wpi.grip.core.events.RunPipelineEvent;
 import edu.wpi.grip.core.events.StopPipelineEvent;
+import edu.wpi.grip.core.util.ThreadBudget;
 import edu.wpi.grip.core.util.service.AutoRestartingService;
 import edu.wpi.grip.core.util.service.RestartableService;
 
@@ -30,27 +33,42 @@ import java.util.logging.Logger;
  */
 @Singleton
 public class PipelineRunner implements RestartableService {
+    /**
+     * Render events don't carry any state, so the same one is posted after every run
+     */
+    private static final RenderEvent RENDER_EVENT = new RenderEvent();
     private final Logger logger = Logger.getLogger(getClass().getName());
     /**
      * This is used to flag that the pipeline needs to run because of an update
      */
     private final Semaphore pipelineFlag = new Semaphore(0);
-    private final Supplier<ImmutableList<Source>> sourceSupplier;
-    private final Supplier<ImmutableList<Step>> stepSupplier;
+    private final Supplier<Pipeline.Version> versionSupplier;
     private final AutoRestartingService pipelineService;
 
 
     @Inject
     PipelineRunner(EventBus eventBus, Provider<Pipeline> pipelineProvider) {
-        this(eventBus, () -> pipelineProvider.get().getSources(), () -> pipelineProvider.get().getSteps());
+        this(eventBus, () -> pipelineProvider.get().getVersion());
     }
 
     PipelineRunner(EventBus eventBus, Supplier<ImmutableList<Source>> sourceSupplier, Supplier<ImmutableList<Step>> stepSupplier) {
-        this.sourceSupplier = sourceSupplier;
-        this.stepSupplier = stepSupplier;
+        this(eventBus, () -> new Pipeline.Version(sourceSupplier.get(), stepSupplier.get(), ImmutableSet.of()));
+    }
+
+    /**
+     * @param versionSupplier Gets the current version of the pipeline.  This is called once at the start of every run,
+     *                        and the whole run uses that version, so edits made during a run are picked up by the next.
+     */
+    PipelineRunner(EventBus eventBus, Supplier<Pipeline.Version> versionSupplier) {
+        this.versionSupplier = versionSupplier;
         this.pipelineService = new AutoRestartingService<>(
                 () -> new AbstractScheduledService() {
 
+                    /*
+                     * Created once, rather than on every iteration, so that running the pipeline doesn't allocate
+                     */
+                    private final Supplier<Boolean> isRunning = super::isRunning;
+
                     @Override
                     protected void startUp() {
                         logger.info("Pipeline Starting");
@@ -73,10 +91,11 @@ public class PipelineRunner implements RestartableService {
                                 Math.max(0, pipelineFlag.availablePermits()));
 
                         if (!super.isRunning()) return;
-                        runPipeline(super::isRunning);
+                        ThreadBudget.adjustCurrentThread();
+                        runPipeline(isRunning);
                         // This should not block access to the steps array
                         if (super.isRunning()) {
-                            eventBus.post(new RenderEvent());
+                            eventBus.post(RENDER_EVENT);
                         }
                     }
 
@@ -175,25 +194,41 @@ public class PipelineRunner implements RestartableService {
     }
 
     private void runPipeline(Supplier<Boolean> isRunning) {
-        // Take a snapshot of both of the pipeline at the present time before running it.
-        final ImmutableList<Source> sources = sourceSupplier.get();
-        final ImmutableList<Step> steps = stepSupplier.get();
+        // Take one version of the pipeline and read both the sources and the steps from it, so they always match
+        final Pipeline.Version version = versionSupplier.get();
+        final ImmutableList<Source> sources = version.getSources();
+        final ImmutableList<Step> steps = version.getSteps();
         // Now that we have a snapshot we can run the pipeline with our copy.
+        // Indexed loops are used so that running the pipeline doesn't create an iterator on every frame.
 
-        for (Source source : sources) {
+        for (int i = 0; i < sources.size(); i++) {
             // if we have been stopped then we need to exit as soon as possible.
             // then don't continue to run the pipeline.
             if (!isRunning.get()) {
                 break;
             }
-            source.updateOutputSockets();
+            sources.get(i).updateOutputSockets();
         }
 
-        for (Step step : steps) {
+        for (int i = 0; i < steps.size(); i++) {
             if (!isRunning.get()) {
                 break;
             }
-            step.runPerformIfPossible();
+            steps.get(i).runPerformIfPossible();
+        }
+
+        // Now that nothing is writing to the outputs, hand copies of them to the previews
+        for (int i = 0; i < sources.size(); i++) {
+            publishPreviews(sources.get(i).getOutputSockets());
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            publishPreviews(steps.get(i).getOutputSockets());
+        }
+    }
+
+    private static void publishPreviews(OutputSocket<?>[] outputSockets) {
+        for (OutputSocket<?> outputSocket : outputSockets) {
+            outputSocket.publishPreview();
         }
     }
 
@@ -205,6 +240,11 @@ public class PipelineRunner implements RestartableService {
         }
     }
 
+    @Subscribe
+    public void onProjectSettingsChanged(ProjectSettingsChangedEvent event) {
+        ThreadBudget.apply(event.getProjectSettings());
+    }
+
     @Subscribe
     public void onStopPipeline(StopPipelineEvent event) {
         stopAsync();
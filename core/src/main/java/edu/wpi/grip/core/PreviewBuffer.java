@@ -0,0 +1,119 @@
+package edu.wpi.grip.core;
+
+import edu.wpi.grip.core.operations.composite.BlobsReport;
+import edu.wpi.grip.core.operations.composite.LinesReport;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Point;
+import static org.bytedeco.javacpp.opencv_core.Size;
+
+/**
+ * Hands copies of an {@link OutputSocket}'s value from the pipeline thread to a preview without either thread ever
+ * waiting for the other.
+ * <p>
+ * Operations write into the same {@link Mat} every time they run, so a preview that draws the socket's value directly
+ * can see half of one frame and half of the next.  Instead, the pipeline {@link #publish publishes} a copy of the value
+ * after each run, and the preview {@link #read() reads} the newest copy.  There are three snapshots in rotation: the
+ * one the preview is drawing, the newest one that's been published, and a spare that the next one is copied into.
+ * They're handed between the two threads with atomic swaps, so the pipeline never writes into a snapshot the preview
+ * is still drawing, and a slow preview just skips frames.
+ * <p>
+ * Only one thread may publish and only one thread may read.  Images are copied into native memory that's reused from
+ * frame to frame.  Other values that operations don't change after setting, like {@link Number Numbers} and
+ * {@link edu.wpi.grip.core.operations.composite.ContoursReport ContoursReports}, aren't copied at all.
+ *
+ * @param <T> The type of the value of the socket
+ */
+public final class PreviewBuffer<T> {
+
+    private static final class Snapshot<T> {
+        private Optional<T> value = Optional.empty();
+
+        /**
+         * Native memory for the image in this snapshot.  This is kept when the snapshot is recycled, so copying a frame
+         * the same size as the last one doesn't allocate anything.
+         */
+        private Mat image;
+
+        private Mat image() {
+            if (image == null) {
+                image = new Mat();
+            }
+            return image;
+        }
+    }
+
+    private final AtomicReference<Snapshot<T>> latest = new AtomicReference<>();
+    private final AtomicReference<Snapshot<T>> spare = new AtomicReference<>();
+
+    /**
+     * The snapshot the reading thread is using.  This is only touched by the reading thread.
+     */
+    private Snapshot<T> reading;
+
+    /**
+     * Copy a value and make it the newest snapshot.  This is called by the pipeline thread after each run.
+     *
+     * @param value The current value of the socket
+     */
+    public void publish(Optional<T> value) {
+        final Snapshot<T> recycled = spare.getAndSet(null);
+        final Snapshot<T> snapshot = recycled == null ? new Snapshot<>() : recycled;
+        snapshot.value = value.map(v -> copy(v, snapshot));
+
+        final Snapshot<T> unread = latest.getAndSet(snapshot);
+        if (unread != null) {
+            // The reader never saw this one, so it's free to be reused for the next frame
+            spare.set(unread);
+        }
+    }
+
+    /**
+     * Get the newest snapshot that's been published.  The value returned won't change until the next time this is
+     * called, so it can be safely drawn on the reading thread while the pipeline keeps running.
+     *
+     * @return The newest value published, or the same value as last time if nothing new has been published
+     */
+    public Optional<T> read() {
+        final Snapshot<T> newest = latest.getAndSet(null);
+        if (newest != null) {
+            if (reading != null) {
+                spare.set(reading);
+            }
+            reading = newest;
+        }
+        return reading == null ? Optional.empty() : reading.value;
+    }
+
+    /**
+     * Drop all of the snapshots, so their memory can be freed once nothing is previewing the socket.
+     */
+    public void clear() {
+        latest.set(null);
+        spare.set(null);
+        reading = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T value, Snapshot<T> snapshot) {
+        if (value instanceof Mat) {
+            ((Mat) value).copyTo(snapshot.image());
+            return (T) snapshot.image();
+        } else if (value instanceof LinesReport) {
+            ((LinesReport) value).getInput().copyTo(snapshot.image());
+            return (T) ((LinesReport) value).withInput(snapshot.image());
+        } else if (value instanceof BlobsReport) {
+            ((BlobsReport) value).getInput().copyTo(snapshot.image());
+            return (T) ((BlobsReport) value).withInput(snapshot.image());
+        } else if (value instanceof Point) {
+            return (T) new Point(((Point) value).x(), ((Point) value).y());
+        } else if (value instanceof Size) {
+            return (T) new Size(((Size) value).width(), ((Size) value).height());
+        } else {
+            return value;
+        }
+    }
+}
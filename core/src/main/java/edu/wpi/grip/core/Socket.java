@@ -67,6 +67,14 @@ public abstract class Socket<T> {
             getSocketHint().getType().cast(optionalValue.get());
         }
         this.value = optionalValue;
+        onValueChanged();
+    }
+
+    /**
+     * Fire off a {@link SocketChangedEvent}.  Sockets that store their value somewhere other than an {@link Optional},
+     * like {@link NumberOutputSocket}, call this after updating it.
+     */
+    protected final void onValueChanged() {
         eventBus.post(new SocketChangedEvent(this));
     }
 
@@ -18,6 +18,7 @@ import java.util.logging.Logger;
 public abstract class Source {
     private final Logger logger = Logger.getLogger(getClass().getName());
     private final ExceptionWitness exceptionWitness;
+    private volatile OutputSocket[] outputSockets;
 
     public static class SourceFactoryImpl implements SourceFactory {
         @Inject
@@ -56,15 +57,19 @@ public abstract class Source {
     /**
      * Get the sockets for this source.
      *
-     * @return @return An array of {@link OutputSocket}s for the outputs that the source produces.
+     * @return @return An array of {@link OutputSocket}s for the outputs that the source produces.  The same array is
+     * returned every time, so the pipeline can get the sockets on every frame without allocating.
      */
     public final OutputSocket[] getOutputSockets() {
-        final OutputSocket[] outputSockets = this.createOutputSockets();
-        for (OutputSocket socket : outputSockets) {
-            socket.setSource(Optional.of(this));
+        if (this.outputSockets == null) {
+            final OutputSocket[] outputSockets = this.createOutputSockets();
+            for (OutputSocket socket : outputSockets) {
+                socket.setSource(Optional.of(this));
+            }
+            this.outputSockets = outputSockets;
         }
 
-        return outputSockets;
+        return this.outputSockets;
     }
 
     protected abstract OutputSocket[] createOutputSockets();
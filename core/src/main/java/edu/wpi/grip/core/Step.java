@@ -7,6 +7,8 @@ import com.thoughtworks.xstream.annotations.XStreamAlias;
 import edu.wpi.grip.core.util.ExceptionWitness;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,8 +29,21 @@ public class Step {
     private final InputSocket<?>[] inputSockets;
     private final OutputSocket<?>[] outputSockets;
     private final Optional<?> data;
-    private final Object removedLock = new Object();
-    private boolean removed = false;
+    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+
+    /**
+     * Where a step is in its life.  A step only ever moves from performing back to idle, or forward towards removed.
+     */
+    private enum State {
+        IDLE,
+        PERFORMING,
+        /**
+         * The step was removed while it was performing.  It's cleaned up by the thread that was performing it as soon
+         * as it's done, so removing a step never has to wait for the pipeline.
+         */
+        REMOVE_PENDING,
+        REMOVED
+    }
 
     @Singleton
     public static class Factory {
@@ -132,34 +147,62 @@ public class Step {
         }
 
         try {
-            // We need to ensure that if perform disabled is switching states that we don't run the perform method
-            // while that is happening.
-            synchronized (removedLock) {
-                if (!removed) {
-                    this.operation.perform(inputSockets, outputSockets, data);
-                }
+            // Never run the perform method once the step is removed, or while it's being cleaned up
+            if (!state.compareAndSet(State.IDLE, State.PERFORMING)) {
+                return;
+            }
+            try {
+                this.operation.perform(inputSockets, outputSockets, data);
+            } finally {
+                finishPerforming();
             }
         } catch (RuntimeException e) {
             // We do not want to catch all exceptions, only runtime exceptions.
             // This is especially important when it comes to InterruptedExceptions
-            final String operationFailedMessage = "The " + operation.getName() + " operation did not perform correctly.";
-            logger.log(Level.WARNING, operationFailedMessage, e);
-            witness.flagException(e, operationFailedMessage);
+            // An operation that fails once usually fails on every frame, so only log when the witness reports it
+            final Supplier<String> operationFailedMessage =
+                    () -> "The " + operation.getName() + " operation did not perform correctly.";
+            if (witness.flagException(e, operationFailedMessage)) {
+                logger.log(Level.WARNING, operationFailedMessage.get(), e);
+            }
             resetOutputSockets();
             return;
         }
         witness.clearException();
     }
 
-    public final void setRemoved() {
-        // We need to wait for the perform method to complete before returning.
-        // if we don't wait then the perform method could end up being run concurrently with the perform methods execution
-        synchronized (removedLock) {
-            removed = true;
+    private void finishPerforming() {
+        if (!state.compareAndSet(State.PERFORMING, State.IDLE)) {
+            // The step was removed while the operation was performing, and it was left to this thread to clean it up
+            state.set(State.REMOVED);
             operation.cleanUp(inputSockets, outputSockets, data);
         }
     }
 
+    /**
+     * Stop the step from running and clean up its operation.  If the operation is performing right now, this doesn't
+     * wait for it.  Instead, the operation is cleaned up by the thread performing it once it's done, so it's never
+     * cleaned up while it's performing.
+     */
+    public final void setRemoved() {
+        while (true) {
+            final State current = state.get();
+            if (current == State.IDLE) {
+                if (state.compareAndSet(State.IDLE, State.REMOVED)) {
+                    operation.cleanUp(inputSockets, outputSockets, data);
+                    return;
+                }
+            } else if (current == State.PERFORMING) {
+                if (state.compareAndSet(State.PERFORMING, State.REMOVE_PENDING)) {
+                    return;
+                }
+            } else {
+                // Already removed
+                return;
+            }
+        }
+    }
+
     /**
      * Allows checks to see if this step has had its perform method disabled.
      * If this value ever returns false it will never return true again.
@@ -167,7 +210,8 @@ public class Step {
      * @return true if runPerformIfPossible can run successfully
      */
     protected boolean removed() {
-        return removed;
+        final State current = state.get();
+        return current == State.REMOVE_PENDING || current == State.REMOVED;
     }
 
 }
@@ -14,6 +14,7 @@ public final class ExceptionEvent {
     private final Object origin;
     private final Optional<Exception> exception;
     private final String message;
+    private final int occurrences;
 
 
     /**
@@ -23,9 +24,21 @@ public final class ExceptionEvent {
      *                  If <tt>null</tt> will use {@link Exception#getMessage()}
      */
     public ExceptionEvent(Object origin, Exception exception, String message) {
+        this(origin, exception, message, 1);
+    }
+
+    /**
+     * @param origin      The object that triggered this exception.
+     * @param exception   The exception this is handling.
+     * @param message     The message associated with this event.
+     *                    If <tt>null</tt> will use {@link Exception#getMessage()}
+     * @param occurrences How many times the problem has happened since it was last cleared.
+     */
+    public ExceptionEvent(Object origin, Exception exception, String message, int occurrences) {
         this.exception = Optional.of(exception);
         this.origin = checkNotNull(origin, "The origin can not be null");
         this.message = message != null ? message : exception.getMessage();
+        this.occurrences = occurrences;
     }
 
     /**
@@ -33,9 +46,19 @@ public final class ExceptionEvent {
      * @param message The message associated with this event.
      */
     public ExceptionEvent(Object origin, String message) {
+        this(origin, message, 1);
+    }
+
+    /**
+     * @param origin      The object that triggered this exception.
+     * @param message     The message associated with this event.
+     * @param occurrences How many times the problem has happened since it was last cleared.
+     */
+    public ExceptionEvent(Object origin, String message, int occurrences) {
         this.origin = checkNotNull(origin, "The origin can not be null");
         this.exception = Optional.empty();
         this.message = message;
+        this.occurrences = occurrences;
     }
 
     /**
@@ -59,4 +82,11 @@ public final class ExceptionEvent {
     public Optional<Exception> getException() {
         return exception;
     }
+
+    /**
+     * @return How many times the problem has happened since it was last cleared.  Not every time gets its own event.
+     */
+    public int getOccurrences() {
+        return occurrences;
+    }
 }
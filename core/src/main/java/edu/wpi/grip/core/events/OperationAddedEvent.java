@@ -3,31 +3,66 @@ package edu.wpi.grip.core.events;
 import com.google.common.base.MoreObjects;
 import edu.wpi.grip.core.Operation;
 
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * Event for when a new operation is added to the application.  This happens, for example, if a user loads a new Python
  * script, or at startup for the built-in operations.  This is NOT the event for adding a new step to the pipeline.
+ * <p>
+ * Built-in operations are added by name, and are only created the first time something asks for them.  In headless
+ * mode, this means only the operations actually used in the project are ever loaded.
  */
 public class OperationAddedEvent {
-    private final Operation operation;
+    private final String name;
+    private final Supplier<? extends Operation> operationSupplier;
+    private Operation operation;
 
     /**
      * @param operation The operation being added
      */
     public OperationAddedEvent(Operation operation) {
+        this.name = operation.getName();
+        this.operationSupplier = () -> operation;
         this.operation = operation;
     }
 
     /**
-     * @return The operation being added..
+     * @param name              The name of the operation being added.  This must be the same as the name the operation
+     *                          itself returns from {@link Operation#getName()}.
+     * @param operationSupplier Creates the operation the first time it's needed
+     */
+    public OperationAddedEvent(String name, Supplier<? extends Operation> operationSupplier) {
+        this.name = checkNotNull(name, "The name can not be null");
+        this.operationSupplier = checkNotNull(operationSupplier, "The operation supplier can not be null");
+    }
+
+    /**
+     * @return The name of the operation being added.  This doesn't create the operation.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The operation being added.  It's created the first time this is called.
      */
-    public Operation getOperation() {
+    public synchronized Operation getOperation() {
+        if (this.operation == null) {
+            final Operation operation = checkNotNull(operationSupplier.get(), "The operation supplier returned null");
+            checkState(operation.getName().equals(name),
+                    "Operation was added as \"%s\" but is named \"%s\"", name, operation.getName());
+            this.operation = operation;
+        }
         return this.operation;
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("operation", operation)
+                .add("name", name)
                 .toString();
     }
 }
@@ -6,8 +6,11 @@ import edu.wpi.grip.core.OutputSocket;
 /**
  * An event that occurs when a {@link OutputSocket} is set to be either previewed or not previewed.  The GUI listens for these events
  * so it knows which sockets to show previews for.
+ * <p>
+ * When a socket starts being previewed, the pipeline runs again so there's a snapshot of its value for the preview to
+ * show.
  */
-public class SocketPreviewChangedEvent {
+public class SocketPreviewChangedEvent implements RunPipelineEvent {
     private OutputSocket socket;
 
     /**
@@ -24,6 +27,11 @@ public class SocketPreviewChangedEvent {
         return this.socket;
     }
 
+    @Override
+    public boolean pipelineShouldRun() {
+        return socket.isPreviewed();
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -6,6 +6,9 @@ import edu.wpi.grip.core.Step;
 /**
  * An event that occurs when a new step is removed from the pipeline.  This is triggered by the user deleting a step
  * from the GUI.
+ * <p>
+ * By the time this is posted, the step will never run again.  However, if it was running when it was removed, its
+ * operation is only cleaned up once that run is done, which may be after this is posted.
  */
 public class StepRemovedEvent {
     private final Step step;
@@ -17,31 +17,47 @@ public final class Operations {
 
     private Operations() { /* no op */}
 
+    /**
+     * Add the built-in operations to the palette.  Each operation is added by name and is only created when it's first
+     * needed, so none of them are loaded here.
+     */
     public static void addOperations(EventBus eventBus) {
         // Add the default built-in operations to the palette
-        eventBus.post(new OperationAddedEvent(new ResizeOperation()));
-        eventBus.post(new OperationAddedEvent(new BlurOperation()));
-        eventBus.post(new OperationAddedEvent(new DesaturateOperation()));
-        eventBus.post(new OperationAddedEvent(new RGBThresholdOperation()));
-        eventBus.post(new OperationAddedEvent(new HSVThresholdOperation()));
-        eventBus.post(new OperationAddedEvent(new HSLThresholdOperation()));
-        eventBus.post(new OperationAddedEvent(new FindContoursOperation()));
-        eventBus.post(new OperationAddedEvent(new FilterContoursOperation()));
-        eventBus.post(new OperationAddedEvent(new ConvexHullsOperation()));
-        eventBus.post(new OperationAddedEvent(new FindBlobsOperation()));
-        eventBus.post(new OperationAddedEvent(new FindLinesOperation()));
-        eventBus.post(new OperationAddedEvent(new FilterLinesOperation()));
-        eventBus.post(new OperationAddedEvent(new MaskOperation()));
-        eventBus.post(new OperationAddedEvent(new MinMaxLoc()));
-        eventBus.post(new OperationAddedEvent(new NewPointOperation()));
-        eventBus.post(new OperationAddedEvent(new NewSizeOperation()));
-        eventBus.post(new OperationAddedEvent(new MatFieldAccessor()));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(Number.class, NTNumber.class, NTNumber::new)));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(Point.class, NTVector2D.class, NTVector2D::new)));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(Size.class, NTVector2D.class, NTVector2D::new)));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(ContoursReport.class)));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(BlobsReport.class)));
-        eventBus.post(new OperationAddedEvent(new NTPublishOperation<>(LinesReport.class)));
-        eventBus.post(new OperationAddedEvent(new PublishVideoOperation()));
+        eventBus.post(new OperationAddedEvent("Resize Image", ResizeOperation::new));
+        eventBus.post(new OperationAddedEvent("Region of Interest", RegionOfInterestOperation::new));
+        eventBus.post(new OperationAddedEvent("Blur", BlurOperation::new));
+        eventBus.post(new OperationAddedEvent("Desaturate", DesaturateOperation::new));
+        eventBus.post(new OperationAddedEvent("RGB Threshold", RGBThresholdOperation::new));
+        eventBus.post(new OperationAddedEvent("HSV Threshold", HSVThresholdOperation::new));
+        eventBus.post(new OperationAddedEvent("HSL Threshold", HSLThresholdOperation::new));
+        eventBus.post(new OperationAddedEvent("Find Contours", FindContoursOperation::new));
+        eventBus.post(new OperationAddedEvent("Filter Contours", FilterContoursOperation::new));
+        eventBus.post(new OperationAddedEvent("Convex Hulls", ConvexHullsOperation::new));
+        eventBus.post(new OperationAddedEvent("Find Blobs", FindBlobsOperation::new));
+        eventBus.post(new OperationAddedEvent("Find Lines", FindLinesOperation::new));
+        eventBus.post(new OperationAddedEvent("Filter Lines", FilterLinesOperation::new));
+        eventBus.post(new OperationAddedEvent("Tracking Window", TrackingWindowOperation::new));
+        eventBus.post(new OperationAddedEvent("Track Contours",
+                () -> new UpdateTrackerOperation<>("Contours", ContoursReport.class, ContoursReport::getBoundingBox)));
+        eventBus.post(new OperationAddedEvent("Track Blobs",
+                () -> new UpdateTrackerOperation<>("Blobs", BlobsReport.class, BlobsReport::getBoundingBox)));
+        eventBus.post(new OperationAddedEvent("Mask", MaskOperation::new));
+        eventBus.post(new OperationAddedEvent("Find Min and Max", MinMaxLoc::new));
+        eventBus.post(new OperationAddedEvent("New Point", NewPointOperation::new));
+        eventBus.post(new OperationAddedEvent("New Size", NewSizeOperation::new));
+        eventBus.post(new OperationAddedEvent("Get Mat Info", MatFieldAccessor::new));
+        eventBus.post(new OperationAddedEvent("Publish Number",
+                () -> new NTPublishOperation<>(Number.class, NTNumber.class, NTNumber::new)));
+        eventBus.post(new OperationAddedEvent("Publish Point",
+                () -> new NTPublishOperation<>(Point.class, NTVector2D.class, NTVector2D::new)));
+        eventBus.post(new OperationAddedEvent("Publish Size",
+                () -> new NTPublishOperation<>(Size.class, NTVector2D.class, NTVector2D::new)));
+        eventBus.post(new OperationAddedEvent("Publish ContoursReport",
+                () -> new NTPublishOperation<>(ContoursReport.class)));
+        eventBus.post(new OperationAddedEvent("Publish BlobsReport",
+                () -> new NTPublishOperation<>(BlobsReport.class)));
+        eventBus.post(new OperationAddedEvent("Publish LinesReport",
+                () -> new NTPublishOperation<>(LinesReport.class)));
+        eventBus.post(new OperationAddedEvent("Publish Video", PublishVideoOperation::new));
     }
 }
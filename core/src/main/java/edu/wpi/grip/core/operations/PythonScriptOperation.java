@@ -7,7 +7,10 @@ import org.python.util.PythonInterpreter;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.List;
 import java.util.logging.Level;
@@ -45,6 +48,11 @@ import java.util.Properties;
  *
  * Lastly, the script can optionally have global "name" and "description" strings to provide the user with more
  * information about what the operation does.
+ * <p>
+ * The script is compiled once, and each step made from it runs its own copy of the script in its own interpreter, so
+ * steps don't share any Python state and one step never has to wait for another.  Inputs are passed to the script as
+ * the Java objects in the sockets, so images are not copied.  A script that wants to read the pixels of an image
+ * directly can call <code>createBuffer()</code> on it, which returns a view of the image's own memory.
  */
 public class PythonScriptOperation implements Operation {
 
@@ -66,17 +74,43 @@ public class PythonScriptOperation implements Operation {
     private final Optional<String> sourceCode;
 
     private final PythonInterpreter interpreter = new PythonInterpreter();
+    private final PyCode code;
 
     private List<SocketHint<PyObject>> inputSocketHints;
     private List<SocketHint<PyObject>> outputSocketHints;
-    private PyFunction performFunction;
     private PyString name;
     private PyString description;
 
+    /**
+     * The copy of the script that belongs to a single step
+     */
+    private static final class ScriptState {
+        private final PythonInterpreter interpreter;
+        private final PyFunction performFunction;
+
+        /**
+         * The value of each input the last time the step ran, and what it was converted into.  Images and unchanged
+         * numbers are the same objects from one frame to the next, so they only need to be converted once.
+         */
+        private final Object[] lastInputs;
+        private final PyObject[] pyInputs;
+
+        private ScriptState(PyCode code, int inputCount) {
+            this.interpreter = new PythonInterpreter(null, new PySystemState());
+            this.interpreter.exec(code);
+            this.performFunction = this.interpreter.get("perform", PyFunction.class);
+            this.lastInputs = new Object[inputCount];
+            this.pyInputs = new PyObject[inputCount];
+        }
+    }
+
     public PythonScriptOperation(URL url) throws PyException, IOException {
         this.sourceURL = Optional.of(url);
         this.sourceCode = Optional.empty();
-        this.interpreter.execfile(url.openStream());
+        try (Reader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
+            this.code = this.interpreter.compile(reader, url.getPath());
+        }
+        this.interpreter.exec(this.code);
         this.getPythonVariables();
 
         if (this.name == null) {
@@ -93,7 +127,8 @@ public class PythonScriptOperation implements Operation {
     public PythonScriptOperation(String code) throws PyException {
         this.sourceURL = Optional.empty();
         this.sourceCode = Optional.of(code);
-        this.interpreter.exec(code);
+        this.code = this.interpreter.compile(code);
+        this.interpreter.exec(this.code);
         this.getPythonVariables();
 
         if (this.name == null) {
@@ -108,7 +143,6 @@ public class PythonScriptOperation implements Operation {
     private void getPythonVariables() throws PyException {
         this.inputSocketHints = this.interpreter.get("inputs", List.class);
         this.outputSocketHints = this.interpreter.get("outputs", List.class);
-        this.performFunction = this.interpreter.get("perform", PyFunction.class);
         this.name = this.interpreter.get("name", PyString.class);
         this.description = this.interpreter.get("description", PyString.class);
     }
@@ -166,6 +200,15 @@ public class PythonScriptOperation implements Operation {
         return sockets;
     }
 
+    /**
+     * Run a separate copy of the script for each step, so that steps made from the same script don't share any
+     * variables, and can run at the same time.
+     */
+    @Override
+    public Optional<?> createData() {
+        return Optional.of(new ScriptState(this.code, this.inputSocketHints.size()));
+    }
+
     /**
      * Perform the operation by calling a function in the Python script.
      * <p>
@@ -179,19 +222,24 @@ public class PythonScriptOperation implements Operation {
      * @param inputs  An array obtained from {@link #createInputSockets(EventBus)}. The caller can set the value of
      *                each socket to an actual parameter for the operation.
      * @param outputs An array obtained from {@link #createOutputSockets(EventBus)}. The outputs of the operation will
+     * @param data    The step's copy of the script, from {@link #createData()}
      */
     @Override
-    public void perform(InputSocket[] inputs, OutputSocket[] outputs) {
-        PyObject[] pyInputs = new PyObject[inputs.length];
-        for (int i = 0; i < inputs.length; i++) {
-            Class<?> a = inputs[i].getSocketHint().getType();
-            Class<?> b = inputs[i].getValue().getClass();
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
+        final ScriptState state = (ScriptState) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
 
-            pyInputs[i] = Py.java2py(inputs[i].getValue().get());
+        for (int i = 0; i < inputs.length; i++) {
+            final Object input = inputs[i].getValue().get();
+            if (state.pyInputs[i] == null || state.lastInputs[i] != input) {
+                state.lastInputs[i] = input;
+                state.pyInputs[i] = Py.java2py(input);
+            }
         }
 
+        // Run the function with the step's own interpreter state, the same way the interpreter does when it runs code
+        final PySystemState previousSystemState = Py.setSystemState(state.interpreter.getSystemState());
         try {
-            PyObject pyOutput = this.performFunction.__call__(pyInputs);
+            PyObject pyOutput = state.performFunction.__call__(state.pyInputs);
 
             if (pyOutput.isSequenceType()) {
                 /* If the Python function returned a sequence type, there must be multiple outputs for this step.
@@ -204,7 +252,7 @@ public class PythonScriptOperation implements Operation {
                 }
 
                 for (int i = 0; i < javaOutputs.length; i++) {
-                    outputs[i].setValue(javaOutputs[i]);
+                    ((OutputSocket) outputs[i]).setValue(javaOutputs[i]);
                 }
             } else {
                 /* If the Python script did not return a sequence, there should only be one output socket. */
@@ -213,7 +261,7 @@ public class PythonScriptOperation implements Operation {
                 }
 
                 Object javaOutput = Py.tojava(pyOutput, outputs[0].getSocketHint().getType());
-                outputs[0].setValue(javaOutput);
+                ((OutputSocket) outputs[0]).setValue(javaOutput);
             }
         } catch (Exception e) {
             /* Exceptions can happen if there's a mistake in a Python script, so just print a stack trace and leave the
@@ -222,9 +270,16 @@ public class PythonScriptOperation implements Operation {
              * TODO: communicate the error to the GUI.
              */
             logger.log(Level.WARNING, e.getMessage(), e);
+        } finally {
+            Py.setSystemState(previousSystemState);
         }
     }
 
+    @Override
+    public void cleanUp(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
+        data.ifPresent(state -> ((ScriptState) state).interpreter.cleanup());
+    }
+
     private static String wrongNumberOfArgumentsMsg(int expected, int actual) {
         return "Wrong number of outputs from Python script (expected " + expected + ", got " + actual + ")";
     }
@@ -5,10 +5,14 @@ import edu.wpi.grip.core.NoSocketTypeLabel;
 import edu.wpi.grip.core.operations.networktables.NTPublishable;
 import edu.wpi.grip.core.operations.networktables.NTValue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
 
 /**
  * This class is used as the output of operations that detect blobs in an image
@@ -16,7 +20,12 @@ import static org.bytedeco.javacpp.opencv_core.Mat;
 @NoSocketTypeLabel
 public class BlobsReport implements NTPublishable {
     private final Mat input;
-    private final List<Blob> blobs;
+
+    /*
+     * The blobs are stored as parallel primitive arrays instead of a list of objects, since a report is created for
+     * every frame.  Blob at index i is at (x[i], y[i]) with a diameter of size[i].
+     */
+    private final double[] x, y, size;
 
     public static class Blob {
         public final double x, y, size;
@@ -41,16 +50,81 @@ public class BlobsReport implements NTPublishable {
      * Create an empty blob report.  This is used as the default value for sockets
      */
     public BlobsReport() {
-        this(new Mat(), Collections.emptyList());
+        this(new Mat(), new double[0], new double[0], new double[0]);
     }
 
     public BlobsReport(Mat input, List<Blob> blobs) {
+        this(input,
+                blobs.stream().mapToDouble(blob -> blob.x).toArray(),
+                blobs.stream().mapToDouble(blob -> blob.y).toArray(),
+                blobs.stream().mapToDouble(blob -> blob.size).toArray());
+    }
+
+    /**
+     * @param input The image that the blob detection was performed on
+     * @param x     The x coordinate of each blob.  The report takes ownership of this array.
+     * @param y     The y coordinate of each blob.  The report takes ownership of this array.
+     * @param size  The diameter of each blob.  The report takes ownership of this array.
+     */
+    public BlobsReport(Mat input, double[] x, double[] y, double[] size) {
+        checkArgument(x.length == y.length && y.length == size.length, "Blob arrays must all be the same length");
         this.input = input;
-        this.blobs = blobs;
+        this.x = x;
+        this.y = y;
+        this.size = size;
     }
 
+    /**
+     * @return The blobs in this report as objects.  This allocates a new list, so {@link #getCount()} and the indexed
+     * accessors should be used for anything that runs every frame.
+     */
     public List<Blob> getBlobs() {
-        return Collections.unmodifiableList(this.blobs);
+        final List<Blob> blobs = new ArrayList<>(x.length);
+        for (int i = 0; i < x.length; i++) {
+            blobs.add(new Blob(x[i], y[i], size[i]));
+        }
+        return Collections.unmodifiableList(blobs);
+    }
+
+    /**
+     * @return The number of blobs found
+     */
+    public int getCount() {
+        return x.length;
+    }
+
+    public double getX(int blob) {
+        return x[blob];
+    }
+
+    public double getY(int blob) {
+        return y[blob];
+    }
+
+    public double getSize(int blob) {
+        return size[blob];
+    }
+
+    /**
+     * @return The smallest rectangle that contains every blob, or {@link Optional#empty()} if there are no blobs
+     */
+    public Optional<Rect> getBoundingBox() {
+        if (x.length == 0) {
+            return Optional.empty();
+        }
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            final double radius = size[i] / 2;
+            minX = Math.min(minX, x[i] - radius);
+            minY = Math.min(minY, y[i] - radius);
+            maxX = Math.max(maxX, x[i] + radius);
+            maxY = Math.max(maxY, y[i] + radius);
+        }
+
+        final int left = (int) Math.floor(minX), top = (int) Math.floor(minY);
+        return Optional.of(new Rect(left, top, (int) Math.ceil(maxX) - left, (int) Math.ceil(maxY) - top));
     }
 
     /**
@@ -60,36 +134,32 @@ public class BlobsReport implements NTPublishable {
         return this.input;
     }
 
+    /**
+     * @param input A copy of the image that the detection was performed on
+     * @return A report with the same results as this one, but with a different input image
+     */
+    public BlobsReport withInput(Mat input) {
+        return new BlobsReport(input, x, y, size);
+    }
+
     @NTValue(key = "x", weight = 0)
     public double[] getX() {
-        final double[] x = new double[blobs.size()];
-        for (int i = 0; i < blobs.size(); i++) {
-            x[i] = blobs.get(i).x;
-        }
-        return x;
+        return x.clone();
     }
 
     @NTValue(key = "y", weight = 1)
     public double[] getY() {
-        final double[] y = new double[blobs.size()];
-        for (int i = 0; i < blobs.size(); i++) {
-            y[i] = blobs.get(i).y;
-        }
-        return y;
+        return y.clone();
     }
 
     @NTValue(key = "size", weight = 2)
     public double[] getSize() {
-        final double[] sizes = new double[blobs.size()];
-        for (int i = 0; i < blobs.size(); i++) {
-            sizes[i] = blobs.get(i).size;
-        }
-        return sizes;
+        return size.clone();
     }
 
     @Override
     public String toString() {
-        return blobs.toString();
+        return getBlobs().toString();
     }
 
 }
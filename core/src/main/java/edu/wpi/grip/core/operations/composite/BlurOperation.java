@@ -33,6 +33,7 @@ public class BlurOperation implements Operation {
     private final SocketHint<Mat> inputHint = SocketHints.Inputs.createMatSocketHint("Input", false);
     private final SocketHint<Type> typeHint = SocketHints.createEnumSocketHint("Type", Type.BOX);
     private final SocketHint<Number> radiusHint = SocketHints.Inputs.createNumberSliderSocketHint("Radius", 0.0, 0.0, 100.0);
+    private final SocketHint<Boolean> parallelHint = SocketHints.createBooleanSocketHint("Parallel", false);
 
     private final SocketHint<Mat> outputHint = SocketHints.Inputs.createMatSocketHint("Output", true);
 
@@ -57,6 +58,7 @@ public class BlurOperation implements Operation {
                 new InputSocket<>(eventBus, inputHint),
                 new InputSocket<>(eventBus, typeHint),
                 new InputSocket<>(eventBus, radiusHint),
+                new InputSocket<>(eventBus, parallelHint),
         };
     }
 
@@ -67,45 +69,86 @@ public class BlurOperation implements Operation {
         };
     }
 
+    /**
+     * The kernel size is kept between runs instead of being created on every frame
+     */
+    @Override
+    public Optional<Size> createData() {
+        return Optional.of(new Size());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final Type type = ((InputSocket<Type>) inputs[1]).getValue().get();
         final Number radius = ((InputSocket<Number>) inputs[2]).getValue().get();
+        final boolean parallel = ((InputSocket<Boolean>) inputs[3]).getValue().get();
+        final Size kernel = (Size) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
-        final Mat output = outputSocket.getValue().get();
+        // If the input is a region of interest, blur into the same region of a full-size output
+        final Mat output = RegionOfInterest.prepareOutput(input, outputSocket.getValue().get(), input.type());
+
+        final int kernelSize = kernelSize(type, radius);
+        kernel.width(kernelSize).height(kernelSize);
+
+        // OpenCV already splits the bilateral filter across its own threads, which come out of the same thread budget,
+        // so banding it too would run up to the square of the budget at once
+        if (parallel && type != Type.BILATERAL_FILTER) {
+            RowBandExecutor.apply(input, output, input.type(), kernelSize / 2,
+                    (src, dst) -> filter(type, radius, kernel, src, dst));
+        } else {
+            filter(type, radius, kernel, input, output);
+        }
 
-        int kernelSize;
+        outputSocket.setValue(output);
+    }
 
+    /**
+     * @return The width of the neighbourhood around each pixel that the given filter looks at
+     */
+    private static int kernelSize(Type type, Number radius) {
         switch (type) {
             case BOX:
-                // Box filter kernels must have an odd size
-                kernelSize = 2 * radius.intValue() + 1;
-                blur(input, output, new Size(kernelSize, kernelSize));
-                break;
+            case MEDIAN:
+                // Box and median filter kernels must have an odd size
+                return 2 * radius.intValue() + 1;
 
             case GAUSSIAN:
                 // A Gaussian blur radius is a standard deviation, so a kernel that extends three radii in either direction
                 // from the center should account for 99.7% of the theoretical influence on each pixel.
-                kernelSize = 6 * radius.intValue() + 1;
-                GaussianBlur(input, output, new Size(kernelSize, kernelSize), radius.doubleValue());
+                return 6 * radius.intValue() + 1;
+
+            case BILATERAL_FILTER:
+                // With a diameter of -1, OpenCV uses a neighbourhood that extends 1.5 sigmas from each pixel
+                return 2 * ((int) Math.ceil(1.5 * radius.doubleValue()) + 1) + 1;
+
+            default:
+                throw new IllegalArgumentException("Illegal blur type: " + type);
+        }
+    }
+
+    private static void filter(Type type, Number radius, Size kernel, Mat src, Mat dst) {
+        switch (type) {
+            case BOX:
+                blur(src, dst, kernel);
+                break;
+
+            case GAUSSIAN:
+                GaussianBlur(src, dst, kernel, radius.doubleValue());
                 break;
 
             case MEDIAN:
-                kernelSize = 2 * radius.intValue() + 1;
-                medianBlur(input, output, kernelSize);
+                medianBlur(src, dst, kernel.width());
                 break;
 
             case BILATERAL_FILTER:
-                bilateralFilter(input, output, -1, radius.doubleValue(), radius.doubleValue());
+                bilateralFilter(src, dst, -1, radius.doubleValue(), radius.doubleValue());
                 break;
 
             default:
                 throw new IllegalArgumentException("Illegal blur type: " + type);
         }
-
-        outputSocket.setValue(output);
     }
 }
@@ -0,0 +1,204 @@
+package edu.wpi.grip.core.operations.composite;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+
+/**
+ * A lookup table with one bit for every possible 24-bit BGR color, saying whether or not that color passes a threshold.
+ * <p>
+ * Thresholding with OpenCV means converting every pixel of every frame to another color space and then comparing it
+ * against bounds, using a couple of frame-sized scratch {@link Mat}s along the way.  Since the ranges only change when
+ * someone moves a slider, it's much cheaper to work out the answer for all 2<sup>24</sup> colors once (a 2MB table) and
+ * then threshold each frame with a single lookup per pixel.
+ * <p>
+ * The table is built with the same OpenCV conversions that would otherwise be done on each frame, so the result is
+ * exactly the same as {@code cvtColor} followed by {@code inRange}.
+ */
+final class ColorThresholdTable {
+
+    /**
+     * The color spaces that the threshold ranges can be in
+     */
+    enum ColorSpace {
+        RGB(-1), HSV(COLOR_BGR2HSV), HLS(COLOR_BGR2HLS);
+
+        final int conversion;
+
+        ColorSpace(int conversion) {
+            this.conversion = conversion;
+        }
+    }
+
+    /**
+     * Bit {@code (b << 16) | (g << 8) | r} is set if that color passes the threshold.  Since every color with the same
+     * blue and green values is in the same four longs, the table can be built one blue value at a time.
+     */
+    private final long[] bits = new long[1 << 18];
+
+    private ColorSpace colorSpace;
+    private final int[] low = new int[3], high = new int[3];
+
+    /**
+     * Space to copy a row of pixels in and out of native memory.  There's one per thread, since bands of the same image
+     * can be thresholded in parallel.
+     */
+    private static final ThreadLocal<byte[]> rowBuffer = ThreadLocal.withInitial(() -> new byte[0]);
+
+    /**
+     * Set the ranges of the threshold, rebuilding the table if they changed since the last call.
+     *
+     * @param low  The lowest value of each channel, in the order of the channels after converting to the color space.
+     *             For {@link ColorSpace#RGB}, this is BGR order, since that's what OpenCV uses.
+     * @param high The highest value of each channel, in the same order
+     */
+    void update(ColorSpace colorSpace, Scalar low, Scalar high) {
+        // This runs on every frame, so the bounds are compared in place rather than copied into new arrays
+        boolean changed = colorSpace != this.colorSpace;
+        for (int i = 0; i < 3; i++) {
+            // The bounds are rounded and clamped the same way OpenCV does when it stores a Scalar in an 8-bit Mat
+            final int newLow = saturate(low.get(i)), newHigh = saturate(high.get(i));
+            if (newLow != this.low[i] || newHigh != this.high[i]) {
+                this.low[i] = newLow;
+                this.high[i] = newHigh;
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            return;
+        }
+
+        this.colorSpace = colorSpace;
+
+        if (colorSpace == ColorSpace.RGB) {
+            buildSeparable();
+        } else {
+            buildWithConversion();
+        }
+    }
+
+    private static int saturate(double value) {
+        return (int) Math.max(0, Math.min(255, Math.rint(value)));
+    }
+
+    private boolean inChannelRange(int channel, int value) {
+        return value >= low[channel] && value <= high[channel];
+    }
+
+    /**
+     * Build the table for a threshold directly on BGR values.  Each channel can be checked independently, so every
+     * (blue, green) pair either copies the same four longs for the red range or is all zero.
+     */
+    private void buildSeparable() {
+        final long[] red = new long[4];
+        for (int r = 0; r < 256; r++) {
+            if (inChannelRange(2, r)) {
+                red[r >>> 6] |= 1L << r;
+            }
+        }
+
+        for (int b = 0; b < 256; b++) {
+            for (int g = 0; g < 256; g++) {
+                final boolean pass = inChannelRange(0, b) && inChannelRange(1, g);
+                final int index = ((b << 8) | g) << 2;
+                for (int i = 0; i < 4; i++) {
+                    bits[index + i] = pass ? red[i] : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the table by converting every color to the color space with OpenCV, one blue value (65536 colors) at a time
+     */
+    private void buildWithConversion() {
+        final Mat colors = new Mat(256, 256, CV_8UC3);
+        final Mat converted = new Mat(), mask = new Mat();
+        final Mat lowMat = new Mat(256, 256, CV_8UC3, new Scalar(low[0], low[1], low[2], 0));
+        final Mat highMat = new Mat(256, 256, CV_8UC3, new Scalar(high[0], high[1], high[2], 0));
+
+        final byte[] chunk = new byte[256 * 256 * 3];
+        final byte[] maskBytes = new byte[256 * 256];
+        for (int g = 0; g < 256; g++) {
+            for (int r = 0; r < 256; r++) {
+                chunk[3 * ((g << 8) | r) + 1] = (byte) g;
+                chunk[3 * ((g << 8) | r) + 2] = (byte) r;
+            }
+        }
+
+        try {
+            for (int b = 0; b < 256; b++) {
+                for (int i = 0; i < chunk.length; i += 3) {
+                    chunk[i] = (byte) b;
+                }
+                colors.<ByteBuffer>createBuffer().put(chunk);
+
+                cvtColor(colors, converted, colorSpace.conversion);
+                inRange(converted, lowMat, highMat, mask);
+                mask.<ByteBuffer>createBuffer().get(maskBytes);
+
+                final int offset = b << 10;
+                Arrays.fill(bits, offset, offset + 1024, 0);
+                for (int i = 0; i < maskBytes.length; i++) {
+                    if (maskBytes[i] != 0) {
+                        bits[offset + (i >>> 6)] |= 1L << i;
+                    }
+                }
+            }
+        } finally {
+            colors.release();
+            converted.release();
+            mask.release();
+            lowMat.release();
+            highMat.release();
+        }
+    }
+
+    /**
+     * Threshold an image using the table.  This works on submatrices, so it can be used on a region of interest or a
+     * band of a larger image, and several threads can use the same table at once.
+     *
+     * @param input  A {@code CV_8UC3} BGR image
+     * @param output A Mat to store the {@code CV_8UC1} mask in.  This is reallocated if it's the wrong size or type.
+     */
+    void apply(Mat input, Mat output) {
+        checkArgument(input.type() == CV_8UC3, "Threshold input must be an 8-bit 3-channel image");
+        checkArgument(colorSpace != null, "The threshold ranges have not been set");
+
+        final int rows = input.rows(), cols = input.cols();
+        output.create(rows, cols, CV_8UC1);
+        if (rows == 0 || cols == 0) {
+            return;
+        }
+
+        // The first 3 * cols bytes are the input row, and the rest are the output row
+        byte[] row = rowBuffer.get();
+        if (row.length < 4 * cols) {
+            row = new byte[4 * cols];
+            rowBuffer.set(row);
+        }
+
+        final ByteBuffer in = input.createBuffer(), out = output.createBuffer();
+        final int inStep = (int) input.step(), outStep = (int) output.step();
+        final int outOffset = 3 * cols;
+        final long[] bits = this.bits;
+
+        // Rows are copied in and out in bulk, since going through the buffer for every byte is much slower
+        for (int y = 0; y < rows; y++) {
+            in.position(y * inStep);
+            in.get(row, 0, 3 * cols);
+
+            for (int x = 0, i = 0; x < cols; x++, i += 3) {
+                final int color = ((row[i] & 0xff) << 16) | ((row[i + 1] & 0xff) << 8) | (row[i + 2] & 0xff);
+                row[outOffset + x] = (byte) -((bits[color >>> 6] >>> color) & 1);
+            }
+
+            out.position(y * outStep);
+            out.put(row, outOffset, cols);
+        }
+    }
+}
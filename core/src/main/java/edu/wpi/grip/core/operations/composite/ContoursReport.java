@@ -11,24 +11,28 @@ import static org.bytedeco.javacpp.opencv_imgproc.*;
 
 /**
  * The output of {@link FindContoursOperation}.  This stores a list of contours (which is basically a list of points) in
- * OpenCV objects, as well as the width and height of the image that the contours are from, to give context to the
+ * a {@link PackedContours}, as well as the width and height of the image that the contours are from, to give context to the
  * points.
  */
 @NoSocketTypeLabel
 public final class ContoursReport implements NTPublishable {
     private final int rows, cols;
-    private final MatVector contours;
-    private Optional<Rect[]> boundingBoxes = Optional.empty();
+    private final PackedContours contours;
+    private Optional<MatVector> contoursVector = Optional.empty();
 
     /**
      * Construct an empty report.  This is used as a default value for {@link edu.wpi.grip.core.Socket}s containing
      * ContoursReports.
      */
     public ContoursReport() {
-        this(new MatVector(), 0, 0);
+        this(PackedContours.empty(), 0, 0);
     }
 
     public ContoursReport(MatVector contours, int rows, int cols) {
+        this(PackedContours.fromMatVector(contours), rows, cols);
+    }
+
+    public ContoursReport(PackedContours contours, int rows, int cols) {
         this.contours = contours;
         this.rows = rows;
         this.cols = cols;
@@ -42,83 +46,96 @@ public final class ContoursReport implements NTPublishable {
         return this.cols;
     }
 
-    public MatVector getContours() {
+    /**
+     * @return The contours in this report.  This is the cheapest way to read the points in each contour.
+     */
+    public PackedContours getPackedContours() {
         return this.contours;
     }
 
     /**
-     * Compute the bounding boxes of all contours (if they haven't already been computed).  Bounding boxes are used
-     * to compute several different properties, so it's probably not a good idea to compute them over and over again.
+     * @return The contours in this report as an OpenCV {@link MatVector}.  The Mats in the vector share memory with
+     * {@link #getPackedContours()}, so they should not be modified.
      */
-    private synchronized Rect[] computeBoundingBoxes() {
-        if (!boundingBoxes.isPresent()) {
-            Rect[] bb = new Rect[(int) contours.size()];
-            for (int i = 0; i < contours.size(); i++) {
-                bb[i] = boundingRect(contours.get(i));
-            }
-
-            boundingBoxes = Optional.of(bb);
+    public synchronized MatVector getContours() {
+        if (!contoursVector.isPresent()) {
+            contoursVector = Optional.of(contours.toMatVector());
+        }
+
+        return contoursVector.get();
+    }
+
+    /**
+     * @return The smallest rectangle that contains every contour, or {@link Optional#empty()} if there are no contours
+     */
+    public Optional<Rect> getBoundingBox() {
+        if (contours.size() == 0) {
+            return Optional.empty();
+        }
+
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+        for (int i = 0; i < contours.size(); i++) {
+            left = Math.min(left, contours.getBoundingX(i));
+            top = Math.min(top, contours.getBoundingY(i));
+            right = Math.max(right, contours.getBoundingX(i) + contours.getBoundingWidth(i));
+            bottom = Math.max(bottom, contours.getBoundingY(i) + contours.getBoundingHeight(i));
         }
 
-        return boundingBoxes.get();
+        return Optional.of(new Rect(left, top, right - left, bottom - top));
     }
 
     @NTValue(key = "area", weight = 0)
     public double[] getArea() {
-        final double[] areas = new double[(int) contours.size()];
+        final double[] areas = new double[contours.size()];
         for (int i = 0; i < contours.size(); i++) {
-            areas[i] = contourArea(contours.get(i));
+            areas[i] = contours.area(i);
         }
         return areas;
     }
 
     @NTValue(key = "centerX", weight = 1)
     public double[] getCenterX() {
-        final double[] centers = new double[(int) contours.size()];
-        final Rect[] boundingBoxes = computeBoundingBoxes();
+        final double[] centers = new double[contours.size()];
         for (int i = 0; i < contours.size(); i++) {
-            centers[i] = boundingBoxes[i].x() + boundingBoxes[i].width() / 2;
+            centers[i] = contours.getBoundingX(i) + contours.getBoundingWidth(i) / 2;
         }
         return centers;
     }
 
     @NTValue(key = "centerY", weight = 2)
     public double[] getCenterY() {
-        final double[] centers = new double[(int) contours.size()];
-        final Rect[] boundingBoxes = computeBoundingBoxes();
+        final double[] centers = new double[contours.size()];
         for (int i = 0; i < contours.size(); i++) {
-            centers[i] = boundingBoxes[i].y() + boundingBoxes[i].height() / 2;
+            centers[i] = contours.getBoundingY(i) + contours.getBoundingHeight(i) / 2;
         }
         return centers;
     }
 
     @NTValue(key = "width", weight = 3)
-    public synchronized double[] getWidth() {
-        final double[] widths = new double[(int) contours.size()];
-        final Rect[] boundingBoxes = computeBoundingBoxes();
+    public double[] getWidth() {
+        final double[] widths = new double[contours.size()];
         for (int i = 0; i < contours.size(); i++) {
-            widths[i] = boundingBoxes[i].width();
+            widths[i] = contours.getBoundingWidth(i);
         }
         return widths;
     }
 
     @NTValue(key = "height", weight = 4)
-    public synchronized double[] getHeights() {
-        final double[] heights = new double[(int) contours.size()];
-        final Rect[] boundingBoxes = computeBoundingBoxes();
+    public double[] getHeights() {
+        final double[] heights = new double[contours.size()];
         for (int i = 0; i < contours.size(); i++) {
-            heights[i] = boundingBoxes[i].height();
+            heights[i] = contours.getBoundingHeight(i);
         }
         return heights;
     }
 
     @NTValue(key = "solidity", weight = 5)
     public synchronized double[] getSolidity() {
-        final double[] solidities = new double[(int) contours.size()];
+        final double[] solidities = new double[contours.size()];
         Mat hull = new Mat();
         for (int i = 0; i < contours.size(); i++) {
-            convexHull(contours.get(i), hull);
-            solidities[i] = contourArea(contours.get(i)) / contourArea(hull);
+            convexHull(contours.view(i), hull);
+            solidities[i] = contours.area(i) / contourArea(hull);
         }
         return solidities;
     }
@@ -9,7 +9,7 @@ import edu.wpi.grip.core.SocketHint;
 import java.io.InputStream;
 import java.util.Optional;
 
-import static org.bytedeco.javacpp.opencv_core.MatVector;
+import static org.bytedeco.javacpp.opencv_core.Mat;
 import static org.bytedeco.javacpp.opencv_imgproc.convexHull;
 
 /**
@@ -51,15 +51,17 @@ public class ConvexHullsOperation implements Operation {
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
         final InputSocket<ContoursReport> inputSocket = (InputSocket<ContoursReport>) inputs[0];
 
-        final MatVector inputContours = inputSocket.getValue().get().getContours();
-        final MatVector outputContours = new MatVector(inputContours.size());
+        final PackedContours inputContours = inputSocket.getValue().get().getPackedContours();
+        final PackedContours.Builder outputContours = new PackedContours.Builder();
+        final Mat hull = new Mat();
 
         for (int i = 0; i < inputContours.size(); i++) {
-            convexHull(inputContours.get(i), outputContours.get(i));
+            convexHull(inputContours.view(i), hull);
+            outputContours.add(hull);
         }
 
         final OutputSocket<ContoursReport> outputSocket = (OutputSocket<ContoursReport>) outputs[0];
-        outputSocket.setValue(new ContoursReport(outputContours,
+        outputSocket.setValue(new ContoursReport(outputContours.build(),
                 inputSocket.getValue().get().getRows(), inputSocket.getValue().get().getCols()));
     }
 }
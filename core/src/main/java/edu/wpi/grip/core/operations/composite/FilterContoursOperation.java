@@ -21,6 +21,11 @@ import static org.bytedeco.javacpp.opencv_imgproc.*;
  */
 public class FilterContoursOperation implements Operation {
 
+    /**
+     * Below this many contours, the overhead of splitting the work across threads isn't worth it
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
     private final SocketHint<ContoursReport> contoursHint = new SocketHint.Builder<>(ContoursReport.class)
             .identifier("Contours").initialValueSupplier(ContoursReport::new).build();
 
@@ -92,35 +97,65 @@ public class FilterContoursOperation implements Operation {
         final double minSolidity = ((List<Number>) inputs[7].getValue().get()).get(0).doubleValue();
         final double maxSolidity = ((List<Number>) inputs[7].getValue().get()).get(1).doubleValue();
 
-        final MatVector inputContours = inputSocket.getValue().get().getContours();
-        final MatVector outputContours = new MatVector(inputContours.size());
-        final Mat hull = new Mat();
-
-        // Add contours from the input vector to the output vector only if they pass all of the criteria (minimum
-        // area, minimum perimeter, width, and height, etc...)
-        int filteredContourCount = 0;
-        for (int i = 0; i < inputContours.size(); i++) {
-            final Mat contour = inputContours.get(i);
-
-            final Rect bb = boundingRect(contour);
-            if (bb.width() < minWidth || bb.width() > maxWidth) continue;
-            if (bb.height() < minHeight || bb.height() > maxHeight) continue;
-
-            final double area = contourArea(contour);
-            if (area < minArea) continue;
-            if (arcLength(contour, true) < minPerimeter) continue;
-
-            convexHull(contour, hull);
-            final double solidity = 100 * area / contourArea(hull);
-            if (solidity < minSolidity || solidity > maxSolidity) continue;
+        final PackedContours inputContours = inputSocket.getValue().get().getPackedContours();
+
+        // Solidity is always between 0 and 100, so the convex hull (by far the most expensive property to compute)
+        // only needs to be found if the user actually narrowed the range.  Likewise, the area and perimeter don't need
+        // to be computed if nothing could fail the check.
+        final boolean checkSolidity = minSolidity > 0 || maxSolidity < 100;
+        final boolean checkArea = minArea > 0 || checkSolidity;
+        final boolean checkPerimeter = minPerimeter > 0;
+
+        // Evaluate the criteria from cheapest to most expensive, so most contours are rejected before the expensive
+        // checks are reached.  If there are a lot of contours (which happens with noisy thresholds), the work is split
+        // into bands on the row band executor, so it stays within the project's thread budget.
+        final boolean[] passed = new boolean[inputContours.size()];
+        final RowBandExecutor.Band filter = (start, end) -> {
+            // Scratch space for convexHull.  Each band gets its own, and it's released as soon as the band is done so
+            // no native memory is left behind on the executor's threads.
+            final Mat hull = checkSolidity ? new Mat() : null;
+            try {
+                for (int i = start; i < end; i++) {
+                    final int width = inputContours.getBoundingWidth(i);
+                    if (width < minWidth || width > maxWidth) continue;
+                    final int height = inputContours.getBoundingHeight(i);
+                    if (height < minHeight || height > maxHeight) continue;
+
+                    final double area = checkArea ? inputContours.area(i) : 0;
+                    if (area < minArea) continue;
+                    if (checkPerimeter && inputContours.perimeter(i) < minPerimeter) continue;
+
+                    if (checkSolidity) {
+                        convexHull(inputContours.view(i), hull);
+                        final double solidity = 100 * area / contourArea(hull);
+                        if (solidity < minSolidity || solidity > maxSolidity) continue;
+                    }
+
+                    passed[i] = true;
+                }
+            } finally {
+                if (hull != null) {
+                    hull.release();
+                }
+            }
+        };
 
-            outputContours.put(filteredContourCount++, contour);
+        if (inputContours.size() >= PARALLEL_THRESHOLD) {
+            RowBandExecutor.forEachBand(inputContours.size(), filter);
+        } else {
+            filter.run(0, inputContours.size());
         }
 
-        outputContours.resize(filteredContourCount);
+        // Add contours from the input to the output only if they passed all of the criteria
+        final PackedContours.Builder outputContours = new PackedContours.Builder();
+        for (int i = 0; i < passed.length; i++) {
+            if (passed[i]) {
+                outputContours.add(inputContours, i);
+            }
+        }
 
         final OutputSocket<ContoursReport> outputSocket = (OutputSocket<ContoursReport>) outputs[0];
-        outputSocket.setValue(new ContoursReport(outputContours,
+        outputSocket.setValue(new ContoursReport(outputContours.build(),
                 inputSocket.getValue().get().getRows(), inputSocket.getValue().get().getCols()));
     }
 }
@@ -4,7 +4,6 @@ import com.google.common.eventbus.EventBus;
 import edu.wpi.grip.core.*;
 
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +15,60 @@ import static org.bytedeco.javacpp.opencv_features2d.SimpleBlobDetector;
  */
 public class FindBlobsOperation implements Operation {
 
+    /**
+     * Per-step state that lets the blob detector be reused across frames.  Creating a {@link SimpleBlobDetector} is
+     * fairly expensive, so a new one is only created when one of its parameters actually changes.
+     */
+    static final class DetectorCache {
+        private final KeyPointVector keyPoints = new KeyPointVector();
+        private SimpleBlobDetector detector;
+        private int minArea;
+        private float minCircularity, maxCircularity;
+        private boolean darkBlobs;
+
+        SimpleBlobDetector getDetector(int minArea, float minCircularity, float maxCircularity, boolean darkBlobs) {
+            if (detector == null
+                    || minArea != this.minArea
+                    || minCircularity != this.minCircularity
+                    || maxCircularity != this.maxCircularity
+                    || darkBlobs != this.darkBlobs) {
+                this.minArea = minArea;
+                this.minCircularity = minCircularity;
+                this.maxCircularity = maxCircularity;
+                this.darkBlobs = darkBlobs;
+
+                // The old detector is native memory that nothing else refers to
+                if (detector != null) {
+                    detector.deallocate();
+                }
+                detector = SimpleBlobDetector.create(new SimpleBlobDetector.Params()
+                        .filterByArea(true)
+                        .minArea(minArea)
+                        .maxArea(Integer.MAX_VALUE)
+
+                        .filterByColor(true)
+                        .blobColor(darkBlobs ? (byte) 0 : (byte) 255)
+
+                        .filterByCircularity(true)
+                        .minCircularity(minCircularity)
+                        .maxCircularity(maxCircularity));
+            }
+
+            return detector;
+        }
+
+        /**
+         * Free the native detector and key points once the step is removed.  The cache can't be used after this.
+         */
+        void release() {
+            if (detector != null) {
+                detector.deallocate();
+                detector = null;
+            }
+            keyPoints.deallocate();
+        }
+    }
+
     private final SocketHint<Mat> inputHint = SocketHints.Inputs.createMatSocketHint("Input", false);
     private final SocketHint<Number> minAreaHint = SocketHints.Inputs.createNumberSpinnerSocketHint("Min Area", 1);
     private final SocketHint<List> circularityHint = SocketHints.Inputs.createNumberListRangeSocketHint("Circularity", 0.0, 1.0);
@@ -56,37 +109,43 @@ public class FindBlobsOperation implements Operation {
         return new OutputSocket<?>[]{new OutputSocket<>(eventBus, blobsHint)};
     }
 
+    @Override
+    public Optional<?> createData() {
+        return Optional.of(new DetectorCache());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
         final Mat input = (Mat) inputs[0].getValue().get();
         final Number minArea = (Number) inputs[1].getValue().get();
         final List<Number> circularity = (List<Number>) inputs[2].getValue().get();
         final Boolean darkBlobs = (Boolean) inputs[3].getValue().get();
 
-
-        final SimpleBlobDetector blobDetector = SimpleBlobDetector.create(new SimpleBlobDetector.Params()
-                .filterByArea(true)
-                .minArea(minArea.intValue())
-                .maxArea(Integer.MAX_VALUE)
-
-                .filterByColor(true)
-                .blobColor(darkBlobs ? (byte) 0 : (byte) 255)
-
-                .filterByCircularity(true)
-                .minCircularity(circularity.get(0).floatValue())
-                .maxCircularity(circularity.get(1).floatValue()));
+        final DetectorCache cache = (DetectorCache) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
+        final SimpleBlobDetector blobDetector = cache.getDetector(minArea.intValue(),
+                circularity.get(0).floatValue(), circularity.get(1).floatValue(), darkBlobs);
 
         // Detect the blobs and store them in the output BlobsReport
-        final KeyPointVector keyPointVector = new KeyPointVector();
+        final KeyPointVector keyPointVector = cache.keyPoints;
         blobDetector.detect(input, keyPointVector);
 
-        final List<BlobsReport.Blob> blobs = new ArrayList<>();
-        for (int i = 0; i < keyPointVector.size(); i++) {
+        // Blobs found in a region of interest are offset to be in full-frame coordinates
+        final Rect roi = RegionOfInterest.locate(input);
+        final int count = (int) keyPointVector.size();
+        final double[] x = new double[count], y = new double[count], sizes = new double[count];
+        for (int i = 0; i < count; i++) {
             final KeyPoint keyPoint = keyPointVector.get(i);
-            blobs.add(new BlobsReport.Blob(keyPoint.pt().x(), keyPoint.pt().y(), keyPoint.size()));
+            x[i] = keyPoint.pt().x() + roi.x();
+            y[i] = keyPoint.pt().y() + roi.y();
+            sizes[i] = keyPoint.size();
         }
 
-        ((OutputSocket<BlobsReport>) outputs[0]).setValue(new BlobsReport(input, blobs));
+        ((OutputSocket<BlobsReport>) outputs[0]).setValue(new BlobsReport(RegionOfInterest.wholeFrame(input), x, y, sizes));
+    }
+
+    @Override
+    public void cleanUp(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
+        data.ifPresent(cache -> ((DetectorCache) cache).release());
     }
 }
@@ -73,11 +73,19 @@ public class FindContoursOperation implements Operation {
         // OpenCV has a few different things it can return from findContours, but for now we only use EXTERNAL and LIST.
         // The other ones involve hierarchies of contours, which might be useful in some situations, but probably only
         // when processing the contours manually in code (so, not in a graphical pipeline).
+        // If the input is a region of interest, offset the contours so they're still in full-frame coordinates.
+        final Rect roi = RegionOfInterest.locate(input);
+        final Size wholeSize = RegionOfInterest.wholeSize(input);
         MatVector contours = new MatVector();
         findContours(tmp, contours, externalOnly ? CV_RETR_EXTERNAL : CV_RETR_LIST,
-                CV_CHAIN_APPROX_TC89_KCOS);
+                CV_CHAIN_APPROX_TC89_KCOS, new Point(roi.x(), roi.y()));
+
+        // Copy the contours into a single packed buffer so the steps after this one don't have to deal with a separate
+        // native Mat for every contour, then free the vector right away instead of waiting for the garbage collector.
+        final PackedContours packedContours = PackedContours.fromMatVector(contours);
+        contours.deallocate();
 
         final OutputSocket<ContoursReport> contoursSocket = (OutputSocket<ContoursReport>) outputs[0];
-        contoursSocket.setValue(new ContoursReport(contours, input.rows(), input.cols()));
+        contoursSocket.setValue(new ContoursReport(packedContours, wholeSize.height(), wholeSize.width()));
     }
 }
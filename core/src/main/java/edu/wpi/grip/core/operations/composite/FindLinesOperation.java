@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
 import static org.bytedeco.javacpp.opencv_imgproc.*;
 
 /**
@@ -69,17 +70,19 @@ public class FindLinesOperation implements Operation {
             lsd.detect(tmp, lines);
         }
 
-        // Store the lines in the LinesReport object
+        // Store the lines in the LinesReport object.  If the input is a region of interest, the lines are offset to be
+        // in full-frame coordinates, and the report keeps the whole frame so they line up with it.
+        final Rect roi = RegionOfInterest.locate(input);
         List<LinesReport.Line> lineList = new ArrayList<>();
         if (!lines.empty()) {
             final FloatIndexer indexer = lines.<FloatIndexer>createIndexer();
             final float[] tmp = new float[4];
             for (int i = 0; i < lines.rows(); i++) {
                 indexer.get(i, tmp);
-                lineList.add(new LinesReport.Line(tmp[0], tmp[1], tmp[2], tmp[3]));
+                lineList.add(new LinesReport.Line(tmp[0] + roi.x(), tmp[1] + roi.y(), tmp[2] + roi.x(), tmp[3] + roi.y()));
             }
         }
 
-        linesReportSocket.setValue(new LinesReport(lsd, input, lineList));
+        linesReportSocket.setValue(new LinesReport(lsd, RegionOfInterest.wholeFrame(input), lineList));
     }
 }
@@ -13,8 +13,6 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static org.bytedeco.javacpp.opencv_core.*;
-import static org.bytedeco.javacpp.opencv_imgproc.COLOR_BGR2HLS;
-import static org.bytedeco.javacpp.opencv_imgproc.cvtColor;
 
 /**
  * An {@link edu.wpi.grip.core.Operation} that converts a color image into a binary image based on the HSL threshold ranges
@@ -45,6 +43,8 @@ public class HSLThresholdOperation extends ThresholdOperation {
                 new InputSocket<>(eventBus, hueHint),
                 new InputSocket<>(eventBus, saturationHint),
                 new InputSocket<>(eventBus, luminanceHint),
+                new InputSocket<>(eventBus, levelsHint),
+                new InputSocket<>(eventBus, parallelHint),
         };
     }
 
@@ -57,38 +57,34 @@ public class HSLThresholdOperation extends ThresholdOperation {
 
     @Override
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
-        final Mat[] dataArray = (Mat[]) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
-
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final List<Number> channel1 = ((InputSocket<List<Number>>) inputs[1]).getValue().get();
         final List<Number> channel2 = ((InputSocket<List<Number>>) inputs[2]).getValue().get();
         final List<Number> channel3 = ((InputSocket<List<Number>>) inputs[3]).getValue().get();
+        final Number levels = ((InputSocket<Number>) inputs[4]).getValue().get();
+        final boolean parallel = ((InputSocket<Boolean>) inputs[5]).getValue().get();
 
         if (input.channels() != 3) {
             throw new IllegalArgumentException("HSL Threshold needs a 3-channel input");
         }
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
-        final Mat output = outputSocket.getValue().get();
+        final Mat output = RegionOfInterest.prepareOutput(input, outputSocket.getValue().get(), CV_8UC1);
 
         // Intentionally 1, 3, 2. This maps to the HLS open cv expects
-        final Scalar lowScalar = new Scalar(
+        final Scalar lowScalar = lowScalar(data,
                 channel1.get(0).doubleValue(),
                 channel3.get(0).doubleValue(),
-                channel2.get(0).doubleValue(), 0);
+                channel2.get(0).doubleValue());
 
-        final Scalar highScalar = new Scalar(
+        final Scalar highScalar = highScalar(data,
                 channel1.get(1).doubleValue(),
                 channel3.get(1).doubleValue(),
-                channel2.get(1).doubleValue(), 0);
-
-        final Mat low = reallocateMatIfInputSizeOrWidthChanged(dataArray, 0, lowScalar, input);
-        final Mat high = reallocateMatIfInputSizeOrWidthChanged(dataArray, 1, highScalar, input);
-        final Mat hls = dataArray[2];
+                channel2.get(1).doubleValue());
 
         try {
-            cvtColor(input, hls, COLOR_BGR2HLS);
-            inRange(hls, low, high, output);
+            threshold(data, ColorThresholdTable.ColorSpace.HLS, lowScalar, highScalar, input, output,
+                    levels.intValue(), parallel);
             outputSocket.setValue(output);
         } catch (RuntimeException e) {
             logger.log(Level.WARNING, e.getMessage(), e);
@@ -13,9 +13,7 @@ import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static org.bytedeco.javacpp.opencv_core.inRange;
-import static org.bytedeco.javacpp.opencv_imgproc.COLOR_BGR2HSV;
-import static org.bytedeco.javacpp.opencv_imgproc.cvtColor;
+import static org.bytedeco.javacpp.opencv_core.CV_8UC1;
 
 /**
  * An {@link edu.wpi.grip.core.Operation} that converts a color image into a binary image based on the HSV threshold ranges for each channel
@@ -47,6 +45,8 @@ public class HSVThresholdOperation extends ThresholdOperation {
                 new InputSocket<>(eventBus, hueHint),
                 new InputSocket<>(eventBus, saturationHint),
                 new InputSocket<>(eventBus, valueHint),
+                new InputSocket<>(eventBus, levelsHint),
+                new InputSocket<>(eventBus, parallelHint),
         };
     }
 
@@ -60,36 +60,32 @@ public class HSVThresholdOperation extends ThresholdOperation {
 
     @Override
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
-        final Mat[] dataArray = (Mat[]) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
-
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final List<Number> channel1 = ((InputSocket<List<Number>>) inputs[1]).getValue().get();
         final List<Number> channel2 = ((InputSocket<List<Number>>) inputs[2]).getValue().get();
         final List<Number> channel3 = ((InputSocket<List<Number>>) inputs[3]).getValue().get();
+        final Number levels = ((InputSocket<Number>) inputs[4]).getValue().get();
+        final boolean parallel = ((InputSocket<Boolean>) inputs[5]).getValue().get();
 
         if (input.channels() != 3) {
             throw new IllegalArgumentException("HSV Threshold needs a 3-channel input");
         }
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
-        final Mat output = outputSocket.getValue().get();
+        final Mat output = RegionOfInterest.prepareOutput(input, outputSocket.getValue().get(), CV_8UC1);
 
-        final Scalar lowScalar = new Scalar(
+        final Scalar lowScalar = lowScalar(data,
                 channel1.get(0).doubleValue(),
                 channel2.get(0).doubleValue(),
-                channel3.get(0).doubleValue(), 0);
-        final Scalar highScalar = new Scalar(
+                channel3.get(0).doubleValue());
+        final Scalar highScalar = highScalar(data,
                 channel1.get(1).doubleValue(),
                 channel2.get(1).doubleValue(),
-                channel3.get(1).doubleValue(), 0);
-
-        final Mat low = reallocateMatIfInputSizeOrWidthChanged(dataArray, 0, lowScalar, input);
-        final Mat high = reallocateMatIfInputSizeOrWidthChanged(dataArray, 1, highScalar, input);
-        final Mat hsv = dataArray[2];
+                channel3.get(1).doubleValue());
 
         try {
-            cvtColor(input, hsv, COLOR_BGR2HSV);
-            inRange(hsv, low, high, output);
+            threshold(data, ColorThresholdTable.ColorSpace.HSV, lowScalar, highScalar, input, output,
+                    levels.intValue(), parallel);
             outputSocket.setValue(output);
         } catch (RuntimeException e) {
             logger.log(Level.WARNING, e.getMessage(), e);
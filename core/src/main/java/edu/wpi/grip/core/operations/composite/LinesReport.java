@@ -73,6 +73,14 @@ public class LinesReport implements NTPublishable {
         return this.input;
     }
 
+    /**
+     * @param input A copy of the image that the detection was performed on
+     * @return A report with the same results as this one, but with a different input image
+     */
+    public LinesReport withInput(Mat input) {
+        return new LinesReport(lsd, input, lines);
+    }
+
     public List<Line> getLines() {
         return this.lines;
     }
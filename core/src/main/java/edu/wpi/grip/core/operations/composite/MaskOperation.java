@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.util.Optional;
 
 import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Scalar;
 import static org.bytedeco.javacpp.opencv_core.bitwise_xor;
 
 /**
@@ -16,6 +17,7 @@ public class MaskOperation implements Operation {
 
     private final SocketHint<Mat> inputHint = SocketHints.Inputs.createMatSocketHint("Input", false);
     private final SocketHint<Mat> maskHint = SocketHints.Inputs.createMatSocketHint("Mask", false);
+    private final SocketHint<Boolean> parallelHint = SocketHints.createBooleanSocketHint("Parallel", false);
 
     private final SocketHint<Mat> outputHint = SocketHints.Outputs.createMatSocketHint("Output");
 
@@ -39,6 +41,7 @@ public class MaskOperation implements Operation {
         return new InputSocket<?>[]{
                 new InputSocket<>(eventBus, inputHint),
                 new InputSocket<>(eventBus, maskHint),
+                new InputSocket<>(eventBus, parallelHint),
         };
     }
 
@@ -54,13 +57,28 @@ public class MaskOperation implements Operation {
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final Mat mask = ((InputSocket<Mat>) inputs[1]).getValue().get();
+        final boolean parallel = ((InputSocket<Boolean>) inputs[2]).getValue().get();
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
         final Mat output = outputSocket.getValue().get();
 
-        // Clear the output to black, then copy the input to it with the mask
-        bitwise_xor(output, output, output);
-        input.copyTo(output, mask);
+        if (parallel) {
+            if (mask.rows() != input.rows() || mask.cols() != input.cols()) {
+                throw new IllegalArgumentException("The mask must be the same size as the input");
+            }
+
+            // Each band clears its own rows and copies the input into them with the same rows of the mask
+            output.create(input.rows(), input.cols(), input.type());
+            RowBandExecutor.forEachBand(input.rows(), (start, end) -> {
+                final Mat outputBand = output.rowRange(start, end);
+                outputBand.put(Scalar.all(0));
+                input.rowRange(start, end).copyTo(outputBand, mask.rowRange(start, end));
+            });
+        } else {
+            // Clear the output to black, then copy the input to it with the mask
+            bitwise_xor(output, output, output);
+            input.copyTo(output, mask);
+        }
         outputSocket.setValue(output);
     }
 }
@@ -0,0 +1,333 @@
+package edu.wpi.grip.core.operations.composite;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static org.bytedeco.javacpp.opencv_core.*;
+
+/**
+ * A list of contours stored as a single contiguous block of points.
+ * <p>
+ * A {@link MatVector} from {@code findContours} holds every contour in its own native {@link Mat}, each with its own
+ * header and deallocator, and reading any point from Java means another trip through JNI.  This class instead keeps
+ * every point of every contour back to back in one {@code CV_32SC2} {@link Mat} with one row per point, plus an index
+ * of where each contour starts.  Points can be read directly from the native buffer, and OpenCV functions that need
+ * a contour as a {@link Mat} can be given a zero-copy {@link #view(int) view} of its rows.
+ * <p>
+ * Instances are immutable once built.
+ */
+public final class PackedContours {
+
+    private static final PackedContours EMPTY = new PackedContours(new Mat(), new int[]{0});
+
+    /**
+     * The points of all of the contours, as a {@code CV_32SC2} Mat with one row per point
+     */
+    private final Mat points;
+
+    /**
+     * A view of {@link #points} that can be read without going through JNI.  Each point is two consecutive ints.
+     */
+    private final IntBuffer buffer;
+
+    /**
+     * The points of contour {@code i} are rows {@code offsets[i]} (inclusive) to {@code offsets[i + 1]} (exclusive) of
+     * {@link #points}
+     */
+    private final int[] offsets;
+
+    /**
+     * The bounding boxes of each contour, as four consecutive ints (x, y, width, height).  These are computed lazily
+     * because they're used by several different properties.
+     */
+    private volatile int[] boundingBoxes;
+
+    private PackedContours(Mat points, int[] offsets) {
+        this.points = points;
+        this.offsets = offsets;
+        this.buffer = points.empty() ? IntBuffer.allocate(0) : points.<IntBuffer>createBuffer();
+    }
+
+    /**
+     * @return An empty list of contours
+     */
+    public static PackedContours empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Copy the contours in an OpenCV {@link MatVector}, such as the one produced by {@code findContours}, into a single
+     * packed block of points.
+     *
+     * @param contours A vector of {@code CV_32SC2} contours
+     * @return A new packed copy of the contours
+     */
+    public static PackedContours fromMatVector(MatVector contours) {
+        final Builder builder = new Builder();
+        for (int i = 0; i < contours.size(); i++) {
+            builder.add(contours.get(i));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The number of contours
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The total number of points in all of the contours
+     */
+    public int totalPoints() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * @return The number of points in the given contour
+     */
+    public int length(int contour) {
+        checkElementIndex(contour, size());
+        return offsets[contour + 1] - offsets[contour];
+    }
+
+    /**
+     * @return The x coordinate of the given point in the given contour
+     */
+    public int getX(int contour, int point) {
+        return buffer.get(2 * (offsets[contour] + point));
+    }
+
+    /**
+     * @return The y coordinate of the given point in the given contour
+     */
+    public int getY(int contour, int point) {
+        return buffer.get(2 * (offsets[contour] + point) + 1);
+    }
+
+    /**
+     * Create a Mat for one contour that shares memory with this object.  This can be passed to OpenCV functions that
+     * take a single contour, like {@code convexHull} or {@code contourArea}.  The view must not be modified.
+     *
+     * @return A {@code CV_32SC2} Mat with one row for each point in the contour
+     */
+    public Mat view(int contour) {
+        checkElementIndex(contour, size());
+        return points.rowRange(offsets[contour], offsets[contour + 1]);
+    }
+
+    /**
+     * Multiply every point by the same amount, rounding to the nearest pixel.  This is used to draw the contours on a
+     * smaller image than the one they were found in.
+     *
+     * @param scale How much to multiply each coordinate by
+     * @return A new packed copy of the contours with scaled points, or this object if the scale is 1
+     */
+    public PackedContours scale(double scale) {
+        if (scale == 1.0 || points.empty()) {
+            return this;
+        }
+        final Mat scaledPoints = new Mat();
+        points.convertTo(scaledPoints, CV_32S, scale, 0);
+        return new PackedContours(scaledPoints, offsets);
+    }
+
+    /**
+     * @return An OpenCV {@link MatVector} with a zero-copy {@link #view(int) view} of each contour, for OpenCV
+     * functions like {@code drawContours} that take a whole list of contours
+     */
+    public MatVector toMatVector() {
+        final MatVector vector = new MatVector(size());
+        for (int i = 0; i < size(); i++) {
+            vector.put(i, view(i));
+        }
+        return vector;
+    }
+
+    /**
+     * Compute the bounding boxes of all contours (if they haven't already been computed).  This is equivalent to
+     * OpenCV's {@code boundingRect}, but reads the points directly instead of making a native call per contour.
+     * <p>
+     * The boxes are read from several threads at once when contours are filtered in parallel, so only the first
+     * computation takes the lock.
+     */
+    private int[] computeBoundingBoxes() {
+        final int[] computed = boundingBoxes;
+        if (computed != null) {
+            return computed;
+        }
+
+        synchronized (this) {
+            if (boundingBoxes != null) {
+                return boundingBoxes;
+            }
+
+            final int[] bb = new int[4 * size()];
+            for (int i = 0; i < size(); i++) {
+                final int start = offsets[i], end = offsets[i + 1];
+                if (start == end) continue;
+
+                int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+                int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+                for (int p = start; p < end; p++) {
+                    final int x = buffer.get(2 * p), y = buffer.get(2 * p + 1);
+                    if (x < minX) minX = x;
+                    if (x > maxX) maxX = x;
+                    if (y < minY) minY = y;
+                    if (y > maxY) maxY = y;
+                }
+
+                bb[4 * i] = minX;
+                bb[4 * i + 1] = minY;
+                bb[4 * i + 2] = maxX - minX + 1;
+                bb[4 * i + 3] = maxY - minY + 1;
+            }
+
+            boundingBoxes = bb;
+            return bb;
+        }
+    }
+
+    public int getBoundingX(int contour) {
+        checkElementIndex(contour, size());
+        return computeBoundingBoxes()[4 * contour];
+    }
+
+    public int getBoundingY(int contour) {
+        checkElementIndex(contour, size());
+        return computeBoundingBoxes()[4 * contour + 1];
+    }
+
+    public int getBoundingWidth(int contour) {
+        checkElementIndex(contour, size());
+        return computeBoundingBoxes()[4 * contour + 2];
+    }
+
+    public int getBoundingHeight(int contour) {
+        checkElementIndex(contour, size());
+        return computeBoundingBoxes()[4 * contour + 3];
+    }
+
+    /**
+     * @return The area of the given contour.  This is the same value as OpenCV's {@code contourArea}.
+     */
+    public double area(int contour) {
+        checkElementIndex(contour, size());
+        final int start = offsets[contour], end = offsets[contour + 1];
+        if (start == end) return 0;
+
+        // Shoelace formula, starting with the segment from the last point back to the first
+        double sum = 0;
+        double prevX = buffer.get(2 * (end - 1)), prevY = buffer.get(2 * (end - 1) + 1);
+        for (int p = start; p < end; p++) {
+            final double x = buffer.get(2 * p), y = buffer.get(2 * p + 1);
+            sum += prevX * y - prevY * x;
+            prevX = x;
+            prevY = y;
+        }
+
+        return Math.abs(sum * 0.5);
+    }
+
+    /**
+     * @return The perimeter of the given closed contour.  This is the same value as OpenCV's {@code arcLength} with
+     * {@code closed} set to true.
+     */
+    public double perimeter(int contour) {
+        checkElementIndex(contour, size());
+        final int start = offsets[contour], end = offsets[contour + 1];
+        if (start == end) return 0;
+
+        double perimeter = 0;
+        double prevX = buffer.get(2 * (end - 1)), prevY = buffer.get(2 * (end - 1) + 1);
+        for (int p = start; p < end; p++) {
+            final double x = buffer.get(2 * p), y = buffer.get(2 * p + 1);
+            perimeter += Math.hypot(x - prevX, y - prevY);
+            prevX = x;
+            prevY = y;
+        }
+
+        return perimeter;
+    }
+
+    /**
+     * Accumulates contours in a Java array and copies them into a single native block when {@link #build()} is called.
+     * Builders are not thread safe.
+     */
+    public static final class Builder {
+        private int[] points = new int[256];
+        private int[] offsets = new int[16];
+        private int count = 0;
+
+        /**
+         * Append a contour from another set of packed contours
+         */
+        public Builder add(PackedContours source, int contour) {
+            final int length = source.length(contour);
+            final int start = 2 * source.offsets[contour];
+            ensureCapacity(length);
+
+            final int pointCount = offsets[count];
+            for (int i = 0; i < 2 * length; i++) {
+                points[2 * pointCount + i] = source.buffer.get(start + i);
+            }
+            return finishContour(pointCount + length);
+        }
+
+        /**
+         * Append a contour stored as an OpenCV {@code CV_32SC2} Mat, such as the output of {@code convexHull}
+         */
+        public Builder add(Mat contour) {
+            checkArgument(contour.empty() || contour.type() == CV_32SC2, "Contours must be CV_32SC2 Mats");
+            final int length = contour.empty() ? 0 : contour.rows() * contour.cols();
+            ensureCapacity(length);
+
+            final int pointCount = offsets[count];
+            if (length > 0) {
+                final IntBuffer source = contour.createBuffer();
+                for (int i = 0; i < 2 * length; i++) {
+                    points[2 * pointCount + i] = source.get(i);
+                }
+            }
+            return finishContour(pointCount + length);
+        }
+
+        private void ensureCapacity(int newPoints) {
+            final int requiredInts = 2 * (offsets[count] + newPoints);
+            if (requiredInts > points.length) {
+                points = Arrays.copyOf(points, Math.max(requiredInts, 2 * points.length));
+            }
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+        }
+
+        private Builder finishContour(int endOffset) {
+            offsets[++count] = endOffset;
+            return this;
+        }
+
+        /**
+         * @return The number of contours added so far
+         */
+        public int size() {
+            return count;
+        }
+
+        public PackedContours build() {
+            final int totalPoints = offsets[count];
+            if (count == 0) {
+                return EMPTY;
+            }
+
+            final Mat mat = totalPoints == 0 ? new Mat() : new Mat(totalPoints, 1, CV_32SC2);
+            if (totalPoints > 0) {
+                mat.<IntBuffer>createBuffer().put(points, 0, 2 * totalPoints);
+            }
+            return new PackedContours(mat, Arrays.copyOf(offsets, count + 1));
+        }
+    }
+}
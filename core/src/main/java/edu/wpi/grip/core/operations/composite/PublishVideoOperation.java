@@ -5,6 +5,7 @@ import edu.wpi.grip.core.InputSocket;
 import edu.wpi.grip.core.Operation;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHints;
+import edu.wpi.grip.core.util.ThreadBudget;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.IntPointer;
 
@@ -74,6 +75,8 @@ public class PublishVideoOperation implements Operation {
                     long startTime = System.nanoTime();
 
                     while (!socket.isClosed() && !Thread.currentThread().isInterrupted()) {
+                        ThreadBudget.adjustCurrentThread();
+
                         // Wait for the main thread to put a new image. This happens whenever perform() is called with
                         // a new input.
                         synchronized (imageLock) {
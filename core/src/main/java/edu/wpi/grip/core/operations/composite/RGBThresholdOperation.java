@@ -40,6 +40,8 @@ public class RGBThresholdOperation extends ThresholdOperation {
                 new InputSocket<>(eventBus, redHint),
                 new InputSocket<>(eventBus, greenHint),
                 new InputSocket<>(eventBus, blueHint),
+                new InputSocket<>(eventBus, levelsHint),
+                new InputSocket<>(eventBus, parallelHint),
         };
     }
 
@@ -50,45 +52,36 @@ public class RGBThresholdOperation extends ThresholdOperation {
         };
     }
 
-    @Override
-    public Optional<Mat[]> createData() {
-        return Optional.of(new Mat[]{new Mat(), new Mat()});
-    }
-
     @Override
     @SuppressWarnings("unchecked")
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
-        final Mat[] dataArray = (Mat[]) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
-
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final List<Number> channel1 = ((InputSocket<List<Number>>) inputs[1]).getValue().get();
         final List<Number> channel2 = ((InputSocket<List<Number>>) inputs[2]).getValue().get();
         final List<Number> channel3 = ((InputSocket<List<Number>>) inputs[3]).getValue().get();
+        final Number levels = ((InputSocket<Number>) inputs[4]).getValue().get();
+        final boolean parallel = ((InputSocket<Boolean>) inputs[5]).getValue().get();
 
         if (input.channels() != 3) {
             throw new IllegalArgumentException("RGB Threshold needs a 3-channel input");
         }
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
-        final Mat output = outputSocket.getValue().get();
+        final Mat output = RegionOfInterest.prepareOutput(input, outputSocket.getValue().get(), CV_8UC1);
 
-
-        final Scalar lowScalar = new Scalar(
+        final Scalar lowScalar = lowScalar(data,
                 channel3.get(0).doubleValue(),
                 channel2.get(0).doubleValue(),
-                channel1.get(0).doubleValue(), 0);
+                channel1.get(0).doubleValue());
 
-        final Scalar highScalar = new Scalar(
+        final Scalar highScalar = highScalar(data,
                 channel3.get(1).doubleValue(),
                 channel2.get(1).doubleValue(),
-                channel1.get(1).doubleValue(), 0);
-
-        final Mat low = reallocateMatIfInputSizeOrWidthChanged(dataArray, 0, lowScalar, input);
-        final Mat high = reallocateMatIfInputSizeOrWidthChanged(dataArray, 1, highScalar, input);
+                channel1.get(1).doubleValue());
 
         try {
-            inRange(input, low, high, output);
-
+            threshold(data, ColorThresholdTable.ColorSpace.RGB, lowScalar, highScalar, input, output,
+                    levels.intValue(), parallel);
             outputSocket.setValue(output);
         } catch (RuntimeException e) {
             logger.log(Level.WARNING, e.getMessage(), e);
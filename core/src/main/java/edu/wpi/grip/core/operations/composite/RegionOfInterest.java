@@ -0,0 +1,108 @@
+package edu.wpi.grip.core.operations.composite;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+
+/**
+ * Helpers for working with a region of interest.
+ * <p>
+ * A region of interest isn't stored separately from the image it applies to.  Instead, it's an OpenCV submatrix: a
+ * {@link Mat} header that points at a rectangle inside of a larger frame, which is what {@link RegionOfInterestOperation}
+ * produces.  Operations that take an image can process the submatrix like any other {@link Mat} to only do work on
+ * the pixels in the region, and {@link #locate(Mat)} recovers where that region is in the full frame so that any
+ * coordinates reported from it can be translated back into full-frame coordinates.
+ */
+public final class RegionOfInterest {
+
+    private RegionOfInterest() { /* no op */ }
+
+    /**
+     * @return The bounds of the given image in the frame that it's a region of.  If the image isn't a submatrix, this
+     * is just a rectangle at (0, 0) with the size of the image.
+     */
+    public static Rect locate(Mat image) {
+        if (!image.isSubmatrix()) {
+            return new Rect(0, 0, image.cols(), image.rows());
+        }
+
+        final Size wholeSize = new Size();
+        final Point offset = new Point();
+        image.locateROI(wholeSize, offset);
+        return new Rect(offset.x(), offset.y(), image.cols(), image.rows());
+    }
+
+    /**
+     * @return The size of the full frame that the given image is a region of, or the size of the image itself if it
+     * isn't a submatrix.
+     */
+    public static Size wholeSize(Mat image) {
+        if (!image.isSubmatrix()) {
+            return image.size();
+        }
+
+        final Size wholeSize = new Size();
+        image.locateROI(wholeSize, new Point());
+        return wholeSize;
+    }
+
+    /**
+     * @return A header for the full frame that the given image is a region of.  This shares data with the image, and is
+     * useful for drawing things that have full-frame coordinates on top of it.
+     */
+    public static Mat wholeFrame(Mat image) {
+        if (!image.isSubmatrix()) {
+            return image;
+        }
+
+        final Rect roi = locate(image);
+        final Size wholeSize = wholeSize(image);
+        final Mat frame = new Mat(image);
+        frame.adjustROI(roi.y(), wholeSize.height() - roi.y() - roi.height(),
+                roi.x(), wholeSize.width() - roi.x() - roi.width());
+        return frame;
+    }
+
+    /**
+     * Get a {@link Mat} for an operation to store its result in, so that the result has the same region of interest as
+     * its input.
+     * <p>
+     * If the input is a region of a larger frame, the result is a region with the same bounds in a full-size frame of
+     * the given type, with every pixel outside of the region set to zero.  Steps after this one can then keep working
+     * on just the region, and still report coordinates in the full frame.  In the steady state where the region and
+     * type don't change, the previous output is returned as-is, so nothing is allocated.
+     *
+     * @param input  The input to the operation
+     * @param output The operation's previous output
+     * @param type   The OpenCV type of the operation's result
+     * @return The Mat that the operation should write its result into and set as its output
+     */
+    public static Mat prepareOutput(Mat input, Mat output, int type) {
+        if (!input.isSubmatrix()) {
+            // If the previous output was a region, OpenCV would happily write into it if the sizes happen to line up, but
+            // then it would still look like a region to the next steps.
+            return output.isSubmatrix() ? new Mat() : output;
+        }
+
+        final Rect roi = locate(input);
+        final Size wholeSize = wholeSize(input);
+
+        if (output.isSubmatrix() && output.type() == type) {
+            final Rect outputRoi = locate(output);
+            final Size outputWholeSize = wholeSize(output);
+            if (outputWholeSize.width() == wholeSize.width() && outputWholeSize.height() == wholeSize.height()) {
+                if (outputRoi.x() == roi.x() && outputRoi.y() == roi.y()
+                        && outputRoi.width() == roi.width() && outputRoi.height() == roi.height()) {
+                    return output;
+                }
+
+                // If only the region moved, like with a tracking window, the frame can be reused as long as the old
+                // region is cleared.  Everything else in the frame is still zero.
+                final Mat frame = wholeFrame(output);
+                output.put(Scalar.all(0));
+                return new Mat(frame, roi);
+            }
+        }
+
+        final Mat frame = new Mat(wholeSize, type, Scalar.all(0));
+        return new Mat(frame, roi);
+    }
+}
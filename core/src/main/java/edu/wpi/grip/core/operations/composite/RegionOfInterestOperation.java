@@ -0,0 +1,81 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.SocketHints;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * Restrict the steps after this one to a rectangular region of an image.  The output shares memory with the input, so
+ * this doesn't copy any pixels, and steps that support a {@link RegionOfInterest region of interest} will only do work on
+ * the pixels inside of it while still reporting coordinates in the full image.
+ * <p>
+ * A width or height of 0 means the region goes to the edge of the image, so by default the whole image is used.
+ */
+public class RegionOfInterestOperation implements Operation {
+
+    @Override
+    public String getName() {
+        return "Region of Interest";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Only process a rectangular region of an image";
+    }
+
+    @Override
+    public Optional<InputStream> getIcon() {
+        return Optional.of(getClass().getResourceAsStream("/edu/wpi/grip/ui/icons/region-of-interest.png"));
+    }
+
+    @Override
+    public InputSocket<?>[] createInputSockets(EventBus eventBus) {
+        return new InputSocket<?>[]{
+                new InputSocket<>(eventBus, SocketHints.Inputs.createMatSocketHint("Input", false)),
+                new InputSocket<>(eventBus, SocketHints.Inputs.createNumberSpinnerSocketHint("X", 0)),
+                new InputSocket<>(eventBus, SocketHints.Inputs.createNumberSpinnerSocketHint("Y", 0)),
+                new InputSocket<>(eventBus, SocketHints.Inputs.createNumberSpinnerSocketHint("Width", 0)),
+                new InputSocket<>(eventBus, SocketHints.Inputs.createNumberSpinnerSocketHint("Height", 0)),
+        };
+    }
+
+    @Override
+    public OutputSocket<?>[] createOutputSockets(EventBus eventBus) {
+        return new OutputSocket<?>[]{
+                new OutputSocket<>(eventBus, SocketHints.Outputs.createMatSocketHint("Output")),
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+        final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
+        final Number x = ((InputSocket<Number>) inputs[1]).getValue().get();
+        final Number y = ((InputSocket<Number>) inputs[2]).getValue().get();
+        final Number width = ((InputSocket<Number>) inputs[3]).getValue().get();
+        final Number height = ((InputSocket<Number>) inputs[4]).getValue().get();
+
+        // Clip the region to the bounds of the image, since OpenCV won't make a submatrix that extends past them
+        final int left = Math.max(0, Math.min(x.intValue(), input.cols()));
+        final int top = Math.max(0, Math.min(y.intValue(), input.rows()));
+        final int right = width.intValue() == 0
+                ? input.cols() : Math.max(left, Math.min(x.intValue() + width.intValue(), input.cols()));
+        final int bottom = height.intValue() == 0
+                ? input.rows() : Math.max(top, Math.min(y.intValue() + height.intValue(), input.rows()));
+
+        if (right == left || bottom == top) {
+            throw new IllegalArgumentException("The region of interest does not overlap the image");
+        }
+
+        final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
+        outputSocket.setValue(new Mat(input, new Rect(left, top, right - left, bottom - top)));
+    }
+}
@@ -74,9 +74,17 @@ public class ResizeOperation implements Operation {
         };
     }
 
+    /**
+     * The output size is kept between runs instead of being created on every frame
+     */
+    @Override
+    public Optional<Size> createData() {
+        return Optional.of(new Size());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
         final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
         final Number width = ((InputSocket<Number>) inputs[1]).getValue().get();
         final Number height = ((InputSocket<Number>) inputs[2]).getValue().get();
@@ -84,8 +92,9 @@ public class ResizeOperation implements Operation {
 
         final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
         final Mat output = outputSocket.getValue().get();
+        final Size size = (Size) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
 
-        resize(input, output, new Size(width.intValue(), height.intValue()), 0.0, 0.0, interpolation.value);
+        resize(input, output, size.width(width.intValue()).height(height.intValue()), 0.0, 0.0, interpolation.value);
 
         outputSocket.setValue(output);
     }
@@ -0,0 +1,167 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.wpi.grip.core.util.ThreadBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * Runs per-pixel and neighbourhood operations on horizontal bands of an image in parallel.
+ * <p>
+ * Every band is a view of the same input and output {@link Mat}s, so nothing is copied for operations that only look
+ * at one pixel at a time.  Operations that look at a neighbourhood of pixels, like blurs, are given a "halo" of extra
+ * rows above and below each band, and only the rows in the band itself are copied into the output, so the result is
+ * the same as running the operation on the whole image at once.
+ * <p>
+ * The bands are run on a fixed pool sized by the project's {@link ThreadBudget thread budget}, which is one thread per
+ * core by default, and the thread that calls this class runs one of the bands itself instead of waiting idly.
+ * <p>
+ * Only run work in bands that OpenCV doesn't already split across threads.  OpenCV's own threads are limited by the
+ * same budget, so an OpenCV function that's parallel on its own, like {@code cvtColor}, would use up to the square of
+ * the budget if every band ran it at once.
+ */
+public final class RowBandExecutor {
+
+    /**
+     * Bands smaller than this aren't worth the overhead of handing them to another thread
+     */
+    private static final int MIN_ROWS_PER_BAND = 32;
+
+    private static final ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setNameFormat("GRIP-Row-Band-%d").setDaemon(true).build());
+
+    /**
+     * A task that processes some range of rows
+     */
+    @FunctionalInterface
+    public interface Band {
+        /**
+         * @param startRow The first row of the band (inclusive)
+         * @param endRow   The last row of the band (exclusive)
+         */
+        void run(int startRow, int endRow);
+    }
+
+    /**
+     * An OpenCV operation that reads an input image and writes an output image of the same size
+     */
+    @FunctionalInterface
+    public interface BandOperation {
+        void apply(Mat input, Mat output);
+    }
+
+    private RowBandExecutor() { /* no op */ }
+
+    /**
+     * Grow or shrink the pool if the thread budget has changed since the last time bands were run
+     */
+    private static void resizePool(int threadCount) {
+        if (executor.getCorePoolSize() == threadCount) {
+            return;
+        }
+        synchronized (executor) {
+            if (threadCount > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threadCount);
+                executor.setCorePoolSize(threadCount);
+            } else {
+                executor.setCorePoolSize(threadCount);
+                executor.setMaximumPoolSize(threadCount);
+            }
+        }
+    }
+
+    /**
+     * Split some number of rows, or any other range of indexes, into bands and run them in parallel, returning once
+     * they've all finished.
+     * <p>
+     * If any band throws an exception, it's rethrown on the calling thread.
+     */
+    public static void forEachBand(int rows, Band band) {
+        final int threads = ThreadBudget.getThreadCount();
+        final int bandCount = Math.max(1, Math.min(threads, rows / MIN_ROWS_PER_BAND));
+        if (bandCount == 1) {
+            band.run(0, rows);
+            return;
+        }
+
+        resizePool(threads);
+        final List<Future<?>> futures = new ArrayList<>(bandCount - 1);
+        for (int i = 1; i < bandCount; i++) {
+            final int start = rows * i / bandCount, end = rows * (i + 1) / bandCount;
+            futures.add(executor.submit(() -> band.run(start, end)));
+        }
+
+        // Do the first band on this thread while the pool does the others
+        RuntimeException failure = null;
+        try {
+            band.run(0, rows / bandCount);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        // Always wait for every band, even if one failed, so nothing is still writing to the output after this returns
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Run an operation on bands of an image in parallel.
+     *
+     * @param input     The image to process
+     * @param output    The Mat to store the result in.  This is reallocated if it's not the same size as the input and the
+     *                  given type, and each band writes directly into its own rows.
+     * @param type      The OpenCV type of the result
+     * @param halo      The number of rows the operation needs to look at above and below each pixel.  This is zero for
+     *                  per-pixel operations.
+     * @param operation The operation to run on each band
+     */
+    public static void apply(Mat input, Mat output, int type, int halo, BandOperation operation) {
+        checkArgument(halo >= 0, "Halo cannot be negative");
+
+        final int rows = input.rows(), cols = input.cols();
+        output.create(rows, cols, type);
+
+        forEachBand(rows, (start, end) -> {
+            if (halo == 0) {
+                operation.apply(input.rowRange(start, end), output.rowRange(start, end));
+            } else {
+                final int haloStart = Math.max(0, start - halo), haloEnd = Math.min(rows, end + halo);
+                // The band's output, halo included, goes into scratch space that's released as soon as the band is done,
+                // so no native memory is left behind on the executor's threads
+                final Mat scratch = new Mat();
+                try {
+                    operation.apply(new Mat(input, new Rect(0, haloStart, cols, haloEnd - haloStart)), scratch);
+                    scratch.rowRange(start - haloStart, end - haloStart).copyTo(output.rowRange(start, end));
+                } finally {
+                    scratch.release();
+                }
+            }
+        });
+    }
+}
@@ -1,38 +1,185 @@
 package edu.wpi.grip.core.operations.composite;
 
 import edu.wpi.grip.core.Operation;
-import org.bytedeco.javacpp.opencv_core.Mat;
-import org.bytedeco.javacpp.opencv_core.Scalar;
+import edu.wpi.grip.core.SocketHint;
+import edu.wpi.grip.core.SocketHints;
 
 import java.io.InputStream;
 import java.util.Optional;
 
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+
 public abstract class ThresholdOperation implements Operation {
 
+    /**
+     * If candidate regions found at the coarse level add up to more than this fraction of the image, it's cheaper to
+     * just threshold the whole image once at full resolution.
+     */
+    private static final double MAX_CANDIDATE_FRACTION = 0.5;
+
+    protected final SocketHint<Number> levelsHint =
+            SocketHints.Inputs.createNumberSpinnerSocketHint("Coarse-to-Fine Levels", 0, 0, 4);
+    protected final SocketHint<Boolean> parallelHint = SocketHints.createBooleanSocketHint("Parallel", false);
+
     @Override
     public Optional<InputStream> getIcon() {
         return Optional.of(getClass().getResourceAsStream("/edu/wpi/grip/ui/icons/threshold.png"));
     }
 
+    /**
+     * The per-step state of a threshold operation
+     */
+    protected static final class State {
+        private final ColorThresholdTable table = new ColorThresholdTable();
+        private final Mat coarse = new Mat(), coarseMask = new Mat();
+        private final Scalar low = new Scalar(), high = new Scalar();
+
+        // Only used for inputs that the table can't handle
+        private final Mat converted = new Mat();
+        private Mat lowBound = new Mat(), highBound = new Mat();
+    }
+
     @Override
-    public Optional<Mat[]> createData() {
-        return Optional.of(new Mat[]{new Mat(), new Mat(), new Mat()});
+    public Optional<State> createData() {
+        return Optional.of(new State());
+    }
+
+    private static State state(Optional<?> data) {
+        return (State) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
     }
 
     /**
-     * @param dataArray The array with the element that should be re-allocated
-     * @param index     The index of the data array that should be inspected
-     * @param value     The value that should be assigned to the mat regardless of being reallocated
-     * @param input     The input matrix that the dataArray element should be compared against
-     * @return Either the old mat with the value assigned or a newly created Matrix.
+     * @return The step's scalar for the lowest value of each channel, set to the given values.  The same scalar is
+     * reused on every frame instead of allocating a new one.
      */
-    protected Mat reallocateMatIfInputSizeOrWidthChanged(final Mat[] dataArray, final int index, final Scalar value, final Mat input) {
-        if (dataArray[index].size().width() != input.size().width()
-                || dataArray[index].size().height() != input.size().height()
-                || dataArray[index].type() != input.type()) {
-            return dataArray[index] = new Mat(input.size(), input.type(), value);
+    protected static Scalar lowScalar(Optional<?> data, double value0, double value1, double value2) {
+        return set(state(data).low, value0, value1, value2);
+    }
+
+    /**
+     * @return The step's scalar for the highest value of each channel, set to the given values
+     * @see #lowScalar(Optional, double, double, double)
+     */
+    protected static Scalar highScalar(Optional<?> data, double value0, double value1, double value2) {
+        return set(state(data).high, value0, value1, value2);
+    }
+
+    private static Scalar set(Scalar scalar, double value0, double value1, double value2) {
+        scalar.put(0, value0);
+        scalar.put(1, value1);
+        scalar.put(2, value2);
+        scalar.put(3, 0);
+        return scalar;
+    }
+
+    /**
+     * Threshold an image, optionally searching a downscaled copy of it first.
+     * <p>
+     * With zero levels, this just thresholds the whole input.  Otherwise, the input is shrunk by a factor of two for
+     * each level and thresholded, and only the regions around pixels that passed at that coarse level are thresholded
+     * again at full resolution.  Everything else in the output is zero.  The result is exact within the candidate
+     * regions, but targets that are too small to survive being downscaled may be missed.
+     * <p>
+     * The lookup table only handles 8-bit images.  Images with any other depth, like the 16-bit and floating point
+     * images that some OpenCV operations make, are converted and thresholded with OpenCV instead, without the coarse
+     * search or parallel bands.
+     *
+     * @param data       The step's data, from {@link #createData()}
+     * @param colorSpace The color space that the ranges are in
+     * @param low        The lowest value of each channel, in the order OpenCV uses for the color space
+     * @param high       The highest value of each channel, in the same order
+     * @param levels     The number of times to halve the size of the input for the coarse search
+     * @param parallel   If the full resolution image should be thresholded in parallel bands
+     */
+    protected void threshold(Optional<?> data, ColorThresholdTable.ColorSpace colorSpace, Scalar low, Scalar high,
+                             Mat input, Mat output, int levels, boolean parallel) {
+        final State state = state(data);
+        if (input.type() != CV_8UC3) {
+            thresholdWithOpenCV(state, colorSpace, low, high, input, output);
+            return;
+        }
+
+        final ColorThresholdTable table = state.table;
+
+        // This only does any work if the ranges changed since the last frame
+        table.update(colorSpace, low, high);
+
+        if (levels <= 0) {
+            applyTable(table, input, output, parallel);
+            return;
+        }
+
+        final int coarseCols = Math.max(1, input.cols() >> levels), coarseRows = Math.max(1, input.rows() >> levels);
+        resize(input, state.coarse, new Size(coarseCols, coarseRows), 0.0, 0.0, INTER_AREA);
+        table.apply(state.coarse, state.coarseMask);
+
+        final MatVector candidates = new MatVector();
+        findContours(state.coarseMask, candidates, CV_RETR_EXTERNAL, CV_CHAIN_APPROX_SIMPLE);
+
+        // Scale each candidate back up to full resolution, padded by one coarse pixel to cover any partial pixels lost
+        // when downscaling
+        final double scaleX = (double) input.cols() / coarseCols, scaleY = (double) input.rows() / coarseRows;
+        final Rect[] regions = new Rect[(int) candidates.size()];
+        long candidateArea = 0;
+        for (int i = 0; i < regions.length; i++) {
+            final Rect box = boundingRect(candidates.get(i));
+            final int left = Math.max(0, (int) Math.floor((box.x() - 1) * scaleX));
+            final int top = Math.max(0, (int) Math.floor((box.y() - 1) * scaleY));
+            final int right = Math.min(input.cols(), (int) Math.ceil((box.x() + box.width() + 1) * scaleX));
+            final int bottom = Math.min(input.rows(), (int) Math.ceil((box.y() + box.height() + 1) * scaleY));
+            regions[i] = new Rect(left, top, right - left, bottom - top);
+            candidateArea += regions[i].area();
+        }
+        candidates.deallocate();
+
+        if (candidateArea > MAX_CANDIDATE_FRACTION * input.cols() * input.rows()) {
+            applyTable(table, input, output, parallel);
+            return;
+        }
+
+        output.create(input.rows(), input.cols(), CV_8UC1);
+        output.put(Scalar.all(0));
+        for (Rect region : regions) {
+            table.apply(new Mat(input, region), new Mat(output, region));
+        }
+    }
+
+    /**
+     * Threshold an image the way it was done before the lookup table, by converting it to the color space with
+     * {@code cvtColor} and then calling {@code inRange}
+     */
+    private static void thresholdWithOpenCV(State state, ColorThresholdTable.ColorSpace colorSpace, Scalar low,
+                                            Scalar high, Mat input, Mat output) {
+        final Mat converted;
+        if (colorSpace == ColorThresholdTable.ColorSpace.RGB) {
+            converted = input;
+        } else {
+            cvtColor(input, state.converted, colorSpace.conversion);
+            converted = state.converted;
+        }
+
+        state.lowBound = bounds(state.lowBound, low, converted);
+        state.highBound = bounds(state.highBound, high, converted);
+        inRange(converted, state.lowBound, state.highBound, output);
+    }
+
+    /**
+     * @return A Mat the same size and type as the image, filled with the value.  The old Mat is reused if it already is.
+     */
+    private static Mat bounds(Mat old, Scalar value, Mat image) {
+        if (old.rows() != image.rows() || old.cols() != image.cols() || old.type() != image.type()) {
+            old.release();
+            return new Mat(image.size(), image.type(), value);
+        }
+        return old.put(value);
+    }
+
+    private static void applyTable(ColorThresholdTable table, Mat input, Mat output, boolean parallel) {
+        if (parallel) {
+            RowBandExecutor.apply(input, output, CV_8UC1, 0, table::apply);
         } else {
-            return dataArray[index].put(value);
+            table.apply(input, output);
         }
     }
 }
@@ -0,0 +1,81 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * Remembers where a target was last found so that the next frame only has to be searched near it.
+ * <p>
+ * A tracker belongs to a {@link TrackingWindowOperation} step, which uses it to pick the region of each frame to
+ * process.  Each frame's {@link TrackingWindow} is passed forward to an {@link UpdateTrackerOperation} step that records
+ * whether the frame had a hit.  This lets the result of a later step influence the next run of an earlier step without
+ * a backwards connection in the pipeline.
+ */
+public final class Tracker {
+
+    private boolean hasHit = false;
+    private int hitX, hitY, hitWidth, hitHeight;
+    private int framesSinceFullScan = 0;
+
+    /**
+     * Record where the target was found in the most recent frame, or that it wasn't found at all.
+     *
+     * @param boundingBox The bounding box of everything that was found, in full-frame coordinates, or
+     *                    {@link Optional#empty()} if nothing was found
+     */
+    public synchronized void update(Optional<Rect> boundingBox) {
+        hasHit = boundingBox.isPresent();
+        boundingBox.ifPresent(box -> {
+            hitX = box.x();
+            hitY = box.y();
+            hitWidth = box.width();
+            hitHeight = box.height();
+        });
+    }
+
+    /**
+     * Pick the region of the next frame to search.  This is the bounding box of the last hit, grown by the padding on
+     * every side and clipped to the bounds.  The whole bounds are searched if there wasn't a hit in the last frame, or
+     * if it has been {@code fullScanInterval} frames since they were last searched, so that new targets elsewhere in the
+     * image are eventually noticed.
+     *
+     * @param bounds The part of the frame that can be searched, in full-frame coordinates.  This is the whole frame
+     *               unless the input is already a {@link RegionOfInterest region of interest}.
+     * @return The region to search, in full-frame coordinates
+     */
+    public synchronized Rect nextWindow(Rect bounds, int padding, int fullScanInterval) {
+        checkArgument(padding >= 0, "Padding cannot be negative");
+
+        if (!hasHit || framesSinceFullScan + 1 >= fullScanInterval) {
+            framesSinceFullScan = 0;
+            return bounds;
+        }
+
+        framesSinceFullScan++;
+
+        final int left = Math.max(bounds.x(), hitX - padding);
+        final int top = Math.max(bounds.y(), hitY - padding);
+        final int right = Math.min(bounds.x() + bounds.width(), hitX + hitWidth + padding);
+        final int bottom = Math.min(bounds.y() + bounds.height(), hitY + hitHeight + padding);
+
+        if (right <= left || bottom <= top) {
+            // The last hit was somehow outside of the bounds (for example, if the source changed resolution)
+            framesSinceFullScan = 0;
+            return bounds;
+        }
+
+        return new Rect(left, top, right - left, bottom - top);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("hit", hasHit ? String.format("(%d, %d) %dx%d", hitX, hitY, hitWidth, hitHeight) : "none")
+                .add("framesSinceFullScan", framesSinceFullScan)
+                .toString();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * The region of one frame that a {@link TrackingWindowOperation} step chose to search.
+ * <p>
+ * A new window is published every frame, so the {@link UpdateTrackerOperation} step that it's connected to runs
+ * every frame too.  The window can't be changed once it's published, but it remembers which {@link Tracker} it came
+ * from, so the update step can record where the target was found for the next frame.
+ */
+public final class TrackingWindow {
+
+    private final Optional<Tracker> tracker;
+    private final int x, y, width, height;
+
+    /**
+     * Create an empty window that's published before the first frame.  Hits recorded in it are ignored.
+     */
+    TrackingWindow() {
+        this.tracker = Optional.empty();
+        this.x = this.y = this.width = this.height = 0;
+    }
+
+    TrackingWindow(Tracker tracker, Rect window) {
+        this.tracker = Optional.of(checkNotNull(tracker, "Tracker was null"));
+        this.x = window.x();
+        this.y = window.y();
+        this.width = window.width();
+        this.height = window.height();
+    }
+
+    /**
+     * @return The region that was searched, in full-frame coordinates
+     */
+    public Rect getWindow() {
+        return new Rect(x, y, width, height);
+    }
+
+    /**
+     * Record where the target was found in the frame this window was searched in.
+     *
+     * @see Tracker#update(Optional)
+     */
+    public void recordHit(Optional<Rect> boundingBox) {
+        tracker.ifPresent(tracker -> tracker.update(boundingBox));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("window", String.format("(%d, %d) %dx%d", x, y, width, height))
+                .add("tracker", tracker.orElse(null))
+                .toString();
+    }
+}
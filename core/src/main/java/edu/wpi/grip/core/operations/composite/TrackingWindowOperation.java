@@ -0,0 +1,97 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * Restrict the steps after this one to a window around where the target was found in the last frame.
+ * <p>
+ * The {@link TrackingWindow} output should be connected to an {@link UpdateTrackerOperation} step after the steps that find
+ * the target.  Once there's a hit, only a padded window around it is passed on, so region-aware steps like thresholds
+ * and {@link FindContoursOperation} do proportionally less work.  The whole frame is scanned after a miss, and
+ * periodically even when the target is being tracked.
+ */
+public class TrackingWindowOperation implements Operation {
+
+    private final SocketHint<Mat> inputHint = SocketHints.Inputs.createMatSocketHint("Input", false);
+    private final SocketHint<Number> paddingHint = SocketHints.Inputs.createNumberSpinnerSocketHint("Padding", 40);
+    private final SocketHint<Number> intervalHint =
+            SocketHints.Inputs.createNumberSpinnerSocketHint("Full Scan Interval", 30);
+
+    private final SocketHint<Mat> outputHint = SocketHints.Outputs.createMatSocketHint("Output");
+    private final SocketHint<TrackingWindow> windowHint = new SocketHint.Builder<>(TrackingWindow.class)
+            .identifier("Tracking Window")
+            .initialValueSupplier(TrackingWindow::new)
+            .build();
+
+    @Override
+    public String getName() {
+        return "Tracking Window";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Only process the area of an image around where the target was last found";
+    }
+
+    @Override
+    public Optional<InputStream> getIcon() {
+        return Optional.of(getClass().getResourceAsStream("/edu/wpi/grip/ui/icons/tracking-window.png"));
+    }
+
+    @Override
+    public InputSocket<?>[] createInputSockets(EventBus eventBus) {
+        return new InputSocket<?>[]{
+                new InputSocket<>(eventBus, inputHint),
+                new InputSocket<>(eventBus, paddingHint),
+                new InputSocket<>(eventBus, intervalHint),
+        };
+    }
+
+    @Override
+    public OutputSocket<?>[] createOutputSockets(EventBus eventBus) {
+        return new OutputSocket<?>[]{
+                new OutputSocket<>(eventBus, outputHint),
+                new OutputSocket<>(eventBus, windowHint),
+        };
+    }
+
+    /**
+     * The tracker lives as long as the step, so hits recorded by the update step after this one are used to pick the
+     * window in the next frame.
+     */
+    @Override
+    public Optional<Tracker> createData() {
+        return Optional.of(new Tracker());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
+        final Mat input = ((InputSocket<Mat>) inputs[0]).getValue().get();
+        final Number padding = ((InputSocket<Number>) inputs[1]).getValue().get();
+        final Number interval = ((InputSocket<Number>) inputs[2]).getValue().get();
+
+        final Tracker tracker = (Tracker) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
+
+        final Rect bounds = RegionOfInterest.locate(input);
+        final Rect window = tracker.nextWindow(bounds, Math.max(0, padding.intValue()), interval.intValue());
+
+        final OutputSocket<Mat> outputSocket = (OutputSocket<Mat>) outputs[0];
+        if (window.width() == bounds.width() && window.height() == bounds.height()) {
+            outputSocket.setValue(input);
+        } else {
+            outputSocket.setValue(new Mat(input,
+                    new Rect(window.x() - bounds.x(), window.y() - bounds.y(), window.width(), window.height())));
+        }
+
+        // A new window every frame, so the update step runs again even if it's connected to nothing else that changed
+        ((OutputSocket<TrackingWindow>) outputs[1]).setValue(new TrackingWindow(tracker, window));
+    }
+}
@@ -0,0 +1,76 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+
+/**
+ * An operation that records where a target was found in a {@link TrackingWindow}, so the {@link TrackingWindowOperation}
+ * step that published the window can search near it in the next frame.
+ *
+ * @param <R> The type of report that the target is found in, such as {@link ContoursReport} or {@link BlobsReport}
+ */
+public class UpdateTrackerOperation<R> implements Operation {
+
+    private final String targetName;
+    private final Class<R> type;
+    private final Function<R, Optional<Rect>> boundingBox;
+
+    /**
+     * @param targetName  What the report has in it, like "Contours".  This is used for the operation's name and icon.
+     * @param type        The type of report that can be connected to this step
+     * @param boundingBox A function that returns the bounding box of everything in a report, in full-frame
+     *                    coordinates, or {@link Optional#empty()} if the report is empty
+     */
+    public UpdateTrackerOperation(String targetName, Class<R> type, Function<R, Optional<Rect>> boundingBox) {
+        this.targetName = checkNotNull(targetName, "Target name was null");
+        this.type = checkNotNull(type, "Type was null");
+        this.boundingBox = checkNotNull(boundingBox, "Bounding box function was null");
+    }
+
+    @Override
+    public String getName() {
+        return "Track " + targetName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Update a tracking window with where the " + targetName.toLowerCase() + " were found";
+    }
+
+    @Override
+    public Optional<InputStream> getIcon() {
+        return Optional.of(getClass().getResourceAsStream(
+                "/edu/wpi/grip/ui/icons/track-" + targetName.toLowerCase() + ".png"));
+    }
+
+    @Override
+    public InputSocket<?>[] createInputSockets(EventBus eventBus) {
+        return new InputSocket<?>[]{
+                new InputSocket<>(eventBus, new SocketHint.Builder<>(TrackingWindow.class)
+                        .identifier("Tracking Window").initialValue(null).build()),
+                new InputSocket<>(eventBus, new SocketHint.Builder<>(type)
+                        .identifier("Found").initialValue(null).build()),
+        };
+    }
+
+    @Override
+    public OutputSocket<?>[] createOutputSockets(EventBus eventBus) {
+        return new OutputSocket<?>[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+        final TrackingWindow window = ((InputSocket<TrackingWindow>) inputs[0]).getValue().get();
+        final R report = ((InputSocket<R>) inputs[1]).getValue().get();
+
+        window.recordHit(boundingBox.apply(report));
+    }
+}
@@ -1,7 +1,9 @@
 package edu.wpi.grip.core.operations.opencv;
 
 import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.BooleanOutputSocket;
 import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.NumberOutputSocket;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHint;
 import edu.wpi.grip.core.SocketHints;
@@ -9,14 +11,18 @@ import org.bytedeco.javacpp.opencv_core.Mat;
 import org.bytedeco.javacpp.opencv_core.Size;
 
 public class MatFieldAccessor implements CVOperation {
-    private static final Mat defaultsMat = new Mat();
+    // The properties of an empty Mat.  These are written out rather than read from a new Mat so that OpenCV's native
+    // library isn't loaded just to add this operation to the palette.
+    private static final boolean DEFAULT_EMPTY = true;
+    private static final int DEFAULT_CHANNELS = 1, DEFAULT_COLS = 0, DEFAULT_ROWS = 0;
+    private static final double DEFAULT_HIGH_VALUE = 255.0;
     private final SocketHint matHint = SocketHints.Inputs.createMatSocketHint("Input", false);
     private final SocketHint sizeHint = SocketHints.Inputs.createSizeSocketHint("size", true);
-    private final SocketHint emptyHint = SocketHints.Outputs.createBooleanSocketHint("empty", defaultsMat.empty());
-    private final SocketHint channelsHint = SocketHints.Outputs.createNumberSocketHint("channels", defaultsMat.channels());
-    private final SocketHint colsHint = SocketHints.Outputs.createNumberSocketHint("cols", defaultsMat.rows());
-    private final SocketHint rowsHint = SocketHints.Outputs.createNumberSocketHint("rows", defaultsMat.rows());
-    private final SocketHint highValueHint = SocketHints.Outputs.createNumberSocketHint("high value", defaultsMat.highValue());
+    private final SocketHint emptyHint = SocketHints.Outputs.createBooleanSocketHint("empty", DEFAULT_EMPTY);
+    private final SocketHint channelsHint = SocketHints.Outputs.createNumberSocketHint("channels", DEFAULT_CHANNELS);
+    private final SocketHint colsHint = SocketHints.Outputs.createNumberSocketHint("cols", DEFAULT_COLS);
+    private final SocketHint rowsHint = SocketHints.Outputs.createNumberSocketHint("rows", DEFAULT_ROWS);
+    private final SocketHint highValueHint = SocketHints.Outputs.createNumberSocketHint("high value", DEFAULT_HIGH_VALUE);
 
 
     @Override
@@ -38,11 +44,11 @@ public class MatFieldAccessor implements CVOperation {
     public OutputSocket<?>[] createOutputSockets(EventBus eventBus) {
         return new OutputSocket[]{
                 new OutputSocket(eventBus, sizeHint),
-                new OutputSocket(eventBus, emptyHint),
-                new OutputSocket(eventBus, channelsHint),
-                new OutputSocket(eventBus, colsHint),
-                new OutputSocket(eventBus, rowsHint),
-                new OutputSocket(eventBus, highValueHint)
+                new BooleanOutputSocket(eventBus, emptyHint),
+                new NumberOutputSocket(eventBus, channelsHint),
+                new NumberOutputSocket(eventBus, colsHint),
+                new NumberOutputSocket(eventBus, rowsHint),
+                new NumberOutputSocket(eventBus, highValueHint)
         };
     }
 
@@ -50,17 +56,17 @@ public class MatFieldAccessor implements CVOperation {
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
         final Mat inputMat = (Mat) inputs[0].getValue().get();
         final OutputSocket<Size> sizeSocket = (OutputSocket<Size>) outputs[0];
-        final OutputSocket<Boolean> isEmptySocket = (OutputSocket<Boolean>) outputs[1];
-        final OutputSocket<Number> channelsSocket = (OutputSocket<Number>) outputs[2];
-        final OutputSocket<Number> colsSocket = (OutputSocket<Number>) outputs[3];
-        final OutputSocket<Number> rowsSocket = (OutputSocket<Number>) outputs[4];
-        final OutputSocket<Number> highValueSocket = (OutputSocket<Number>) outputs[5];
+        final BooleanOutputSocket isEmptySocket = (BooleanOutputSocket) outputs[1];
+        final NumberOutputSocket channelsSocket = (NumberOutputSocket) outputs[2];
+        final NumberOutputSocket colsSocket = (NumberOutputSocket) outputs[3];
+        final NumberOutputSocket rowsSocket = (NumberOutputSocket) outputs[4];
+        final NumberOutputSocket highValueSocket = (NumberOutputSocket) outputs[5];
 
         sizeSocket.setValue(inputMat.size());
-        isEmptySocket.setValue(inputMat.empty());
-        channelsSocket.setValue(inputMat.channels());
-        colsSocket.setValue(inputMat.cols());
-        rowsSocket.setValue(inputMat.rows());
-        highValueSocket.setValue(inputMat.highValue());
+        isEmptySocket.setBoolean(inputMat.empty());
+        channelsSocket.setInt(inputMat.channels());
+        colsSocket.setInt(inputMat.cols());
+        rowsSocket.setInt(inputMat.rows());
+        highValueSocket.setDouble(inputMat.highValue());
     }
 }
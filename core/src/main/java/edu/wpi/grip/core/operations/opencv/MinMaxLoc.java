@@ -2,6 +2,7 @@ package edu.wpi.grip.core.operations.opencv;
 
 import com.google.common.eventbus.EventBus;
 import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.NumberOutputSocket;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHint;
 import edu.wpi.grip.core.SocketHints;
@@ -9,6 +10,7 @@ import org.bytedeco.javacpp.opencv_core;
 import org.bytedeco.javacpp.opencv_core.Mat;
 import org.bytedeco.javacpp.opencv_core.Point;
 
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,27 +50,36 @@ public class MinMaxLoc implements CVOperation {
     @SuppressWarnings("unchecked")
     public OutputSocket<?>[] createOutputSockets(EventBus eventBus) {
         return new OutputSocket[] {
-                new OutputSocket(eventBus, minValOutputHint),
-                new OutputSocket(eventBus, maxValOutputHint),
+                new NumberOutputSocket(eventBus, minValOutputHint),
+                new NumberOutputSocket(eventBus, maxValOutputHint),
                 new OutputSocket(eventBus, minLocOutputHint),
                 new OutputSocket(eventBus, maxLocOutputHint),
         };
     }
 
+    /**
+     * @return The arrays that OpenCV writes the minimum and maximum values into, so they're only created once
+     */
     @Override
-    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
+    public Optional<double[][]> createData() {
+        return Optional.of(new double[2][1]);
+    }
+
+    @Override
+    public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
         final Mat src = (Mat) inputs[0].getValue().get();
         Mat mask = (Mat) inputs[1].getValue().get();
         if (mask.empty()) mask = null;
-        final double minVal[] = new double [1];
-        final double maxVal[] = new double [1];
+        final double[][] values = (double[][]) data.orElseThrow(() -> new IllegalStateException("Data was not provided"));
+        final double minVal[] = values[0];
+        final double maxVal[] = values[1];
         final Point minLoc = (Point) outputs[2].getValue().get();
         final Point maxLoc = (Point) outputs[3].getValue().get();
 
         try {
             opencv_core.minMaxLoc(src, minVal, maxVal, minLoc, maxLoc, mask);
-            ((OutputSocket<Number>) outputs[0]).setValue(minVal[0]);
-            ((OutputSocket<Number>) outputs[1]).setValue(maxVal[0]);
+            ((NumberOutputSocket) outputs[0]).setDouble(minVal[0]);
+            ((NumberOutputSocket) outputs[1]).setDouble(maxVal[0]);
             ((OutputSocket) outputs[2]).setValue(outputs[2].getValue().get());
             ((OutputSocket) outputs[3]).setValue(outputs[3].getValue().get());
         } catch (final Exception e) {
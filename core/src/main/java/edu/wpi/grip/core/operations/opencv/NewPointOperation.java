@@ -3,6 +3,7 @@ package edu.wpi.grip.core.operations.opencv;
 
 import com.google.common.eventbus.EventBus;
 import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.NumberInputSocket;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHint;
 import edu.wpi.grip.core.SocketHints;
@@ -36,7 +37,7 @@ public class NewPointOperation implements CVOperation {
 
     @Override
     public InputSocket<?>[] createInputSockets(EventBus eventBus) {
-        return new InputSocket[]{new InputSocket(eventBus, xHint), new InputSocket(eventBus, yHint)};
+        return new InputSocket[]{new NumberInputSocket(eventBus, xHint), new NumberInputSocket(eventBus, yHint)};
     }
 
     @Override
@@ -46,11 +47,13 @@ public class NewPointOperation implements CVOperation {
 
     @Override
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
-        final InputSocket<Number> xSocket = (InputSocket<Number>) inputs[0];
-        final InputSocket<Number> ySocket = (InputSocket<Number>) inputs[1];
-        final int xValue = xSocket.getValue().get().intValue();
-        final int yValue = ySocket.getValue().get().intValue();
+        final NumberInputSocket xSocket = (NumberInputSocket) inputs[0];
+        final NumberInputSocket ySocket = (NumberInputSocket) inputs[1];
+        final int xValue = xSocket.getInt();
+        final int yValue = ySocket.getInt();
         final OutputSocket<Point> outputSocket = (OutputSocket<Point>) outputs[0];
-        outputSocket.setValue(new Point(xValue, yValue));
+        final Point point = outputSocket.getValue().get();
+        point.x(xValue).y(yValue);
+        outputSocket.setValue(point);
     }
 }
@@ -3,6 +3,7 @@ package edu.wpi.grip.core.operations.opencv;
 
 import com.google.common.eventbus.EventBus;
 import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.NumberInputSocket;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHint;
 import edu.wpi.grip.core.SocketHints;
@@ -34,7 +35,7 @@ public class NewSizeOperation implements CVOperation {
 
     @Override
     public InputSocket<?>[] createInputSockets(EventBus eventBus) {
-        return new InputSocket[]{new InputSocket(eventBus, widthHint), new InputSocket(eventBus, heightHint)};
+        return new InputSocket[]{new NumberInputSocket(eventBus, widthHint), new NumberInputSocket(eventBus, heightHint)};
     }
 
     @Override
@@ -44,12 +45,14 @@ public class NewSizeOperation implements CVOperation {
 
     @Override
     public void perform(InputSocket<?>[] inputs, OutputSocket<?>[] outputs) {
-        final InputSocket<Number> widthSocket = (InputSocket<Number>) inputs[0];
-        final InputSocket<Number> heightSocket = (InputSocket<Number>) inputs[1];
-        final int widthValue = widthSocket.getValue().get().intValue();
-        final int heightValue = heightSocket.getValue().get().intValue();
+        final NumberInputSocket widthSocket = (NumberInputSocket) inputs[0];
+        final NumberInputSocket heightSocket = (NumberInputSocket) inputs[1];
+        final int widthValue = widthSocket.getInt();
+        final int heightValue = heightSocket.getInt();
         final OutputSocket<Size> outputSocket = (OutputSocket<Size>) outputs[0];
-        outputSocket.setValue(new Size(widthValue, heightValue));
+        final Size size = outputSocket.getValue().get();
+        size.width(widthValue).height(heightValue);
+        outputSocket.setValue(size);
     }
 }
 
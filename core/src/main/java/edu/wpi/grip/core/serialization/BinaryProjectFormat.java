@@ -0,0 +1,335 @@
+package edu.wpi.grip.core.serialization;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.*;
+import edu.wpi.grip.core.events.ConnectionAddedEvent;
+import edu.wpi.grip.core.events.ProjectSettingsChangedEvent;
+import edu.wpi.grip.core.events.SourceAddedEvent;
+import edu.wpi.grip.core.settings.ProjectSettings;
+
+import javax.inject.Inject;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Reads and writes projects in GRIP's compact binary format.
+ * <p>
+ * A binary project holds exactly the same things as an XML project - sources, steps, input values, previewed flags,
+ * connections, and settings - but everything is written in a fixed order with {@link DataOutput} and read back
+ * directly, without XStream's reflection or XML parsing.  This makes opening big projects much faster on slow devices
+ * like the roboRIO.  Projects are loaded the same way {@link StepConverter}, {@link SourceConverter},
+ * {@link SocketConverter}, and {@link ConnectionConverter} load them from XML, so the rest of the application can't
+ * tell which format a project came from.
+ * <p>
+ * The format starts with {@link #MAGIC} and a version number, so the format can change later and still be told apart
+ * from XML when a file is opened.  Only input values of the types that can be set from the GUI (numbers, booleans,
+ * strings, enums, and lists of numbers) can be saved.
+ */
+public class BinaryProjectFormat {
+
+    /**
+     * The extension of binary project files.  Projects saved to files with this extension use this format.
+     */
+    public static final String EXTENSION = ".gripb";
+
+    /**
+     * The first four bytes of every binary project, which are "GRIP" in ASCII
+     */
+    static final int MAGIC = 0x47524950;
+    static final int VERSION = 2;
+
+    private static final byte SOURCE_SOCKET = 0, STEP_SOCKET = 1;
+    private static final byte NULL_VALUE = 0, DOUBLE_VALUE = 1, INTEGER_VALUE = 2, BOOLEAN_VALUE = 3,
+            STRING_VALUE = 4, ENUM_VALUE = 5, NUMBER_LIST_VALUE = 6;
+
+    @Inject
+    private EventBus eventBus;
+    @Inject
+    private Pipeline pipeline;
+    @Inject
+    private Palette palette;
+    @Inject
+    private Project project;
+    @Inject
+    private Step.Factory stepFactory;
+    @Inject
+    private Source.SourceFactory sourceFactory;
+    @Inject
+    private Connection.Factory<Object> connectionFactory;
+
+    /**
+     * @param in A stream at the start of a project.  {@link InputStream#mark(int)} must be supported, since the stream
+     *           is reset afterwards.
+     * @return true if the stream contains a binary project, or false if it's probably XML
+     */
+    public static boolean isBinary(InputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        try {
+            final DataInputStream data = new DataInputStream(in);
+            return data.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Write the current pipeline in the binary format
+     */
+    public void write(OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+        // Write everything from one version of the pipeline, so the connections always refer to the steps written
+        final Pipeline.Version snapshot = pipeline.getVersion();
+        final List<Source> sources = snapshot.getSources();
+        final List<Step> steps = snapshot.getSteps();
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+
+        data.writeInt(sources.size());
+        for (Source source : sources) {
+            data.writeUTF(project.xstream.getMapper().serializedClass(source.getClass()));
+            final Properties properties = source.getProperties();
+            data.writeInt(properties.size());
+            for (String name : properties.stringPropertyNames()) {
+                data.writeUTF(name);
+                data.writeUTF(properties.getProperty(name));
+            }
+        }
+
+        data.writeInt(steps.size());
+        for (Step step : steps) {
+            data.writeUTF(step.getOperation().getName());
+
+            // Save the value of input sockets that could possibly have been set with the GUI, just like SocketConverter
+            final InputSocket<?>[] inputs = step.getInputSockets();
+            int savedInputs = 0;
+            for (InputSocket<?> input : inputs) {
+                if (isValueSaved(input)) {
+                    savedInputs++;
+                }
+            }
+            data.writeInt(savedInputs);
+            for (int i = 0; i < inputs.length; i++) {
+                if (isValueSaved(inputs[i])) {
+                    data.writeInt(i);
+                    writeValue(data, inputs[i]);
+                }
+            }
+
+            final OutputSocket<?>[] outputs = step.getOutputSockets();
+            int previewedOutputs = 0;
+            for (OutputSocket<?> output : outputs) {
+                if (output.isPreviewed()) {
+                    previewedOutputs++;
+                }
+            }
+            data.writeInt(previewedOutputs);
+            for (int i = 0; i < outputs.length; i++) {
+                if (outputs[i].isPreviewed()) {
+                    data.writeInt(i);
+                }
+            }
+        }
+
+        final List<Connection> connections = new ArrayList<>(snapshot.getConnections());
+        data.writeInt(connections.size());
+        for (Connection<?> connection : connections) {
+            final OutputSocket<?> output = connection.getOutputSocket();
+            if (output.getStep().isPresent()) {
+                final Step step = output.getStep().get();
+                data.writeByte(STEP_SOCKET);
+                data.writeInt(steps.indexOf(step));
+                data.writeInt(Arrays.asList(step.getOutputSockets()).indexOf(output));
+            } else {
+                final Source source = output.getSource().orElseThrow(() ->
+                        new IOException("Output socket isn't in a step or source: " + output));
+                data.writeByte(SOURCE_SOCKET);
+                data.writeInt(sources.indexOf(source));
+                data.writeInt(Arrays.asList(source.getOutputSockets()).indexOf(output));
+            }
+
+            final InputSocket<?> input = connection.getInputSocket();
+            final Step step = input.getStep().orElseThrow(() ->
+                    new IOException("Input socket isn't in a step: " + input));
+            data.writeInt(steps.indexOf(step));
+            data.writeInt(Arrays.asList(step.getInputSockets()).indexOf(input));
+        }
+
+        final ProjectSettings settings = pipeline.getProjectSettings();
+        data.writeInt(settings.getTeamNumber());
+        data.writeUTF(settings.getPublishAddress());
+        data.writeUTF(settings.getDeployAddress());
+        data.writeUTF(settings.getDeployDir());
+        data.writeUTF(settings.getDeployUser());
+        data.writeUTF(settings.getDeployJavaHome());
+        data.writeUTF(settings.getDeployJvmOptions());
+        data.writeInt(settings.getThreadBudget());
+        data.writeInt(settings.getPipelineThreadPriority());
+        data.writeInt(settings.getPreviewFrameRate());
+
+        data.flush();
+    }
+
+    /**
+     * Load a binary project into the pipeline.  The pipeline should already be empty.
+     */
+    @SuppressWarnings("unchecked")
+    public void read(InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a binary GRIP project");
+        }
+        final int version = data.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary project version: " + version);
+        }
+
+        final int sourceCount = data.readInt();
+        for (int i = 0; i < sourceCount; i++) {
+            final Class<Source> sourceClass = (Class<Source>) project.xstream.getMapper().realClass(data.readUTF());
+            final Properties properties = new Properties();
+            final int propertyCount = data.readInt();
+            for (int j = 0; j < propertyCount; j++) {
+                properties.setProperty(data.readUTF(), data.readUTF());
+            }
+
+            // Sources are loaded in this thread for the same reason as in SourceConverter
+            final Source source = sourceFactory.create(sourceClass, properties);
+            eventBus.post(new SourceAddedEvent(source));
+            source.initializeSafely();
+        }
+
+        final int stepCount = data.readInt();
+        for (int i = 0; i < stepCount; i++) {
+            final String operationName = data.readUTF();
+            final Operation operation = palette.getOperationByName(operationName)
+                    .orElseThrow(() -> new IOException("Unknown operation: " + operationName));
+            final Step step = stepFactory.create(operation);
+            pipeline.addStep(step);
+
+            final InputSocket<?>[] inputs = step.getInputSockets();
+            final int savedInputs = data.readInt();
+            for (int j = 0; j < savedInputs; j++) {
+                final InputSocket<Object> input = (InputSocket<Object>) inputs[data.readInt()];
+                final Object value = readValue(data, input);
+                if (value != null) {
+                    input.setValue(value);
+                }
+            }
+
+            final OutputSocket<?>[] outputs = step.getOutputSockets();
+            final int previewedOutputs = data.readInt();
+            for (int j = 0; j < previewedOutputs; j++) {
+                outputs[data.readInt()].setPreviewed(true);
+            }
+        }
+
+        final List<Step> steps = pipeline.getSteps();
+        final List<Source> sources = pipeline.getSources();
+        final int connectionCount = data.readInt();
+        for (int i = 0; i < connectionCount; i++) {
+            final OutputSocket<Object> output;
+            final byte outputOwner = data.readByte();
+            if (outputOwner == STEP_SOCKET) {
+                output = (OutputSocket<Object>) steps.get(data.readInt()).getOutputSockets()[data.readInt()];
+            } else if (outputOwner == SOURCE_SOCKET) {
+                output = (OutputSocket<Object>) sources.get(data.readInt()).getOutputSockets()[data.readInt()];
+            } else {
+                throw new IOException("Sockets must be in either a step or a source");
+            }
+            final InputSocket<Object> input =
+                    (InputSocket<Object>) steps.get(data.readInt()).getInputSockets()[data.readInt()];
+
+            eventBus.post(new ConnectionAddedEvent(connectionFactory.create(output, input)));
+        }
+
+        final ProjectSettings settings = new ProjectSettings();
+        settings.setTeamNumber(data.readInt());
+        settings.setPublishAddress(data.readUTF());
+        settings.setDeployAddress(data.readUTF());
+        settings.setDeployDir(data.readUTF());
+        settings.setDeployUser(data.readUTF());
+        settings.setDeployJavaHome(data.readUTF());
+        settings.setDeployJvmOptions(data.readUTF());
+        settings.setThreadBudget(data.readInt());
+        settings.setPipelineThreadPriority(data.readInt());
+        if (version >= 2) {
+            settings.setPreviewFrameRate(data.readInt());
+        }
+        eventBus.post(new ProjectSettingsChangedEvent(settings));
+    }
+
+    private static boolean isValueSaved(InputSocket<?> socket) {
+        return socket.getConnections().isEmpty() && socket.getSocketHint().getView() != SocketHint.View.NONE;
+    }
+
+    private static void writeValue(DataOutput data, InputSocket<?> socket) throws IOException {
+        final Object value = socket.getValue().orElse(null);
+
+        if (value == null) {
+            data.writeByte(NULL_VALUE);
+        } else if (value instanceof Integer) {
+            data.writeByte(INTEGER_VALUE);
+            data.writeInt((Integer) value);
+        } else if (value instanceof Number) {
+            data.writeByte(DOUBLE_VALUE);
+            data.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            data.writeByte(BOOLEAN_VALUE);
+            data.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            data.writeByte(STRING_VALUE);
+            data.writeUTF((String) value);
+        } else if (value instanceof Enum) {
+            data.writeByte(ENUM_VALUE);
+            data.writeUTF(((Enum<?>) value).name());
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            data.writeByte(NUMBER_LIST_VALUE);
+            data.writeInt(list.size());
+            for (Object element : list) {
+                if (!(element instanceof Number)) {
+                    throw new IOException("Only lists of numbers can be saved in a binary project: " + socket);
+                }
+                data.writeDouble(((Number) element).doubleValue());
+            }
+        } else {
+            throw new IOException("Values of type " + value.getClass().getSimpleName()
+                    + " can't be saved in a binary project: " + socket);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readValue(DataInput data, InputSocket<?> socket) throws IOException {
+        final byte type = data.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case INTEGER_VALUE:
+                return data.readInt();
+            case DOUBLE_VALUE:
+                return data.readDouble();
+            case BOOLEAN_VALUE:
+                return data.readBoolean();
+            case STRING_VALUE:
+                return data.readUTF();
+            case ENUM_VALUE:
+                return Enum.valueOf((Class) socket.getSocketHint().getType(), data.readUTF());
+            case NUMBER_LIST_VALUE:
+                final int size = data.readInt();
+                final List<Double> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(data.readDouble());
+                }
+                return list;
+            default:
+                throw new IOException("Unknown value type " + type + " for socket " + socket);
+        }
+    }
+}
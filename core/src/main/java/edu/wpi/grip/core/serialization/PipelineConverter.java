@@ -0,0 +1,95 @@
+package edu.wpi.grip.core.serialization;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+import edu.wpi.grip.core.Pipeline;
+import edu.wpi.grip.core.settings.ProjectSettings;
+
+import javax.inject.Inject;
+
+/**
+ * XStream converter for the {@link Pipeline}.
+ * <p>
+ * The pipeline only keeps immutable snapshots of its sources, steps, and connections, so it can't be serialized by
+ * reflecting on its fields.  This writes the same elements that reflection used to, so projects saved by older
+ * versions of GRIP can still be opened, and the other way around.
+ * <p>
+ * Like the other converters, unmarshalling doesn't build a new pipeline.  Each source, step, and connection is added
+ * to the existing pipeline by its own converter as it's read.
+ */
+public class PipelineConverter implements Converter {
+
+    private static final String SOURCES_NODE = "sources";
+    private static final String STEPS_NODE = "steps";
+    private static final String CONNECTIONS_NODE = "connections";
+    private static final String SETTINGS_NODE = "settings";
+
+    @Inject
+    private Project project;
+    @Inject
+    private Pipeline pipeline;
+
+    @Override
+    public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context) {
+        final Pipeline pipeline = (Pipeline) source;
+        // Write everything from one version of the pipeline, so the connections always refer to the steps written
+        final Pipeline.Version version = pipeline.getVersion();
+        marshalAll(SOURCES_NODE, version.getSources(), writer, context);
+        marshalAll(STEPS_NODE, version.getSteps(), writer, context);
+        marshalAll(CONNECTIONS_NODE, version.getConnections(), writer, context);
+
+        writer.startNode(SETTINGS_NODE);
+        context.convertAnother(pipeline.getProjectSettings());
+        writer.endNode();
+    }
+
+    private void marshalAll(String name, Iterable<?> items, HierarchicalStreamWriter writer,
+                            MarshallingContext context) {
+        final Mapper mapper = project.xstream.getMapper();
+        writer.startNode(name);
+        for (Object item : items) {
+            writer.startNode(mapper.serializedClass(item.getClass()));
+            context.convertAnother(item);
+            writer.endNode();
+        }
+        writer.endNode();
+    }
+
+    @Override
+    public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
+        final Mapper mapper = project.xstream.getMapper();
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            switch (reader.getNodeName()) {
+                case SOURCES_NODE:
+                case STEPS_NODE:
+                case CONNECTIONS_NODE:
+                    // The order of these matters.  Connections refer to steps and sources by their index, so they
+                    // have to come after the steps and sources have been added to the pipeline.
+                    while (reader.hasMoreChildren()) {
+                        reader.moveDown();
+                        context.convertAnother(pipeline, mapper.realClass(reader.getNodeName()));
+                        reader.moveUp();
+                    }
+                    break;
+                case SETTINGS_NODE:
+                    context.convertAnother(pipeline, ProjectSettings.class);
+                    break;
+                default:
+                    throw new ConversionException("Unexpected element in pipeline: " + reader.getNodeName());
+            }
+            reader.moveUp();
+        }
+        return pipeline;
+    }
+
+    @Override
+    public boolean canConvert(Class type) {
+        return Pipeline.class.equals(type);
+    }
+}
@@ -1,6 +1,12 @@
 package edu.wpi.grip.core.serialization;
 
+import com.google.common.base.Throwables;
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.thoughtworks.xstream.XStream;
 import edu.wpi.grip.core.*;
 import edu.wpi.grip.core.sources.CameraSource;
@@ -10,7 +16,23 @@ import edu.wpi.grip.core.sources.MultiImageFileSource;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Helper for saving and loading a processing pipeline to and from a file
@@ -24,17 +46,27 @@ public class Project {
     private Pipeline pipeline;
     @Inject
     private Palette palette;
+    @Inject
+    private BinaryProjectFormat binaryFormat;
+
+    private static final Logger logger = Logger.getLogger(Project.class.getName());
+    private static final long SAVE_TIMEOUT_SECONDS = 30;
 
     protected final XStream xstream = new XStream();
-    private Optional<File> file = Optional.empty();
+    private final ListeningExecutorService saveExecutor = MoreExecutors.listeningDecorator(
+            Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("GRIP-Project-Saver").setDaemon(true).build()));
+    private volatile Optional<File> file = Optional.empty();
 
     @Inject
-    public void initialize(StepConverter stepConverter,
+    public void initialize(PipelineConverter pipelineConverter,
+                           StepConverter stepConverter,
                            SourceConverter sourceConverter,
                            SocketConverter socketConverter,
                            ConnectionConverter connectionConverter,
                            ProjectSettingsConverter projectSettingsConverter) {
         xstream.setMode(XStream.NO_REFERENCES);
+        xstream.registerConverter(pipelineConverter);
         xstream.registerConverter(stepConverter);
         xstream.registerConverter(sourceConverter);
         xstream.registerConverter(socketConverter);
@@ -56,27 +88,162 @@ public class Project {
     }
 
     /**
-     * Load the project from a file
+     * Load the project from a file.  The file can either be XML or in the {@link BinaryProjectFormat binary format},
+     * regardless of its extension.
      */
-    public void open(File file) throws IOException {
-        this.open(new FileReader(file));
+    public synchronized void open(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            if (BinaryProjectFormat.isBinary(in)) {
+                this.pipeline.clear();
+                this.binaryFormat.read(in);
+            } else {
+                this.open(new InputStreamReader(in));
+            }
+        }
         this.file = Optional.of(file);
     }
 
-    public void open(Reader reader) {
+    public synchronized void open(Reader reader) {
         this.pipeline.clear();
         this.xstream.fromXML(reader);
     }
 
     /**
-     * Save the project to a file
+     * Save the project to a file.  If the file has the {@link BinaryProjectFormat#EXTENSION binary extension}, the
+     * project is saved in the binary format, otherwise it's saved as XML.
+     * <p>
+     * The file is replaced all at once, so if GRIP crashes while saving, the old file is still there.
+     * <p>
+     * This waits until the file has been written, including any {@link #saveInBackground(File) background saves}
+     * started before it, so it's safe to exit as soon as it returns.
      */
     public void save(File file) throws IOException {
-        this.save(new FileWriter(file));
-        this.file = Optional.of(file);
+        try {
+            saveInBackground(file).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while saving the project to " + file);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Save the project to a file without waiting for it to be written.  The project is serialized into memory right
+     * away, so changes made while the file is being written aren't half saved, and then it's written on a background
+     * thread the same way as {@link #save(File)}.  Files are written in the order they were saved in.
+     * <p>
+     * The project only becomes associated with the file once it has been written, so a save that fails doesn't change
+     * where the next save goes.
+     *
+     * @return A future that completes once the file has been written, or fails if it couldn't be
+     */
+    public ListenableFuture<File> saveInBackground(File file) {
+        final byte[] contents;
+        try {
+            contents = serialize(file);
+        } catch (IOException | RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+        return saveExecutor.submit(() -> {
+            writeAtomically(file, contents);
+            this.file = Optional.of(file);
+            return file;
+        });
     }
 
-    public void save(Writer writer) {
+    /**
+     * Wait for every {@link #saveInBackground(File) background save} started so far to finish writing.  This should be
+     * called before exiting, so a save the user started isn't lost.  If the saves take longer than
+     * {@link #SAVE_TIMEOUT_SECONDS}, this gives up and logs it.
+     */
+    public void awaitBackgroundSaves() {
+        try {
+            // The saves are written one at a time, so once this runs, every save before it is done
+            saveExecutor.submit(() -> null).get(SAVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.log(Level.WARNING, "The project may not have finished saving", e);
+        }
+    }
+
+    public synchronized void save(Writer writer) {
         this.xstream.toXML(this.pipeline, writer);
     }
+
+    /**
+     * @return The project serialized in the format that would be used to save it to the given file
+     */
+    synchronized byte[] serialize(File file) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (file.getName().endsWith(BinaryProjectFormat.EXTENSION)) {
+            this.binaryFormat.write(out);
+        } else {
+            final Writer writer = new OutputStreamWriter(out);
+            this.save(writer);
+            writer.flush();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Write a file by writing a temporary file next to it and then moving the temporary file over it, so there's never
+     * a partly written file, even if the application crashes or the computer loses power.
+     * <p>
+     * If the file already exists, it keeps its permissions.  Otherwise, it gets the same permissions as any other new
+     * file.
+     */
+    static void writeAtomically(File file, byte[] contents) throws IOException {
+        final Path target = file.toPath().toAbsolutePath();
+        final Path temporary = createTemporaryFile(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(contents);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            if (Files.exists(target)) {
+                copyPermissions(target, temporary);
+            }
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Create an empty file with a unique name next to the target.  Unlike {@link Files#createTempFile}, which only lets
+     * the owner read it, this gives the file the default permissions for new files, so a new project can be read by
+     * anyone that would be able to read it if it were written directly.
+     */
+    private static Path createTemporaryFile(Path target) throws IOException {
+        while (true) {
+            final String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            final Path temporary = target.resolveSibling("." + target.getFileName() + "." + suffix + ".tmp");
+            try {
+                return Files.createFile(temporary);
+            } catch (FileAlreadyExistsException e) {
+                // Try again with a different name
+            }
+        }
+    }
+
+    /**
+     * Give a file the same POSIX permissions as another one.  This does nothing on file systems without them.
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (Files.getFileStore(from).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package edu.wpi.grip.core.serialization;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.wpi.grip.core.Pipeline;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Periodically saves a copy of the project in the background, so work isn't lost if GRIP crashes or the computer loses
+ * power.
+ * <p>
+ * The copy always goes to {@link #AUTOSAVE_FILE}, and it's only written if the project changed since the last copy.
+ * Like {@link Project#save(File)}, the old copy is replaced all at once, so there's always a complete copy to open.
+ * <p>
+ * The project is serialized on the thread that edits the pipeline, given by {@link #serializeOn(Executor)}, so it's
+ * never read halfway through an edit.  Only writing the file happens on the autosave thread.
+ */
+@Singleton
+public class ProjectAutosave extends AbstractScheduledService {
+
+    /**
+     * Where the latest copy of the project is saved.  It can be opened like any other project.
+     */
+    public static final File AUTOSAVE_FILE =
+            new File(new File(System.getProperty("user.home"), "GRIP"), "autosave.grip");
+
+    private static final Logger logger = Logger.getLogger(ProjectAutosave.class.getName());
+    private static final long INTERVAL_SECONDS = 60;
+
+    @Inject
+    private Project project;
+    @Inject
+    private Pipeline pipeline;
+
+    private final File file;
+    private volatile Executor editThread = MoreExecutors.directExecutor();
+    private byte[] lastContents = new byte[0];
+
+    @Inject
+    ProjectAutosave() {
+        this(AUTOSAVE_FILE);
+    }
+
+    @VisibleForTesting
+    ProjectAutosave(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @param editThread The thread the pipeline is edited on, such as the FX thread.  By default, the project is
+     *                   serialized on the autosave thread, which is only safe if nothing edits the pipeline.
+     * @return This service
+     */
+    public ProjectAutosave serializeOn(Executor editThread) {
+        this.editThread = checkNotNull(editThread);
+        return this;
+    }
+
+    @Override
+    protected void runOneIteration() throws InterruptedException {
+        if (pipeline.getSteps().isEmpty() && pipeline.getSources().isEmpty()) {
+            return;
+        }
+
+        try {
+            final ListenableFutureTask<byte[]> serialized =
+                    ListenableFutureTask.create(() -> project.serialize(file));
+            editThread.execute(serialized);
+            final byte[] contents = serialized.get();
+
+            // Only write the file if the project has changed since the last copy
+            if (!Arrays.equals(contents, lastContents)) {
+                file.getParentFile().mkdirs();
+                Project.writeAtomically(file, contents);
+                lastContents = contents;
+            }
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            // Try again next time instead of stopping
+            logger.log(Level.WARNING, "Could not autosave the project", e);
+        }
+    }
+
+    @Override
+    protected Scheduler scheduler() {
+        return Scheduler.newFixedDelaySchedule(INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected ScheduledExecutorService executor() {
+        // Autosaving shouldn't keep the JVM running once everything else has stopped
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("GRIP-Project-Autosave").setDaemon(true).build());
+        addListener(new Listener() {
+            @Override
+            public void terminated(State from) {
+                executor.shutdown();
+            }
+
+            @Override
+            public void failed(State from, Throwable failure) {
+                executor.shutdown();
+            }
+        }, MoreExecutors.directExecutor());
+        return executor;
+    }
+}
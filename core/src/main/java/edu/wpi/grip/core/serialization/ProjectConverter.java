@@ -0,0 +1,56 @@
+package edu.wpi.grip.core.serialization;
+
+import com.google.common.eventbus.EventBus;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import edu.wpi.grip.core.GRIPCoreModule;
+import edu.wpi.grip.core.operations.Operations;
+import edu.wpi.grip.core.util.SafeShutdown;
+import edu.wpi.grip.generated.CVOperations;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts projects between XML and the {@link BinaryProjectFormat binary format}.
+ * <p>
+ * The project is opened and then saved to the new file, so the format of each file is decided the same way
+ * {@link Project#open(File)} and {@link Project#save(File)} decide it.  Like any other time a project is opened, this
+ * also opens the sources in it.
+ * <p>
+ * Usage: {@code ProjectConverter input.grip output.gripb}
+ */
+public class ProjectConverter {
+
+    @Inject
+    private Project project;
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ProjectConverter input.grip output" + BinaryProjectFormat.EXTENSION);
+            return;
+        }
+
+        final Injector injector = Guice.createInjector(new GRIPCoreModule());
+        final EventBus eventBus = injector.getInstance(EventBus.class);
+        Operations.addOperations(eventBus);
+        CVOperations.addOperations(eventBus);
+
+        injector.getInstance(ProjectConverter.class).convert(new File(args[0]), new File(args[1]));
+        SafeShutdown.exit(0);
+    }
+
+    /**
+     * Open a project and save it to another file.  The operations used in the project must already be in the palette.
+     *
+     * @param from The project to open
+     * @param to   Where to save the project.  This is in the binary format if it ends with
+     *             {@link BinaryProjectFormat#EXTENSION}, and XML otherwise.
+     */
+    public void convert(File from, File to) throws IOException {
+        project.open(from);
+        project.save(to);
+    }
+}
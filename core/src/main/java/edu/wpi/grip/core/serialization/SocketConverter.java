@@ -39,7 +39,10 @@ public class SocketConverter implements Converter {
         final Socket<?> socket = (Socket<?>) obj;
 
         try {
-            writer.startNode(project.xstream.getMapper().serializedClass(socket.getClass()));
+            // Sockets are named by direction, so subclasses such as NumberInputSocket are saved the same way as the
+            // sockets they extend.
+            writer.startNode(project.xstream.getMapper().serializedClass(
+                    socket.getDirection() == Socket.Direction.INPUT ? InputSocket.class : OutputSocket.class));
 
             // Save the location of the socket in the pipeline.
             socket.getStep().ifPresent(step -> {
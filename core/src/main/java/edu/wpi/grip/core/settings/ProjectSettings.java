@@ -11,6 +11,8 @@ import static com.google.common.base.Preconditions.checkArgument;
  */
 public class ProjectSettings implements Cloneable {
 
+    private static final int DEFAULT_PREVIEW_FRAME_RATE = 30;
+
     @Setting(label = "FRC team number", description = "The team number, if used for FRC")
     private int teamNumber = 0;
 
@@ -34,6 +36,19 @@ public class ProjectSettings implements Cloneable {
     @Setting(label = "Deploy JVM options", description = "Command line options passed to the roboRIO JVM")
     private String deployJvmOptions = "-Xmx50m -XX:-OmitStackTraceInFastThrow -XX:+HeapDumpOnOutOfMemoryError";
 
+    @Setting(label = "Thread budget", description = "The most threads that GRIP and OpenCV should use to process " +
+            "images at once. If 0, one thread is used for each core. Lower this to leave cores free for the robot code.")
+    private int threadBudget = 0;
+
+    @Setting(label = "Pipeline thread priority", description = "The priority of the threads that capture, process, " +
+            "and publish images, from 1 (lowest) to 10 (highest). On Linux, including the roboRIO, this only has an " +
+            "effect if GRIP runs as root and -XX:ThreadPriorityPolicy=1 is added to the JVM options.")
+    private int pipelineThreadPriority = Thread.NORM_PRIORITY;
+
+    @Setting(label = "Preview frame rate", description = "The most times per second that previews are redrawn. " +
+            "Lower this if showing previews slows down the pipeline.")
+    private int previewFrameRate = DEFAULT_PREVIEW_FRAME_RATE;
+
     /**
      * Set the FRC team number.  If the deploy address and NetworkTables server address haven't been manually
      * overridden, this also changes them to the mDNS hostname of the team's roboRIO.
@@ -109,6 +124,34 @@ public class ProjectSettings implements Cloneable {
         if (deployJvmOptions != null) this.deployJvmOptions = deployJvmOptions;
     }
 
+    public int getThreadBudget() {
+        return threadBudget;
+    }
+
+    public void setThreadBudget(int threadBudget) {
+        checkArgument(threadBudget >= 0, "Thread budget cannot be negative");
+        this.threadBudget = threadBudget;
+    }
+
+    public int getPipelineThreadPriority() {
+        return pipelineThreadPriority;
+    }
+
+    public void setPipelineThreadPriority(int pipelineThreadPriority) {
+        checkArgument(pipelineThreadPriority >= Thread.MIN_PRIORITY && pipelineThreadPriority <= Thread.MAX_PRIORITY,
+                "Pipeline thread priority must be between %s and %s", Thread.MIN_PRIORITY, Thread.MAX_PRIORITY);
+        this.pipelineThreadPriority = pipelineThreadPriority;
+    }
+
+    public int getPreviewFrameRate() {
+        return previewFrameRate;
+    }
+
+    public void setPreviewFrameRate(int previewFrameRate) {
+        checkArgument(previewFrameRate > 0, "Preview frame rate must be positive");
+        this.previewFrameRate = previewFrameRate;
+    }
+
     private String computeFRCAddress(int teamNumber) {
         return "roborio-" + teamNumber + "-frc.local";
     }
@@ -123,9 +166,26 @@ public class ProjectSettings implements Cloneable {
                 .add("deployJvmOptions", deployJvmOptions)
                 .add("publishAddress", publishAddress)
                 .add("teamNumber", teamNumber)
+                .add("threadBudget", threadBudget)
+                .add("pipelineThreadPriority", pipelineThreadPriority)
+                .add("previewFrameRate", previewFrameRate)
                 .toString();
     }
 
+    /**
+     * XStream doesn't run field initializers, so settings that weren't in an older project file need their defaults
+     * filled in after it's loaded.
+     */
+    private Object readResolve() {
+        if (pipelineThreadPriority == 0) {
+            pipelineThreadPriority = Thread.NORM_PRIORITY;
+        }
+        if (previewFrameRate == 0) {
+            previewFrameRate = DEFAULT_PREVIEW_FRAME_RATE;
+        }
+        return this;
+    }
+
     @Override
     @SuppressWarnings("PMD.CloneThrowsCloneNotSupportedException")
     public ProjectSettings clone() {
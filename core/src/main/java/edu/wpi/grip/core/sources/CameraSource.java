@@ -17,6 +17,7 @@ import edu.wpi.grip.core.Source;
 import edu.wpi.grip.core.events.SourceHasPendingUpdateEvent;
 import edu.wpi.grip.core.events.SourceRemovedEvent;
 import edu.wpi.grip.core.util.ExceptionWitness;
+import edu.wpi.grip.core.util.ThreadBudget;
 import edu.wpi.grip.core.util.service.AutoRestartingService;
 import edu.wpi.grip.core.util.service.RestartableService;
 import org.bytedeco.javacpp.opencv_core.Mat;
@@ -222,6 +223,7 @@ public class CameraSource extends Source implements RestartableService {
                 final OpenCVFrameConverter.ToMat convertToMat = new OpenCVFrameConverter.ToMat();
                 final Stopwatch stopwatch = Stopwatch.createStarted();
                 while (super.isRunning()) {
+                    ThreadBudget.adjustCurrentThread();
                     final Frame videoFrame;
                     try {
                         videoFrame = frameGrabber.grab();
@@ -300,8 +302,11 @@ public class CameraSource extends Source implements RestartableService {
             }
             // Don't call frameOutputSocket.setValue the value is already set.
 
-            // Update the frame rate value
-            frameRateOutputSocket.setValue(frameRate);
+            // Update the frame rate value.  Only box a new number when it changes, which at a steady frame rate is rare.
+            final double frameRate = this.frameRate;
+            if (frameRateOutputSocket.getValue().get().doubleValue() != frameRate) {
+                frameRateOutputSocket.setValue(frameRate);
+            }
             // We have updated output sockets
             return true;
         } else {
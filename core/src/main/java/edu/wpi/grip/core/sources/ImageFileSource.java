@@ -8,6 +8,7 @@ import com.thoughtworks.xstream.annotations.XStreamAlias;
 import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.SocketHint;
 import edu.wpi.grip.core.SocketHints;
+import edu.wpi.grip.core.events.SocketChangedEvent;
 import edu.wpi.grip.core.Source;
 import edu.wpi.grip.core.util.ExceptionWitness;
 import edu.wpi.grip.core.util.ImageLoadingUtility;
@@ -111,7 +112,9 @@ public final class ImageFileSource extends Source {
     }
 
     /**
-     * Loads the image and posts an update to the {@link EventBus}
+     * Loads the image into the output socket's existing {@link Mat} and posts a {@link SocketChangedEvent} to the
+     * {@link EventBus}.  Setting the socket to the same Mat wouldn't post anything, but a source is added to the
+     * pipeline before it's initialized, so the pipeline has to be told that the image is there.
      *
      * @param path The location on the file system where the image exists.
      */
@@ -122,6 +125,6 @@ public final class ImageFileSource extends Source {
 
     private void loadImage(String path, final int flags) throws IOException {
         ImageLoadingUtility.loadImage(path, flags, this.outputSocket.getValue().get());
-        this.outputSocket.setValue(this.outputSocket.getValue().get());
+        this.eventBus.post(new SocketChangedEvent(this.outputSocket));
     }
 }
@@ -0,0 +1,249 @@
+package edu.wpi.grip.core.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A log {@link Handler} that hands records to other handlers on a background thread, so logging never waits for the
+ * console or the disk.
+ * <p>
+ * Logging threads put records into a fixed-size ring buffer without taking a lock, and a single writer thread takes
+ * them out in batches and passes them on, flushing the handlers once per batch instead of once per record.  If the
+ * buffer fills up because the handlers can't keep up, new records are dropped and counted rather than making the
+ * logging thread wait.
+ * <p>
+ * A record that's the same as the one before it, such as a step failing the same way on every frame, isn't written
+ * again.  Instead, the number of times it was repeated is written when a different record comes along, or every
+ * {@link #REPEAT_REPORT_INTERVAL_MILLIS few seconds} while it keeps repeating.
+ */
+public final class AsyncLogHandler extends Handler {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long REPEAT_REPORT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final ImmutableList<Handler> handlers;
+
+    private final AtomicReferenceArray<LogRecord> ring;
+    private final int mask;
+    /**
+     * The total number of records ever claimed by logging threads.  The next record goes at {@code head & mask}.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * The total number of records ever taken by the writer thread.  The next record is at {@code tail & mask}.
+     */
+    private volatile long tail = 0;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean writerParked = false;
+    private volatile boolean closed = false;
+
+    // These are only used by the writer thread
+    private LogRecord last;
+    private int repeats;
+    private long lastReportMillis;
+
+    /**
+     * @param handlers The handlers to pass records on to.  Each one's level still decides which records it writes.
+     */
+    public AsyncLogHandler(Handler... handlers) {
+        this(DEFAULT_CAPACITY, handlers);
+    }
+
+    @VisibleForTesting
+    AsyncLogHandler(int capacity, Handler... handlers) {
+        checkArgument(Integer.bitCount(capacity) == 1, "The capacity must be a power of two");
+        this.handlers = ImmutableList.copyOf(handlers);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        this.writer = new Thread(this::runWriter, "GRIP-Log-Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        // The source of the record is worked out from the stack trace the first time it's needed, so it has to be done
+        // here, on the thread that logged it, instead of on the writer thread.
+        record.getSourceClassName();
+
+        long claimed;
+        do {
+            claimed = head.get();
+            if (claimed - tail >= ring.length()) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(claimed, claimed + 1));
+        ring.set((int) (claimed & mask), record);
+
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Wake up the writer thread so anything waiting in the buffer is written soon.  This doesn't wait for it to be
+     * written.
+     */
+    @Override
+    public void flush() {
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Write everything waiting in the buffer, then close the handlers.  This is called by the {@link
+     * java.util.logging.LogManager} when the JVM shuts down.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Handler handler : handlers) {
+            handler.close();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            final boolean wasClosed = closed;
+            if (drain() == 0) {
+                // Don't wait for the next record to say how many times the last one was repeated if it's been a while
+                if (wasClosed || System.currentTimeMillis() - lastReportMillis >= REPEAT_REPORT_INTERVAL_MILLIS) {
+                    reportRepeats();
+                    flushHandlers();
+                }
+                if (wasClosed) {
+                    return;
+                }
+                writerParked = true;
+                // Check again after setting the flag, so a record published just before it was set isn't missed
+                if (ring.get((int) (tail & mask)) == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+            } else {
+                flushHandlers();
+            }
+        }
+    }
+
+    /**
+     * Pass every record in the buffer on to the handlers.
+     *
+     * @return The number of records taken out of the buffer
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private int drain() {
+        int count = 0;
+        long next = tail;
+        LogRecord record;
+        while ((record = ring.get((int) (next & mask))) != null) {
+            // Free the slot before moving the tail past it, so a logging thread that sees the room never finds it full
+            ring.lazySet((int) (next & mask), null);
+            tail = ++next;
+            count++;
+            try {
+                write(record);
+            } catch (RuntimeException e) {
+                reportError("Could not write a log record", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+
+        final long droppedRecords = dropped.getAndSet(0);
+        if (droppedRecords > 0) {
+            reportRepeats();
+            publishToHandlers(new LogRecord(Level.WARNING,
+                    droppedRecords + " log records were dropped because they were logged faster than they could be written"));
+        }
+        return count;
+    }
+
+    private void write(LogRecord record) {
+        if (last != null && isRepeat(last, record)) {
+            repeats++;
+            if (record.getMillis() - lastReportMillis >= REPEAT_REPORT_INTERVAL_MILLIS) {
+                reportRepeats();
+            }
+            return;
+        }
+
+        reportRepeats();
+        publishToHandlers(record);
+        last = record;
+        lastReportMillis = record.getMillis();
+    }
+
+    /**
+     * Write how many times the last record was repeated since it was last written or reported, if it was repeated.
+     */
+    private void reportRepeats() {
+        if (repeats == 0) {
+            return;
+        }
+        final LogRecord summary = new LogRecord(last.getLevel(), "The previous message was repeated "
+                + repeats + (repeats == 1 ? " more time" : " more times"));
+        summary.setLoggerName(last.getLoggerName());
+        summary.setSourceClassName(last.getSourceClassName());
+        summary.setSourceMethodName(last.getSourceMethodName());
+        publishToHandlers(summary);
+        repeats = 0;
+        lastReportMillis = System.currentTimeMillis();
+    }
+
+    private void publishToHandlers(LogRecord record) {
+        for (Handler handler : handlers) {
+            handler.publish(record);
+        }
+    }
+
+    private void flushHandlers() {
+        for (Handler handler : handlers) {
+            handler.flush();
+        }
+    }
+
+    /**
+     * @return true if the two records would be written the same way, including any exceptions logged with them
+     */
+    private static boolean isRepeat(LogRecord previous, LogRecord record) {
+        return previous.getLevel().equals(record.getLevel())
+                && Objects.equals(previous.getLoggerName(), record.getLoggerName())
+                && Objects.equals(previous.getMessage(), record.getMessage())
+                && Arrays.equals(previous.getParameters(), record.getParameters())
+                && isSameThrowable(previous.getThrown(), record.getThrown());
+    }
+
+    private static boolean isSameThrowable(Throwable previous, Throwable thrown) {
+        if (previous == null || thrown == null) {
+            return previous == thrown;
+        }
+        return previous.getClass().equals(thrown.getClass())
+                && Objects.equals(previous.getMessage(), thrown.getMessage())
+                && Arrays.equals(previous.getStackTrace(), thrown.getStackTrace());
+    }
+}
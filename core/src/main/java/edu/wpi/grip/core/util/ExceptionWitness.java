@@ -1,12 +1,16 @@
 package edu.wpi.grip.core.util;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
 import com.google.common.eventbus.EventBus;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import edu.wpi.grip.core.events.ExceptionClearedEvent;
 import edu.wpi.grip.core.events.ExceptionEvent;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Witnesses and reports exception. <b>This class is not suitable to handle {@link Error Errors}.</b><br />
@@ -29,55 +33,125 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * }
  * </pre>
  * <blockquote/>
+ * <p>
+ * Something that fails on every frame would otherwise post an event on every frame, so events are only posted when the
+ * witness goes from clear to flagged, when the kind of problem changes, or at most once every
+ * {@link #REPOST_INTERVAL_MILLIS second} while the same problem keeps being flagged.  The kind of an exception is its
+ * class, and the kind of a warning is its message.  Each event says how many times the problem has been flagged since
+ * the witness was last cleared.  Messages for exceptions can be given as a {@link Supplier}, so they're only built when
+ * an event is actually posted.
  */
 public class ExceptionWitness {
+    /**
+     * How often to post another event while the same problem keeps being flagged
+     */
+    static final long REPOST_INTERVAL_MILLIS = 1000;
+
     private final EventBus eventBus;
     private final Object origin;
+    private final Ticker ticker;
     private final AtomicBoolean isExceptionState = new AtomicBoolean(false);
 
+    // These are guarded by this object
+    private Object lastPostedKind;
+    private long lastPostedNanos;
+    private long lastSeenNanos;
+    private int occurrences;
+
     public interface Factory {
         ExceptionWitness create(Object origin);
     }
 
     @Inject
     ExceptionWitness(final EventBus eventBus, @Assisted final Object origin) {
+        this(eventBus, origin, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    ExceptionWitness(final EventBus eventBus, final Object origin, final Ticker ticker) {
         this.eventBus = eventBus;
         this.origin = origin;
+        this.ticker = ticker;
     }
 
     /**
      * Indicates to the witness that an exception has occurred. This will also post an {@link ExceptionEvent} to the {@link EventBus}
+     * unless the same kind of exception was already posted in the last second.
      *
      * @param exception The exception that this is reporting.
      *                  If the Exception is an InterruptedException then this will not post an exception, instead,
      *                  it will set the threads interrupted state and return.
      * @param message   Any additional details that should be associated with this message.
+     * @return true if an event was posted
      */
-    public final void flagException(final Exception exception, final String message) {
+    public final boolean flagException(final Exception exception, final String message) {
+        return flagException(exception, () -> message);
+    }
+
+    /**
+     * @param message Builds any additional details that should be associated with this message.  This is only called
+     *                if an event is posted.
+     * @return true if an event was posted
+     * @see #flagException(Exception, String)
+     */
+    public final boolean flagException(final Exception exception, final Supplier<String> message) {
         if (exception instanceof InterruptedException) {
             Thread.currentThread().interrupt();
-            return;
+            return false;
+        }
+        final int count = flag(exception.getClass());
+        if (count == 0) {
+            return false;
         }
-        isExceptionState.set(true);
-        this.eventBus.post(new ExceptionEvent(origin, exception, message));
+        this.eventBus.post(new ExceptionEvent(origin, exception, message.get(), count));
+        return true;
     }
 
     /**
      * @see #flagException(Exception, String)
      */
-    public final void flagException(Exception exception) {
-        flagException(exception, null);
+    public final boolean flagException(Exception exception) {
+        return flagException(exception, (String) null);
     }
 
     /**
      * Allows a warning to be flagged without an exception. This should never be done when there is an exception
      * involved.
+     * <p>
+     * A warning with a different message than the last one is always posted, so the message shown is never out of
+     * date.
      *
      * @param warningMessage The message to flag.
+     * @return true if an event was posted
      */
-    public final void flagWarning(final String warningMessage) {
-        isExceptionState.set(true);
-        this.eventBus.post(new ExceptionEvent(origin, warningMessage));
+    public final boolean flagWarning(final String warningMessage) {
+        final int count = flag(warningMessage);
+        if (count == 0) {
+            return false;
+        }
+        this.eventBus.post(new ExceptionEvent(origin, warningMessage, count));
+        return true;
+    }
+
+    /**
+     * Count a problem and decide whether to post an event for it.
+     *
+     * @param kind The class of the exception, or the message of a warning
+     * @return The number of times a problem has been flagged since the last clear, or 0 if no event should be posted
+     */
+    private synchronized int flag(Object kind) {
+        final long now = ticker.read();
+        final boolean wasException = isExceptionState.getAndSet(true);
+        occurrences = wasException ? occurrences + 1 : 1;
+        lastSeenNanos = now;
+
+        if (wasException && kind.equals(lastPostedKind)
+                && now - lastPostedNanos < TimeUnit.MILLISECONDS.toNanos(REPOST_INTERVAL_MILLIS)) {
+            return 0;
+        }
+        lastPostedKind = kind;
+        lastPostedNanos = now;
+        return occurrences;
     }
 
     /**
@@ -88,8 +162,17 @@ public class ExceptionWitness {
      * only be posted when there was previously an exception flagged.
      */
     public final void clearException() {
-        // Only post an ExceptionClearedEvent if there was an exception before
-        if (isExceptionState.compareAndSet(true, false)) {
+        // Only post an ExceptionClearedEvent if there was an exception before.  This is called every time things
+        // work, so check that without locking first.
+        if (!isExceptionState.get()) {
+            return;
+        }
+        final boolean wasException;
+        synchronized (this) {
+            wasException = isExceptionState.getAndSet(false);
+            lastPostedKind = null;
+        }
+        if (wasException) {
             this.eventBus.post(new ExceptionClearedEvent(origin));
         }
     }
@@ -100,4 +183,19 @@ public class ExceptionWitness {
     public final boolean isException() {
         return isExceptionState.get();
     }
+
+    /**
+     * @return The number of times a problem has been flagged since the witness was last cleared, including the times
+     * that weren't posted
+     */
+    public final synchronized int getOccurrences() {
+        return isExceptionState.get() ? occurrences : 0;
+    }
+
+    /**
+     * @return The {@link Ticker} time in nanoseconds when a problem was last flagged, or 0 if none has been
+     */
+    public final synchronized long getLastSeenNanos() {
+        return lastSeenNanos;
+    }
 }
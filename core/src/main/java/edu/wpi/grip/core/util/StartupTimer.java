@@ -0,0 +1,54 @@
+package edu.wpi.grip.core.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Measures how long each phase of startup takes, so the time from launching GRIP to processing the first frame can be
+ * tracked on slow devices like the roboRIO.
+ * <p>
+ * Times are measured from when the JVM started, so the first phase includes the time spent starting Java and loading
+ * GRIP itself.
+ */
+public final class StartupTimer {
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long lastMillis = jvmStartMillis;
+
+    /**
+     * Record that a phase of startup just finished.
+     *
+     * @param phase A description of the phase, like "Project loaded"
+     */
+    public synchronized void phaseFinished(String phase) {
+        checkNotNull(phase, "The phase can not be null");
+        final long now = System.currentTimeMillis();
+        phases.put(phase, now - lastMillis);
+        lastMillis = now;
+    }
+
+    /**
+     * @return The number of milliseconds between the JVM starting and the last phase finishing
+     */
+    public synchronized long getTotalMillis() {
+        return lastMillis - jvmStartMillis;
+    }
+
+    /**
+     * @return A table with how long each phase took, and the total time since the JVM started
+     */
+    public synchronized String getReport() {
+        final StringBuilder report = new StringBuilder("Startup times:");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            report.append(String.format("%n  %-30s %6d ms", phase.getKey(), phase.getValue()));
+        }
+        report.append(String.format("%n  %-30s %6d ms (%.1f s)", "Total", getTotalMillis(),
+                getTotalMillis() / (double) TimeUnit.SECONDS.toMillis(1)));
+        return report.toString();
+    }
+}
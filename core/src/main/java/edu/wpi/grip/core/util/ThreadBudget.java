@@ -0,0 +1,71 @@
+package edu.wpi.grip.core.util;
+
+import edu.wpi.grip.core.settings.ProjectSettings;
+
+import java.util.logging.Logger;
+
+import static org.bytedeco.javacpp.opencv_core.setNumThreads;
+
+/**
+ * Applies the thread settings in {@link ProjectSettings} to every part of GRIP that uses threads to process images.
+ * <p>
+ * On a robot, GRIP shares the processor with the robot code, so it's useful to be able to limit how many cores it can
+ * keep busy and how much it's favored by the scheduler.  The thread budget limits OpenCV's own parallel backend, and
+ * GRIP's own parallel work asks for {@link #getThreadCount()} to decide how many threads to use.  GRIP only does work in
+ * parallel that OpenCV doesn't already, so the two never multiply each other.  The priority is given
+ * to the pipeline thread and to the threads that capture and publish video, since all of those run once per frame.
+ * <p>
+ * On Linux, including the roboRIO, the JVM ignores thread priorities unless it's started with
+ * {@code -XX:ThreadPriorityPolicy=1}, and Java 8 only honors that option when it runs as root.  Deployed projects run as
+ * {@code lvuser} by default, so there the thread budget works, but the priority setting does nothing.
+ */
+public final class ThreadBudget {
+
+    private static final Logger logger = Logger.getLogger(ThreadBudget.class.getName());
+
+    private static volatile int threads = Runtime.getRuntime().availableProcessors();
+    private static volatile int priority = Thread.NORM_PRIORITY;
+
+    private ThreadBudget() { /* no op */ }
+
+    /**
+     * Apply the thread settings of a project.  This is called whenever the project settings change.
+     */
+    public static synchronized void apply(ProjectSettings settings) {
+        final int budget = settings.getThreadBudget();
+        final int threads = budget > 0 ? budget : Runtime.getRuntime().availableProcessors();
+
+        // A negative number tells OpenCV to go back to its default, which is one thread for each core
+        setNumThreads(budget > 0 ? budget : -1);
+        ThreadBudget.threads = threads;
+        priority = settings.getPipelineThreadPriority();
+
+        logger.config("Using " + threads + " processing threads with priority " + priority);
+    }
+
+    /**
+     * @return The most threads that GRIP's own parallel work should use at once, including the thread that starts it
+     */
+    public static int getThreadCount() {
+        return threads;
+    }
+
+    /**
+     * @return The priority that threads doing per-frame work should run at
+     */
+    public static int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Give the current thread the priority from the project settings.  Threads that do per-frame work call this each
+     * time through their loop, so a change to the settings takes effect without having to restart them.
+     */
+    public static void adjustCurrentThread() {
+        final Thread thread = Thread.currentThread();
+        final int priority = ThreadBudget.priority;
+        if (thread.getPriority() != priority) {
+            thread.setPriority(priority);
+        }
+    }
+}
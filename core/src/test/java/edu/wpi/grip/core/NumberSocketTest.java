@@ -0,0 +1,112 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import edu.wpi.grip.core.events.SocketChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NumberSocketTest {
+    private EventBus eventBus;
+    private SocketHint<Number> hint;
+    private int changes;
+
+    private class MockPipeline extends Pipeline {
+    }
+
+    @Before
+    public void setUp() {
+        eventBus = new EventBus();
+        hint = SocketHints.createNumberSocketHint("foo", 0);
+        changes = 0;
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onSocketChanged(SocketChangedEvent e) {
+                changes++;
+            }
+        });
+    }
+
+    @Test
+    public void testInitialValue() {
+        final NumberOutputSocket socket = new NumberOutputSocket(eventBus, hint);
+        assertEquals(Integer.valueOf(0), socket.getValue().get());
+        assertEquals(0, socket.getInt());
+    }
+
+    @Test
+    public void testSetDouble() {
+        final NumberOutputSocket socket = new NumberOutputSocket(eventBus, hint);
+        socket.setDouble(1.5);
+        assertEquals(1.5, socket.getDouble(), 0.0);
+        assertEquals(Double.valueOf(1.5), socket.getValue().get());
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testSetSameDoubleDoesNotPostEvent() {
+        final NumberOutputSocket socket = new NumberOutputSocket(eventBus, hint);
+        socket.setDouble(1.5);
+        socket.setDouble(1.5);
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testSetIntBoxesAsInteger() {
+        final NumberOutputSocket socket = new NumberOutputSocket(eventBus, hint);
+        socket.setDouble(3.0);
+        socket.setInt(3);
+        assertEquals(Integer.valueOf(3), socket.getValue().get());
+        assertEquals(2, changes);
+    }
+
+    @Test
+    public void testBoxedValueIsReused() {
+        final NumberOutputSocket socket = new NumberOutputSocket(eventBus, hint);
+        socket.setDouble(2.5);
+        assertTrue("The same value should only be boxed once", socket.getValue() == socket.getValue());
+    }
+
+    @Test
+    public void testSetValueStillWorks() {
+        final NumberInputSocket socket = new NumberInputSocket(eventBus, hint);
+        socket.setValue(12.5);
+        assertEquals(12.5, socket.getDouble(), 0.0);
+        assertEquals(12, socket.getInt());
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testConnectionCopiesPrimitive() {
+        final NumberOutputSocket output = new NumberOutputSocket(eventBus, hint);
+        final NumberInputSocket input = new NumberInputSocket(eventBus, hint);
+        final Connection<Number> connection = new Connection<>(eventBus, new MockPipeline(), output, input);
+        eventBus.register(connection);
+
+        output.setDouble(4.25);
+        assertEquals(4.25, input.getDouble(), 0.0);
+        assertEquals(Double.valueOf(4.25), input.getValue().get());
+
+        final int changesBefore = changes;
+        output.setDouble(4.25);
+        assertEquals("The input shouldn't change if the output didn't", changesBefore, changes);
+    }
+
+    @Test
+    public void testBooleanOutputSocket() {
+        final BooleanOutputSocket socket = new BooleanOutputSocket(eventBus,
+                SocketHints.Outputs.createBooleanSocketHint("bar", false));
+        socket.setBoolean(false);
+        assertEquals(0, changes);
+        socket.setBoolean(true);
+        assertTrue(socket.getBoolean());
+        assertEquals(1, changes);
+        socket.setBoolean(false);
+        assertFalse(socket.getValue().get());
+        assertEquals(2, changes);
+    }
+}
@@ -10,6 +10,8 @@ import java.util.HashSet;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class PaletteTest {
     private Palette palette;
@@ -65,4 +67,22 @@ public class PaletteTest {
         eventBus.post(new OperationAddedEvent(operation));
         assertEquals(Optional.empty(), palette.getOperationByName("Test"));
     }
+
+    @Test
+    public void testOperationIsCreatedWhenFirstUsed() {
+        final boolean[] created = {false};
+        eventBus.post(new OperationAddedEvent("Find Target", () -> {
+            created[0] = true;
+            return operation;
+        }));
+        assertFalse("The operation shouldn't be created just by adding it", created[0]);
+        assertEquals(Optional.of(operation), palette.getOperationByName("Find Target"));
+        assertTrue(created[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOperationAddedWithWrongName() {
+        eventBus.post(new OperationAddedEvent("Find Something Else", () -> operation));
+        palette.getOperationByName("Find Something Else");
+    }
 }
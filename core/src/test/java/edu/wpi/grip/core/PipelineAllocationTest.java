@@ -0,0 +1,119 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import edu.wpi.grip.core.events.ConnectionAddedEvent;
+import edu.wpi.grip.core.events.SourceAddedEvent;
+import edu.wpi.grip.core.operations.composite.BlurOperation;
+import edu.wpi.grip.core.operations.composite.DesaturateOperation;
+import edu.wpi.grip.core.operations.composite.MaskOperation;
+import edu.wpi.grip.core.operations.composite.ResizeOperation;
+import edu.wpi.grip.core.sources.ImageFileSource;
+import edu.wpi.grip.util.Files;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that once a pipeline has warmed up, running it again doesn't allocate anything on the Java heap.  Garbage
+ * made on every frame adds up to collection pauses, which show up as dropped frames.
+ */
+public class PipelineAllocationTest {
+
+    private static final int WARMUP_FRAMES = 2000, MEASURED_FRAMES = 1000;
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private Connection.Factory<Object> connectionFactory;
+    private Step.Factory stepFactory;
+    private EventBus eventBus;
+    private Pipeline pipeline;
+    private ManualPipelineRunner pipelineRunner;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        assumeTrue("Allocation counters are not available on this JVM",
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue("Allocation counters are not available on this JVM", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        final Injector injector = Guice.createInjector(new GRIPCoreModule());
+        connectionFactory = injector.getInstance(Key.get(new TypeLiteral<Connection.Factory<Object>>() {
+        }));
+        stepFactory = injector.getInstance(Step.Factory.class);
+        eventBus = injector.getInstance(EventBus.class);
+        pipeline = injector.getInstance(Pipeline.class);
+        pipelineRunner = new ManualPipelineRunner(eventBus, pipeline);
+
+        final ImageFileSource source = injector.getInstance(ImageFileSource.Factory.class)
+                .create(Files.gompeiJpegFile.file);
+        source.initialize();
+        eventBus.post(new SourceAddedEvent(source));
+
+        final Step resize = stepFactory.create(new ResizeOperation());
+        final Step blur = stepFactory.create(new BlurOperation());
+        final Step desaturate = stepFactory.create(new DesaturateOperation());
+        final Step mask = stepFactory.create(new MaskOperation());
+        pipeline.addStep(resize);
+        pipeline.addStep(blur);
+        pipeline.addStep(desaturate);
+        pipeline.addStep(mask);
+
+        ((InputSocket<Number>) resize.getInputSockets()[1]).setValue(320);
+        ((InputSocket<Number>) resize.getInputSockets()[2]).setValue(240);
+        ((InputSocket<Number>) blur.getInputSockets()[2]).setValue(2);
+
+        connect(source.getOutputSockets()[0], resize.getInputSockets()[0]);
+        connect(resize.getOutputSockets()[0], blur.getInputSockets()[0]);
+        connect(blur.getOutputSockets()[0], desaturate.getInputSockets()[0]);
+        connect(resize.getOutputSockets()[0], mask.getInputSockets()[0]);
+        connect(desaturate.getOutputSockets()[0], mask.getInputSockets()[1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void connect(OutputSocket<?> output, InputSocket<?> input) {
+        eventBus.post(new ConnectionAddedEvent(connectionFactory.create((OutputSocket) output, (InputSocket) input)));
+    }
+
+    /**
+     * @return The number of bytes allocated by this thread so far
+     */
+    private long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void testSteadyStateDoesNotAllocate() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            pipelineRunner.runPipeline();
+        }
+
+        // Reading the counter can allocate a little by itself, so measure that first and take it back out
+        final long overheadStart = allocatedBytes();
+        final long overhead = allocatedBytes() - overheadStart;
+
+        final long start = allocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            pipelineRunner.runPipeline();
+        }
+        final long allocated = allocatedBytes() - start - overhead;
+
+        // Anything allocated on every frame would add up to at least one object per frame.  Allowing less than that
+        // leaves room for the odd allocation by the JVM itself, like a method being recompiled.
+        assertTrue("Running the pipeline allocated " + allocated + " bytes over " + MEASURED_FRAMES + " frames",
+                allocated < MEASURED_FRAMES);
+        final Mat output = (Mat) pipeline.getSteps().get(3).getOutputSockets()[0].getValue().get();
+        assertEquals("The pipeline should have produced a resized output", 320, output.cols());
+    }
+}
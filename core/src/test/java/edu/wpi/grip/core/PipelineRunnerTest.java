@@ -5,9 +5,12 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Service;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
 import edu.wpi.grip.core.events.ExceptionEvent;
 import edu.wpi.grip.core.events.RenderEvent;
 import edu.wpi.grip.core.events.RunPipelineEvent;
+import edu.wpi.grip.core.events.SourceAddedEvent;
 import edu.wpi.grip.core.events.StopPipelineEvent;
 import edu.wpi.grip.core.util.MockExceptionWitness;
 import net.jodah.concurrentunit.Waiter;
@@ -222,6 +225,40 @@ public class PipelineRunnerTest {
             assertEquals("CleanUp ran an unexpected number of times", 1, operationCounter.cleanUpCount);
         }
 
+        @Test
+        public void testPipelineEditedDuringRunIsPickedUpByNextRun() {
+            final Injector injector = Guice.createInjector(new GRIPCoreModule());
+            final Pipeline pipeline = injector.getInstance(Pipeline.class);
+            final EventBus pipelineEventBus = injector.getInstance(EventBus.class);
+
+            // This step adds a source and another step to the pipeline the first time it runs
+            final SimpleOperation editingOperation = new SimpleOperation() {
+                private boolean edited = false;
+
+                @Override
+                public void perform(InputSocket<?>[] inputSockets, OutputSocket<?>[] outputSockets) {
+                    if (!edited) {
+                        edited = true;
+                        pipelineEventBus.post(new SourceAddedEvent(sourceCounter));
+                        pipeline.addStep(runCounterStep);
+                    }
+                }
+            };
+            pipeline.addStep(new Step.Factory(null, MockExceptionWitness.MOCK_FACTORY).create(editingOperation));
+            final PipelineRunner runner = new PipelineRunner(eventBus, pipeline::getVersion);
+
+            runner.runPipeline();
+            assertEquals("The pipeline was not edited", 2, pipeline.getSteps().size());
+            assertEquals("A source added during a run should not be updated until the next run",
+                    0, sourceCounter.updateCount);
+            assertEquals("A step added during a run should not run until the next run",
+                    0, operationCounter.performCount);
+
+            runner.runPipeline();
+            assertEquals("The next run should update the new source", 1, sourceCounter.updateCount);
+            assertEquals("The next run should run the new step", 1, operationCounter.performCount);
+        }
+
         @Test
         public void testPipelineWontRunOperationIfStoppedAfterRunPipelineEvent() throws TimeoutException {
             final Waiter sourceSupplierWaiter = new Waiter();
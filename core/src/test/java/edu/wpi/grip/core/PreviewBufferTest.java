@@ -0,0 +1,82 @@
+package edu.wpi.grip.core;
+
+import com.google.common.eventbus.EventBus;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.CV_8UC1;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Scalar;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PreviewBufferTest {
+
+    private static int firstPixel(Mat mat) {
+        return mat.ptr().get() & 0xFF;
+    }
+
+    @Test
+    public void testReadIsEmptyBeforePublish() {
+        assertFalse(new PreviewBuffer<Mat>().read().isPresent());
+    }
+
+    @Test
+    public void testSnapshotIsACopy() {
+        final PreviewBuffer<Mat> buffer = new PreviewBuffer<>();
+        final Mat frame = new Mat(4, 4, CV_8UC1, new Scalar(1.0));
+
+        buffer.publish(Optional.of(frame));
+        final Mat snapshot = buffer.read().get();
+        assertNotSame("The preview should not get the pipeline's own Mat", frame, snapshot);
+        assertEquals(1, firstPixel(snapshot));
+
+        // The pipeline writing the next frame into the same Mat shouldn't change what the preview is drawing
+        frame.put(new Scalar(2.0));
+        assertEquals(1, firstPixel(snapshot));
+    }
+
+    @Test
+    public void testSnapshotBeingReadIsNotReused() {
+        final PreviewBuffer<Mat> buffer = new PreviewBuffer<>();
+        final Mat frame = new Mat(4, 4, CV_8UC1, new Scalar(1.0));
+
+        buffer.publish(Optional.of(frame));
+        final Mat snapshot = buffer.read().get();
+
+        // Publish a few frames while the preview is still drawing the first one
+        for (int i = 2; i < 6; i++) {
+            frame.put(new Scalar((double) i));
+            buffer.publish(Optional.of(frame));
+        }
+        assertEquals("A snapshot being read was written to", 1, firstPixel(snapshot));
+        assertEquals("The preview should get the newest frame", 5, firstPixel(buffer.read().get()));
+    }
+
+    @Test
+    public void testReadWithoutPublishReturnsSameSnapshot() {
+        final PreviewBuffer<Mat> buffer = new PreviewBuffer<>();
+        buffer.publish(Optional.of(new Mat(4, 4, CV_8UC1, new Scalar(1.0))));
+
+        final Mat snapshot = buffer.read().get();
+        assertSame(snapshot, buffer.read().get());
+    }
+
+    @Test
+    public void testOutputSocketOnlyPublishesWhenPreviewed() {
+        final OutputSocket<Number> socket = new OutputSocket<>(new EventBus(),
+                SocketHints.Outputs.createNumberSocketHint("foo", 1.0));
+
+        socket.publishPreview();
+        assertFalse("A socket that isn't previewed shouldn't publish", socket.getPreview().read().isPresent());
+
+        socket.setPreviewed(true);
+        socket.publishPreview();
+        assertTrue(socket.getPreview().read().isPresent());
+        assertEquals(1.0, socket.getPreview().read().get());
+    }
+}
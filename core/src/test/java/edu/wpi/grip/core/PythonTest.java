@@ -124,4 +124,22 @@ public class PythonTest {
         Operation addition = new PythonScriptOperation(PythonTest.class.getResource("/edu/wpi/grip/scripts/addition-with-name-and-description.py"));
         assertEquals("Compute the sum of two integers", addition.getDescription());
     }
+
+    @Test
+    public void testStepsDoNotShareState() throws Exception {
+        Operation counter = new PythonScriptOperation("import edu.wpi.grip.core as grip\n\ninputs = [\n" +
+                "    grip.SocketHints.createNumberSocketHint(\"a\", 0.0),\n]\n\noutputs = [\n" +
+                "    grip.SocketHints.Outputs.createNumberSocketHint(\"count\", 0),\n]\n\ncount = 0\n\n" +
+                "def perform(a):\n    global count\n    count += 1\n    return count\n");
+        Step.Factory stepFactory = new Step.Factory(eventBus, (origin) -> new MockExceptionWitness(eventBus, origin));
+        Step first = stepFactory.create(counter);
+        Step second = stepFactory.create(counter);
+
+        first.runPerformIfPossible();
+        first.runPerformIfPossible();
+        second.runPerformIfPossible();
+
+        assertEquals("The first step should have counted both of its runs", 2, first.getOutputSockets()[0].getValue().get());
+        assertEquals("Each step should have its own copy of the script", 1, second.getOutputSockets()[0].getValue().get());
+    }
 }
@@ -5,7 +5,13 @@ import edu.wpi.grip.core.util.MockExceptionWitness;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class StepTest {
     private EventBus eventBus;
@@ -55,4 +61,49 @@ public class StepTest {
 
         assertEquals(addition, step.getOperation());
     }
+
+    @Test
+    public void testRemovingWhilePerformingDoesNotWait() throws InterruptedException {
+        final CountDownLatch performing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger performCount = new AtomicInteger();
+        final AtomicInteger cleanUpCount = new AtomicInteger();
+        final Operation slowAddition = new AdditionOperation() {
+            @Override
+            public void perform(InputSocket[] inputs, OutputSocket[] outputs) {
+                performCount.incrementAndGet();
+                performing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.perform(inputs, outputs);
+            }
+
+            @Override
+            public void cleanUp(InputSocket<?>[] inputs, OutputSocket<?>[] outputs, Optional<?> data) {
+                cleanUpCount.incrementAndGet();
+            }
+        };
+        final Step step = new Step.Factory(eventBus, (origin) -> new MockExceptionWitness(eventBus, origin))
+                .create(slowAddition);
+        ((Socket<Double>) step.getInputSockets()[0]).setValue(1.0);
+        ((Socket<Double>) step.getInputSockets()[1]).setValue(2.0);
+
+        final Thread pipelineThread = new Thread(step::runPerformIfPossible);
+        pipelineThread.start();
+        assertTrue("The operation never started performing", performing.await(5, TimeUnit.SECONDS));
+
+        // This returns right away even though the operation is still performing
+        step.setRemoved();
+        assertEquals("The operation was cleaned up while it was performing", 0, cleanUpCount.get());
+
+        release.countDown();
+        pipelineThread.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals("The operation should be cleaned up once it's done performing", 1, cleanUpCount.get());
+
+        step.runPerformIfPossible();
+        assertEquals("A removed step should not perform", 1, performCount.get());
+    }
 }
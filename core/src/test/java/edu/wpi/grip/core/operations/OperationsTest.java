@@ -16,7 +16,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.Assert.assertEquals;
+
 public class OperationsTest {
+    private List<OperationAddedEvent> eventList;
     private List<Operation> operationList;
     private Optional<Throwable> throwableOptional;
     private EventBus eventBus;
@@ -24,6 +27,7 @@ public class OperationsTest {
     private class OperationGrabber {
         @Subscribe
         public void onOperationAddedEvent(OperationAddedEvent event) {
+            eventList.add(event);
             operationList.add(event.getOperation());
         }
     }
@@ -31,6 +35,7 @@ public class OperationsTest {
 
     @Before
     public void setUp() {
+        this.eventList = new ArrayList<>();
         this.operationList = new ArrayList<>();
         this.throwableOptional = Optional.empty();
         this.eventBus = new EventBus((exception, context) -> throwableOptional = Optional.of(exception));
@@ -64,4 +69,28 @@ public class OperationsTest {
             step.setRemoved();
         }
     }
+
+    /**
+     * Built-in operations are added to the palette by name before they're created, so the name they're added with has
+     * to be kept the same as the name each operation gives itself.
+     */
+    @Test
+    public void testCoreOperationNamesMatch() {
+        Operations.addOperations(eventBus);
+        assertNamesMatch();
+    }
+
+    @Test
+    public void testCVOperationNamesMatch() {
+        CVOperations.addOperations(eventBus);
+        assertNamesMatch();
+    }
+
+    private void assertNamesMatch() {
+        assertEquals("Every operation should have been created", eventList.size(), operationList.size());
+        for (int i = 0; i < eventList.size(); i++) {
+            assertEquals("An operation was added to the palette with a different name than its own",
+                    operationList.get(i).getName(), eventList.get(i).getName());
+        }
+    }
 }
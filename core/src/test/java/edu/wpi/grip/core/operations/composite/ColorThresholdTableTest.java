@@ -0,0 +1,74 @@
+package edu.wpi.grip.core.operations.composite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+import static org.junit.Assert.assertEquals;
+
+public class ColorThresholdTableTest {
+
+    private Mat image;
+    private ColorThresholdTable table;
+
+    @Before
+    public void setUp() {
+        image = new Mat(120, 160, CV_8UC3);
+        randu(image, new Mat(1, 1, CV_64F, Scalar.all(0)), new Mat(1, 1, CV_64F, Scalar.all(256)));
+        table = new ColorThresholdTable();
+    }
+
+    /**
+     * Check that the table gives exactly the same result as converting the image and calling {@code inRange}
+     */
+    private void assertMatchesOpenCV(ColorThresholdTable.ColorSpace colorSpace, Scalar low, Scalar high) {
+        final Mat converted = new Mat();
+        if (colorSpace == ColorThresholdTable.ColorSpace.RGB) {
+            image.copyTo(converted);
+        } else {
+            cvtColor(image, converted, colorSpace.conversion);
+        }
+
+        final Mat expected = new Mat();
+        inRange(converted, new Mat(image.size(), image.type(), low), new Mat(image.size(), image.type(), high), expected);
+
+        final Mat actual = new Mat();
+        table.update(colorSpace, low, high);
+        table.apply(image, actual);
+
+        final Mat difference = new Mat();
+        absdiff(expected, actual, difference);
+        assertEquals("Lookup table threshold did not match OpenCV for " + colorSpace, 0, countNonZero(difference));
+    }
+
+    @Test
+    public void testRGB() {
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.RGB, new Scalar(10, 50.4, 100.6, 0), new Scalar(200, 180, 255, 0));
+    }
+
+    @Test
+    public void testHSV() {
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.HSV, new Scalar(30, 40, 50, 0), new Scalar(90, 255, 230, 0));
+    }
+
+    @Test
+    public void testHLS() {
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.HLS, new Scalar(100, 20, 0, 0), new Scalar(170, 200, 128, 0));
+    }
+
+    @Test
+    public void testRangesCanChange() {
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.HSV, new Scalar(30, 40, 50, 0), new Scalar(90, 255, 230, 0));
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.HSV, new Scalar(0, 0, 0, 0), new Scalar(60, 100, 255, 0));
+        assertMatchesOpenCV(ColorThresholdTable.ColorSpace.RGB, new Scalar(0, 0, 0, 0), new Scalar(60, 100, 255, 0));
+    }
+
+    @Test
+    public void testRegionOfInterest() {
+        table.update(ColorThresholdTable.ColorSpace.RGB, Scalar.all(0), Scalar.all(255));
+        final Mat output = new Mat(image.size(), CV_8UC1, Scalar.all(0));
+        table.apply(new Mat(image, new Rect(10, 20, 30, 40)), new Mat(output, new Rect(10, 20, 30, 40)));
+        assertEquals("Only the region should be thresholded", 30 * 40, countNonZero(output));
+    }
+}
@@ -0,0 +1,95 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.junit.Assert.assertEquals;
+
+public class FilterContoursOperationTest {
+
+    private FilterContoursOperation operation;
+    private InputSocket[] inputs;
+    private OutputSocket[] outputs;
+
+    /**
+     * @return A square contour with the given top left corner and side length
+     */
+    private static Mat square(int x, int y, int side) {
+        final Mat mat = new Mat(4, 1, CV_32SC2);
+        mat.<IntBuffer>createBuffer().put(new int[]{x, y, x, y + side, x + side, y + side, x + side, y});
+        return mat;
+    }
+
+    /**
+     * @return A report with {@code count} squares whose side lengths alternate between 10 and 50
+     */
+    private static ContoursReport alternatingSquares(int count) {
+        final PackedContours.Builder builder = new PackedContours.Builder();
+        for (int i = 0; i < count; i++) {
+            builder.add(square(i, i, i % 2 == 0 ? 10 : 50));
+        }
+        return new ContoursReport(builder.build(), 1000, 1000);
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final EventBus eventBus = new EventBus();
+        operation = new FilterContoursOperation();
+        inputs = operation.createInputSockets(eventBus);
+        outputs = operation.createOutputSockets(eventBus);
+
+        // Only the big squares should pass
+        inputs[1].setValue(1000.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PackedContours filter(ContoursReport report) {
+        inputs[0].setValue(report);
+        operation.perform(inputs, outputs);
+        return ((ContoursReport) outputs[0].getValue().get()).getPackedContours();
+    }
+
+    @Test
+    public void testFewContours() {
+        final PackedContours filtered = filter(alternatingSquares(10));
+        assertEquals("Only the large squares should pass the filter", 5, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals("Contours should stay in their original order", 2 * i + 1, filtered.getX(i, 0));
+        }
+    }
+
+    @Test
+    public void testManyContoursInParallel() {
+        final PackedContours filtered = filter(alternatingSquares(5000));
+        assertEquals("Only the large squares should pass the filter", 2500, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals("Contours should stay in their original order", 2 * i + 1, filtered.getX(i, 0));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSolidityRangeIsChecked() {
+        inputs[7].setValue(Arrays.asList(0.0, 50.0));
+        assertEquals("Squares are completely solid, so none should pass", 0, filter(alternatingSquares(10)).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSolidityRangeIsCheckedInParallel() {
+        inputs[7].setValue(Arrays.asList(90.0, 100.0));
+        assertEquals("Squares are completely solid, so all the large ones should pass", 2500,
+                filter(alternatingSquares(5000)).size());
+
+        inputs[7].setValue(Arrays.asList(0.0, 50.0));
+        assertEquals("Squares are completely solid, so none should pass", 0, filter(alternatingSquares(5000)).size());
+    }
+}
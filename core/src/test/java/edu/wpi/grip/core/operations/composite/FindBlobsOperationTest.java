@@ -0,0 +1,80 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.CV_8UC1;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Scalar;
+import static org.bytedeco.javacpp.opencv_features2d.SimpleBlobDetector;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FindBlobsOperationTest {
+
+    private FindBlobsOperation.DetectorCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new FindBlobsOperation.DetectorCache();
+    }
+
+    @Test
+    public void testDetectorIsReusedWhenUnchanged() {
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        assertSame("The detector should be reused if nothing changed", detector, cache.getDetector(1, 0, 1, false));
+    }
+
+    @Test
+    public void testDetectorIsRebuiltWhenMinAreaChanges() {
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        assertNotSame(detector, cache.getDetector(2, 0, 1, false));
+    }
+
+    @Test
+    public void testDetectorIsRebuiltWhenCircularityChanges() {
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        final SimpleBlobDetector minChanged = cache.getDetector(1, 0.5f, 1, false);
+        assertNotSame(detector, minChanged);
+        assertNotSame(minChanged, cache.getDetector(1, 0.5f, 0.75f, false));
+    }
+
+    @Test
+    public void testDetectorIsRebuiltWhenColorChanges() {
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        assertNotSame(detector, cache.getDetector(1, 0, 1, true));
+    }
+
+    @Test
+    public void testReplacedDetectorIsReleased() {
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        cache.getDetector(2, 0, 1, false);
+        assertTrue("A detector that's been replaced should be released", detector.isNull());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCleanUpReleasesDetector() {
+        final EventBus eventBus = new EventBus();
+        final FindBlobsOperation operation = new FindBlobsOperation();
+        final InputSocket<?>[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket<?>[] outputs = operation.createOutputSockets(eventBus);
+        final Optional<?> data = operation.createData();
+
+        ((InputSocket<Mat>) inputs[0]).setValue(new Mat(64, 64, CV_8UC1, new Scalar(0.0)));
+        ((InputSocket<java.util.List>) inputs[2]).setValue(Arrays.asList(0.0, 1.0));
+        operation.perform(inputs, outputs, data);
+
+        final FindBlobsOperation.DetectorCache cache = (FindBlobsOperation.DetectorCache) data.get();
+        final SimpleBlobDetector detector = cache.getDetector(1, 0, 1, false);
+        operation.cleanUp(inputs, outputs, data);
+        assertTrue("Cleaning up the step should release the detector", detector.isNull());
+    }
+}
@@ -0,0 +1,91 @@
+package edu.wpi.grip.core.operations.composite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+import static org.junit.Assert.assertEquals;
+
+public class PackedContoursTest {
+
+    private static final int[] SQUARE = {10, 10, 10, 30, 30, 30, 30, 10};
+    private static final int[] L_SHAPE = {0, 0, 0, 20, 15, 20, 15, 15, 5, 15, 5, 0};
+
+    private MatVector vector;
+    private PackedContours packed;
+
+    private static Mat contour(int[] points) {
+        final Mat mat = new Mat(points.length / 2, 1, CV_32SC2);
+        mat.<IntBuffer>createBuffer().put(points);
+        return mat;
+    }
+
+    @Before
+    public void setUp() {
+        vector = new MatVector(contour(SQUARE), contour(L_SHAPE));
+        packed = PackedContours.fromMatVector(vector);
+    }
+
+    @Test
+    public void testSizeAndLength() {
+        assertEquals("Wrong number of contours", 2, packed.size());
+        assertEquals("Wrong number of points in the first contour", SQUARE.length / 2, packed.length(0));
+        assertEquals("Wrong number of points in the second contour", L_SHAPE.length / 2, packed.length(1));
+        assertEquals("Wrong total number of points", (SQUARE.length + L_SHAPE.length) / 2, packed.totalPoints());
+    }
+
+    @Test
+    public void testPoints() {
+        for (int i = 0; i < L_SHAPE.length / 2; i++) {
+            assertEquals("Wrong x coordinate", L_SHAPE[2 * i], packed.getX(1, i));
+            assertEquals("Wrong y coordinate", L_SHAPE[2 * i + 1], packed.getY(1, i));
+        }
+    }
+
+    @Test
+    public void testScale() {
+        final PackedContours quarter = packed.scale(0.25);
+        assertEquals("Scaling should keep the same contours", packed.size(), quarter.size());
+        for (int i = 0; i < L_SHAPE.length / 2; i++) {
+            assertEquals("Wrong scaled x coordinate", Math.round(L_SHAPE[2 * i] * 0.25), quarter.getX(1, i));
+            assertEquals("Wrong scaled y coordinate", Math.round(L_SHAPE[2 * i + 1] * 0.25), quarter.getY(1, i));
+        }
+        assertEquals("The original contours should not change", L_SHAPE[2], packed.getX(1, 1));
+    }
+
+    @Test
+    public void testGeometryMatchesOpenCV() {
+        for (int i = 0; i < packed.size(); i++) {
+            final Rect bb = boundingRect(vector.get(i));
+            assertEquals("Bounding x did not match OpenCV", bb.x(), packed.getBoundingX(i));
+            assertEquals("Bounding y did not match OpenCV", bb.y(), packed.getBoundingY(i));
+            assertEquals("Bounding width did not match OpenCV", bb.width(), packed.getBoundingWidth(i));
+            assertEquals("Bounding height did not match OpenCV", bb.height(), packed.getBoundingHeight(i));
+            assertEquals("Area did not match OpenCV", contourArea(vector.get(i)), packed.area(i), 1e-9);
+            assertEquals("Perimeter did not match OpenCV", arcLength(vector.get(i), true), packed.perimeter(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void testViewSharesPoints() {
+        final Mat view = packed.view(1);
+        assertEquals("View has the wrong number of points", L_SHAPE.length / 2, view.rows());
+        assertEquals("Area of the view did not match", contourArea(vector.get(1)), contourArea(view), 1e-9);
+    }
+
+    @Test
+    public void testBuilderCopiesSelectedContours() {
+        final PackedContours filtered = new PackedContours.Builder().add(packed, 1).build();
+        assertEquals("Wrong number of contours", 1, filtered.size());
+        assertEquals("Wrong area for the copied contour", packed.area(1), filtered.area(0), 1e-9);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals("Empty contours should have no contours", 0, PackedContours.empty().size());
+        assertEquals("Empty builder should build empty contours", 0, new PackedContours.Builder().build().size());
+    }
+}
@@ -0,0 +1,70 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.rectangle;
+import static org.junit.Assert.assertEquals;
+
+public class RGBThresholdOperationTest {
+
+    private Mat image;
+
+    @Before
+    public void setUp() {
+        // A dark image with a few green targets and some noise that's close to green
+        image = new Mat(480, 640, CV_8UC3, new Scalar(20, 20, 20, 0));
+        rectangle(image, new Point(100, 100), new Point(140, 130), new Scalar(0, 255, 0, 0), -1, 8, 0);
+        rectangle(image, new Point(401, 303), new Point(455, 377), new Scalar(0, 255, 0, 0), -1, 8, 0);
+        rectangle(image, new Point(410, 310), new Point(420, 320), new Scalar(0, 150, 0, 0), -1, 8, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mat threshold(int levels) {
+        final EventBus eventBus = new EventBus();
+        final RGBThresholdOperation operation = new RGBThresholdOperation();
+        final InputSocket[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket[] outputs = operation.createOutputSockets(eventBus);
+        inputs[0].setValue(image);
+        inputs[1].setValue(Arrays.asList(0.0, 50.0));
+        inputs[2].setValue(Arrays.asList(200.0, 255.0));
+        inputs[3].setValue(Arrays.asList(0.0, 50.0));
+        inputs[4].setValue(levels);
+        operation.perform(inputs, outputs, operation.createData());
+        return (Mat) outputs[0].getValue().get();
+    }
+
+    @Test
+    public void testCoarseToFineMatchesFullResolution() {
+        final Mat expected = threshold(0);
+        final Mat actual = threshold(2);
+
+        final Mat difference = new Mat();
+        absdiff(expected, actual, difference);
+        assertEquals("Coarse-to-fine threshold should match the full resolution threshold", 0,
+                countNonZero(difference));
+        assertEquals("Threshold didn't find the targets", 41 * 31 + 55 * 75 - 11 * 11, countNonZero(actual));
+    }
+
+    @Test
+    public void testFloatingPointInput() {
+        final Mat expected = threshold(0);
+
+        // Images made by some OpenCV operations aren't 8-bit, so they can't use the lookup table
+        final Mat floatImage = new Mat();
+        image.convertTo(floatImage, CV_32FC3);
+        image = floatImage;
+        final Mat actual = threshold(0);
+
+        final Mat difference = new Mat();
+        absdiff(expected, actual, difference);
+        assertEquals("A floating point image should be thresholded the same as an 8-bit one", 0,
+                countNonZero(difference));
+    }
+}
@@ -0,0 +1,121 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.rectangle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RegionOfInterestTest {
+
+    private EventBus eventBus;
+    private Mat frame;
+
+    @Before
+    public void setUp() {
+        eventBus = new EventBus();
+
+        // A black frame with a white square in the lower right corner
+        frame = new Mat(240, 320, CV_8UC1, Scalar.all(0));
+        rectangle(frame, new Point(200, 150), new Point(249, 199), Scalar.all(255), -1, 8, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mat regionOf(Mat image, int x, int y, int width, int height) {
+        final RegionOfInterestOperation operation = new RegionOfInterestOperation();
+        final InputSocket[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket[] outputs = operation.createOutputSockets(eventBus);
+        inputs[0].setValue(image);
+        inputs[1].setValue(x);
+        inputs[2].setValue(y);
+        inputs[3].setValue(width);
+        inputs[4].setValue(height);
+        operation.perform(inputs, outputs);
+        return (Mat) outputs[0].getValue().get();
+    }
+
+    @Test
+    public void testLocate() {
+        final Rect roi = RegionOfInterest.locate(regionOf(frame, 160, 120, 160, 120));
+        assertEquals("Wrong x offset", 160, roi.x());
+        assertEquals("Wrong y offset", 120, roi.y());
+        assertEquals("Wrong width", 160, roi.width());
+        assertEquals("Wrong height", 120, roi.height());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDefaultRegionIsWholeImage() {
+        final RegionOfInterestOperation operation = new RegionOfInterestOperation();
+        final InputSocket[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket[] outputs = operation.createOutputSockets(eventBus);
+        inputs[0].setValue(frame);
+        operation.perform(inputs, outputs);
+
+        final Mat region = (Mat) outputs[0].getValue().get();
+        assertEquals("Wrong width", 320, region.cols());
+        assertEquals("Wrong height", 240, region.rows());
+    }
+
+    @Test
+    public void testZeroSizeGoesToEdge() {
+        final Rect roi = RegionOfInterest.locate(regionOf(frame, 100, 50, 0, 0));
+        assertEquals("Wrong width", 220, roi.width());
+        assertEquals("Wrong height", 190, roi.height());
+    }
+
+    @Test
+    public void testRegionIsClippedToImage() {
+        final Rect roi = RegionOfInterest.locate(regionOf(frame, 300, -10, 100, 100));
+        assertEquals("Wrong x offset", 300, roi.x());
+        assertEquals("Wrong y offset", 0, roi.y());
+        assertEquals("Wrong width", 20, roi.width());
+        assertEquals("Wrong height", 90, roi.height());
+    }
+
+    @Test
+    public void testPrepareOutputIsReused() {
+        final Mat region = regionOf(frame, 160, 120, 160, 120);
+        final Mat output = RegionOfInterest.prepareOutput(region, new Mat(), CV_8UC1);
+        assertEquals("Output should be in the same place as the input", 160, RegionOfInterest.locate(output).x());
+        assertEquals("Output should be a region of a full-size frame", 320,
+                RegionOfInterest.wholeSize(output).width());
+        assertSame("Output should be reused if the region doesn't change", output,
+                RegionOfInterest.prepareOutput(region, output, CV_8UC1));
+        assertTrue("Output should not be a region if the input isn't",
+                !RegionOfInterest.prepareOutput(frame, output, CV_8UC1).isSubmatrix());
+    }
+
+    @Test
+    public void testPrepareOutputClearsOldRegionWhenItMoves() {
+        final Mat output = RegionOfInterest.prepareOutput(regionOf(frame, 0, 0, 10, 10), new Mat(), CV_8UC1);
+        output.put(Scalar.all(255));
+
+        final Mat moved = RegionOfInterest.prepareOutput(regionOf(frame, 100, 100, 10, 10), output, CV_8UC1);
+        assertEquals("Output should be moved to the new region", 100, RegionOfInterest.locate(moved).x());
+        assertEquals("The old region should be cleared", 0, countNonZero(RegionOfInterest.wholeFrame(moved)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContoursAreInFullFrameCoordinates() {
+        final FindContoursOperation operation = new FindContoursOperation();
+        final InputSocket[] inputs = operation.createInputSockets(eventBus);
+        final OutputSocket[] outputs = operation.createOutputSockets(eventBus);
+        inputs[0].setValue(regionOf(frame, 160, 120, 160, 120));
+        operation.perform(inputs, outputs, operation.createData());
+
+        final ContoursReport report = (ContoursReport) outputs[0].getValue().get();
+        assertEquals("Wrong number of contours", 1, report.getPackedContours().size());
+        assertEquals("Contour should be offset by the region", 200, report.getPackedContours().getBoundingX(0));
+        assertEquals("Contour should be offset by the region", 150, report.getPackedContours().getBoundingY(0));
+        assertEquals("Report should have the full frame's size", 320, report.getCols());
+        assertEquals("Report should have the full frame's size", 240, report.getRows());
+    }
+}
@@ -0,0 +1,88 @@
+package edu.wpi.grip.core.operations.composite;
+
+import edu.wpi.grip.core.settings.ProjectSettings;
+import edu.wpi.grip.core.util.ThreadBudget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+import static org.junit.Assert.assertEquals;
+
+public class RowBandExecutorTest {
+
+    private Mat image;
+
+    @Before
+    public void setUp() {
+        // Use several threads even on a machine with one core, so the bands really do run in parallel
+        final ProjectSettings settings = new ProjectSettings();
+        settings.setThreadBudget(4);
+        ThreadBudget.apply(settings);
+
+        image = new Mat(480, 640, CV_8UC3);
+        randu(image, new Mat(1, 1, CV_64F, Scalar.all(0)), new Mat(1, 1, CV_64F, Scalar.all(256)));
+    }
+
+    @After
+    public void tearDown() {
+        ThreadBudget.apply(new ProjectSettings());
+    }
+
+    private static void assertSameImage(String message, Mat expected, Mat actual) {
+        assertEquals(message, expected.type(), actual.type());
+        final Mat difference = new Mat();
+        absdiff(expected, actual, difference);
+        assertEquals(message, 0, countNonZero(difference.reshape(1, 0)));
+    }
+
+    private void assertBandsMatchWholeImage(String message, int type, int halo, RowBandExecutor.BandOperation operation) {
+        final Mat expected = new Mat(), actual = new Mat();
+        operation.apply(image, expected);
+        RowBandExecutor.apply(image, actual, type, halo, operation);
+        assertSameImage(message, expected, actual);
+    }
+
+    @Test
+    public void testEveryRowIsRunOnce() {
+        final AtomicInteger rows = new AtomicInteger();
+        RowBandExecutor.forEachBand(1000, (start, end) -> rows.addAndGet(end - start));
+        assertEquals("Every row should be in exactly one band", 1000, rows.get());
+    }
+
+    @Test
+    public void testPerPixelOperation() {
+        assertBandsMatchWholeImage("Desaturating in bands should match the whole image", CV_8UC1, 0,
+                (src, dst) -> cvtColor(src, dst, COLOR_BGR2GRAY));
+    }
+
+    @Test
+    public void testBoxBlur() {
+        assertBandsMatchWholeImage("Box blur in bands should match the whole image", CV_8UC3, 7,
+                (src, dst) -> blur(src, dst, new Size(15, 15)));
+    }
+
+    @Test
+    public void testGaussianBlur() {
+        assertBandsMatchWholeImage("Gaussian blur in bands should match the whole image", CV_8UC3, 9,
+                (src, dst) -> GaussianBlur(src, dst, new Size(19, 19), 3.0));
+    }
+
+    @Test
+    public void testMedianBlur() {
+        assertBandsMatchWholeImage("Median blur in bands should match the whole image", CV_8UC3, 2,
+                (src, dst) -> medianBlur(src, dst, 5));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionsArePropagated() {
+        RowBandExecutor.forEachBand(1000, (start, end) -> {
+            if (start > 0) {
+                throw new IllegalStateException("Band failed");
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package edu.wpi.grip.core.operations.composite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.Rect;
+import static org.junit.Assert.assertEquals;
+
+public class TrackerTest {
+
+    private static final Rect FRAME = new Rect(0, 0, 320, 240);
+
+    private Tracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new Tracker();
+    }
+
+    private static void assertRect(String message, int x, int y, int width, int height, Rect rect) {
+        assertEquals(message, x, rect.x());
+        assertEquals(message, y, rect.y());
+        assertEquals(message, width, rect.width());
+        assertEquals(message, height, rect.height());
+    }
+
+    @Test
+    public void testFullScanWithoutHit() {
+        assertRect("Should scan the whole frame before anything is found", 0, 0, 320, 240,
+                tracker.nextWindow(FRAME, 10, 30));
+    }
+
+    @Test
+    public void testWindowAroundHit() {
+        tracker.update(Optional.of(new Rect(100, 100, 20, 10)));
+        assertRect("Window should be the padded hit", 90, 90, 40, 30, tracker.nextWindow(FRAME, 10, 30));
+    }
+
+    @Test
+    public void testWindowIsClippedToFrame() {
+        tracker.update(Optional.of(new Rect(0, 230, 20, 10)));
+        assertRect("Window should be clipped to the frame", 0, 220, 30, 20, tracker.nextWindow(FRAME, 10, 30));
+    }
+
+    @Test
+    public void testFullScanAfterMiss() {
+        tracker.update(Optional.of(new Rect(100, 100, 20, 10)));
+        tracker.update(Optional.empty());
+        assertRect("Should scan the whole frame after a miss", 0, 0, 320, 240, tracker.nextWindow(FRAME, 10, 30));
+    }
+
+    @Test
+    public void testPeriodicFullScan() {
+        tracker.update(Optional.of(new Rect(100, 100, 20, 10)));
+        for (int i = 0; i < 3; i++) {
+            assertRect("Should track the hit between full scans", 90, 90, 40, 30, tracker.nextWindow(FRAME, 10, 4));
+        }
+        assertRect("Should scan the whole frame every 4 frames", 0, 0, 320, 240, tracker.nextWindow(FRAME, 10, 4));
+        assertRect("Should go back to tracking after a full scan", 90, 90, 40, 30, tracker.nextWindow(FRAME, 10, 4));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.wpi.grip.core.operations.composite;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import edu.wpi.grip.core.InputSocket;
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.events.SocketChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.bytedeco.javacpp.opencv_core.CV_8UC1;
+import static org.bytedeco.javacpp.opencv_core.Mat;
+import static org.bytedeco.javacpp.opencv_core.Rect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class TrackingWindowOperationTest {
+
+    private TrackingWindowOperation operation;
+    private InputSocket<?>[] inputs;
+    private OutputSocket<?>[] outputs;
+    private Optional<?> data;
+    private int windowChanges;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final EventBus eventBus = new EventBus();
+        operation = new TrackingWindowOperation();
+        inputs = operation.createInputSockets(eventBus);
+        outputs = operation.createOutputSockets(eventBus);
+        data = operation.createData();
+
+        ((InputSocket<Mat>) inputs[0]).setValue(new Mat(240, 320, CV_8UC1));
+        ((InputSocket<Number>) inputs[1]).setValue(10);
+
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onSocketChanged(SocketChangedEvent event) {
+                if (event.getSocket() == outputs[1]) {
+                    windowChanges++;
+                }
+            }
+        });
+    }
+
+    private TrackingWindow perform() {
+        operation.perform(inputs, outputs, data);
+        return (TrackingWindow) outputs[1].getValue().get();
+    }
+
+    @Test
+    public void testNewWindowEveryFrame() {
+        final TrackingWindow first = perform();
+        final TrackingWindow second = perform();
+        assertNotSame("Each frame should publish a new window", first, second);
+        assertEquals("The window should be marked as changed every frame, so the update step runs", 2, windowChanges);
+    }
+
+    @Test
+    public void testHitIsUsedInNextFrame() {
+        perform().recordHit(Optional.of(new Rect(100, 100, 20, 10)));
+
+        final Rect window = perform().getWindow();
+        assertEquals(90, window.x());
+        assertEquals(90, window.y());
+        assertEquals(40, window.width());
+        assertEquals(30, window.height());
+
+        final Mat output = (Mat) outputs[0].getValue().get();
+        assertEquals("Only the window should be passed on", 30, output.rows());
+        assertEquals("Only the window should be passed on", 40, output.cols());
+    }
+
+    @Test
+    public void testOldWindowDoesNotChange() {
+        final TrackingWindow first = perform();
+        first.recordHit(Optional.of(new Rect(100, 100, 20, 10)));
+        perform();
+        assertEquals("A published window should never change", 320, first.getWindow().width());
+    }
+}
@@ -0,0 +1,95 @@
+package edu.wpi.grip.core.serialization;
+
+import com.google.common.eventbus.EventBus;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import edu.wpi.grip.core.AdditionOperation;
+import edu.wpi.grip.core.GRIPCoreModule;
+import edu.wpi.grip.core.Operation;
+import edu.wpi.grip.core.Pipeline;
+import edu.wpi.grip.core.Step;
+import edu.wpi.grip.core.events.OperationAddedEvent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProjectAutosaveTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Injector injector;
+    private Pipeline pipeline;
+    private Project project;
+    private Step.Factory stepFactory;
+    private Operation additionOperation;
+    private File file;
+    private ProjectAutosave autosave;
+
+    @Before
+    public void setUp() {
+        injector = Guice.createInjector(new GRIPCoreModule());
+        pipeline = injector.getInstance(Pipeline.class);
+        project = injector.getInstance(Project.class);
+        stepFactory = injector.getInstance(Step.Factory.class);
+
+        additionOperation = new AdditionOperation();
+        injector.getInstance(EventBus.class).post(new OperationAddedEvent(additionOperation));
+
+        file = new File(temporaryFolder.getRoot(), "autosave/autosave.grip");
+        autosave = new ProjectAutosave(file);
+        injector.injectMembers(autosave);
+    }
+
+    @Test
+    public void testEmptyProjectIsNotSaved() throws Exception {
+        autosave.runOneIteration();
+        assertFalse("An empty project should not be autosaved", file.exists());
+    }
+
+    @Test
+    public void testProjectIsSaved() throws Exception {
+        pipeline.addStep(stepFactory.create(additionOperation));
+        autosave.runOneIteration();
+        assertTrue("The project was not autosaved", file.exists());
+
+        project.open(file);
+        assertEquals("The autosaved project should have the step in it", 1, pipeline.getSteps().size());
+    }
+
+    @Test
+    public void testUnchangedProjectIsNotSavedAgain() throws Exception {
+        pipeline.addStep(stepFactory.create(additionOperation));
+        autosave.runOneIteration();
+        assertTrue(file.delete());
+
+        autosave.runOneIteration();
+        assertFalse("The project should not be saved again if it hasn't changed", file.exists());
+
+        pipeline.addStep(stepFactory.create(additionOperation));
+        autosave.runOneIteration();
+        assertTrue("The project should be saved again once it has changed", file.exists());
+    }
+
+    @Test
+    public void testProjectIsSerializedOnEditThread() throws Exception {
+        final AtomicInteger serializations = new AtomicInteger();
+        autosave.serializeOn(command -> {
+            serializations.incrementAndGet();
+            command.run();
+        });
+
+        pipeline.addStep(stepFactory.create(additionOperation));
+        autosave.runOneIteration();
+        assertEquals("The project should be serialized on the edit thread", 1, serializations.get());
+        assertTrue(file.exists());
+    }
+}
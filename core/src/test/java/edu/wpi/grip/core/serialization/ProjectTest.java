@@ -1,6 +1,7 @@
 package edu.wpi.grip.core.serialization;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
@@ -11,22 +12,40 @@ import edu.wpi.grip.core.events.OperationAddedEvent;
 import edu.wpi.grip.core.events.ProjectSettingsChangedEvent;
 import edu.wpi.grip.core.events.SourceAddedEvent;
 import edu.wpi.grip.core.operations.PythonScriptOperation;
+import edu.wpi.grip.core.operations.composite.HSVThresholdOperation;
+import edu.wpi.grip.core.operations.composite.ResizeOperation;
 import edu.wpi.grip.core.settings.ProjectSettings;
 import edu.wpi.grip.core.sources.ImageFileSource;
 import edu.wpi.grip.util.Files;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
 import static org.bytedeco.javacpp.opencv_core.*;
 
 public class ProjectTest {
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Injector injector;
     private Connection.Factory<Object> connectionFactory;
     private ImageFileSource.Factory imageSourceFactory;
     private Step.Factory stepFactory;
@@ -40,7 +59,7 @@ public class ProjectTest {
 
     @Before
     public void setUp() throws Exception {
-        final Injector injector = Guice.createInjector(new GRIPCoreModule());
+        injector = Guice.createInjector(new GRIPCoreModule());
         connectionFactory = injector
                 .getInstance(Key.get(new TypeLiteral<Connection.Factory<Object>>() {
                 }));
@@ -70,6 +89,12 @@ public class ProjectTest {
         eventBus.post(new OperationAddedEvent(opencvAddOperation));
     }
 
+    private void serializeAndDeserializeBinary() throws IOException {
+        final File file = temporaryFolder.newFile("project" + BinaryProjectFormat.EXTENSION);
+        project.save(file);
+        project.open(file);
+    }
+
     private void serializeAndDeserialize() {
         final Writer writer = new StringWriter();
         project.save(writer);
@@ -280,4 +305,184 @@ public class ProjectTest {
         assertEquals("Deploy address was not serialized/deserialized",
                 "roborio-191-frc.local", pipeline.getProjectSettings().getDeployAddress());
     }
+
+    @Test
+    public void testSerializedThreadSettings() {
+        ProjectSettings projectSettings = new ProjectSettings();
+        projectSettings.setThreadBudget(2);
+        projectSettings.setPipelineThreadPriority(Thread.MIN_PRIORITY);
+        eventBus.post(new ProjectSettingsChangedEvent(projectSettings));
+
+        serializeAndDeserialize();
+
+        assertEquals("Thread budget was not serialized/deserialized",
+                2, pipeline.getProjectSettings().getThreadBudget());
+        assertEquals("Pipeline thread priority was not serialized/deserialized",
+                Thread.MIN_PRIORITY, pipeline.getProjectSettings().getPipelineThreadPriority());
+    }
+
+    @Test
+    public void testProjectWithoutThreadSettings() {
+        final Writer writer = new StringWriter();
+        project.save(writer);
+
+        // Projects saved before the thread settings existed don't have them at all
+        final String oldProject = writer.toString()
+                .replaceAll("\\s*<threadBudget>.*</threadBudget>", "")
+                .replaceAll("\\s*<pipelineThreadPriority>.*</pipelineThreadPriority>", "");
+        project.open(new StringReader(oldProject));
+
+        assertEquals("Old projects should use every core",
+                0, pipeline.getProjectSettings().getThreadBudget());
+        assertEquals("Old projects should use the normal thread priority",
+                Thread.NORM_PRIORITY, pipeline.getProjectSettings().getPipelineThreadPriority());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBinaryPipelineWithValuesAndConnections() throws Exception {
+        final Operation resizeOperation = new ResizeOperation(), hsvThresholdOperation = new HSVThresholdOperation();
+        eventBus.post(new OperationAddedEvent(resizeOperation));
+        eventBus.post(new OperationAddedEvent(hsvThresholdOperation));
+
+        final Step resize = stepFactory.create(resizeOperation);
+        final Step hsvThreshold = stepFactory.create(hsvThresholdOperation);
+        ((InputSocket<Number>) resize.getInputSockets()[1]).setValue(320);
+        ((InputSocket<Number>) resize.getInputSockets()[2]).setValue(240.5);
+        final InputSocket<Enum> interpolation = (InputSocket<Enum>) resize.getInputSockets()[3];
+        final Enum area = Enum.valueOf((Class) interpolation.getSocketHint().getType(), "AREA");
+        interpolation.setValue(area);
+        ((InputSocket<List>) hsvThreshold.getInputSockets()[1]).setValue(Arrays.asList(10.0, 20.0));
+        hsvThreshold.getOutputSockets()[0].setPreviewed(true);
+        pipeline.addStep(resize);
+        pipeline.addStep(hsvThreshold);
+        eventBus.post(new ConnectionAddedEvent(
+                connectionFactory.create(
+                        (OutputSocket) resize.getOutputSockets()[0],
+                        (InputSocket) hsvThreshold.getInputSockets()[0]
+                )));
+
+        serializeAndDeserializeBinary();
+
+        assertEquals(2, pipeline.getSteps().size());
+        assertEquals(1, pipeline.getConnections().size());
+
+        final Step resizeOut = pipeline.getSteps().get(0);
+        final Step hsvThresholdOut = pipeline.getSteps().get(1);
+        assertEquals(320, resizeOut.getInputSockets()[1].getValue().get());
+        assertEquals(240.5, resizeOut.getInputSockets()[2].getValue().get());
+        assertEquals(area, resizeOut.getInputSockets()[3].getValue().get());
+        assertEquals(Arrays.asList(10.0, 20.0), hsvThresholdOut.getInputSockets()[1].getValue().get());
+        assertEquals("Previewed flag was not serialized/deserialized",
+                true, hsvThresholdOut.getOutputSockets()[0].isPreviewed());
+        assertEquals(false, resizeOut.getOutputSockets()[0].isPreviewed());
+    }
+
+    @Test
+    @SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+    public void testBinaryPipelineWithSource() throws Exception {
+        final ImageFileSource source = imageSourceFactory.create(Files.gompeiJpegFile.file);
+        source.initialize();
+        eventBus.post(new SourceAddedEvent(source));
+
+        serializeAndDeserializeBinary();
+
+        final ImageFileSource sourceDeserialized = (ImageFileSource) pipeline.getSources().get(0);
+        Files.gompeiJpegFile.assertSameImage((Mat) sourceDeserialized.createOutputSockets()[0].getValue().get());
+    }
+
+    @Test
+    public void testBinaryProjectSettings() throws Exception {
+        ProjectSettings projectSettings = new ProjectSettings();
+        projectSettings.setTeamNumber(190);
+        projectSettings.setDeployAddress("roborio-191-frc.local");
+        projectSettings.setThreadBudget(2);
+        eventBus.post(new ProjectSettingsChangedEvent(projectSettings));
+
+        serializeAndDeserializeBinary();
+
+        assertEquals(190, pipeline.getProjectSettings().getTeamNumber());
+        assertEquals("roborio-191-frc.local", pipeline.getProjectSettings().getDeployAddress());
+        assertEquals("roborio-190-frc.local", pipeline.getProjectSettings().getPublishAddress());
+        assertEquals(2, pipeline.getProjectSettings().getThreadBudget());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConvertXmlToBinaryAndBack() throws Exception {
+        final Operation resizeOperation = new ResizeOperation();
+        eventBus.post(new OperationAddedEvent(resizeOperation));
+
+        final Step step1 = stepFactory.create(pythonAdditionOperationFromSource);
+        final Step step2 = stepFactory.create(resizeOperation);
+        ((InputSocket<Number>) step2.getInputSockets()[1]).setValue(12.5);
+        step2.getOutputSockets()[0].setPreviewed(true);
+        pipeline.addStep(step1);
+        pipeline.addStep(step2);
+        eventBus.post(new ConnectionAddedEvent(
+                connectionFactory.create(
+                        (OutputSocket) step1.getOutputSockets()[0],
+                        (InputSocket) step2.getInputSockets()[2]
+                )));
+
+        final File xml = temporaryFolder.newFile("project.grip");
+        final File reloadedXml = temporaryFolder.newFile("reloaded.grip");
+        final File binary = temporaryFolder.newFile("project" + BinaryProjectFormat.EXTENSION);
+        final File convertedXml = temporaryFolder.newFile("converted.grip");
+        project.save(xml);
+
+        // Compare against a project that was loaded from XML too, since numbers are always loaded from XML as doubles
+        final ProjectConverter converter = injector.getInstance(ProjectConverter.class);
+        converter.convert(xml, reloadedXml);
+        converter.convert(xml, binary);
+        converter.convert(binary, convertedXml);
+
+        assertEquals("Converting to binary and back should not change the project",
+                com.google.common.io.Files.toString(reloadedXml, StandardCharsets.UTF_8),
+                com.google.common.io.Files.toString(convertedXml, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSaveInBackgroundUsesSnapshot() throws Exception {
+        pipeline.addStep(stepFactory.create(additionOperation));
+        pipeline.addStep(stepFactory.create(additionOperation));
+
+        final File file = temporaryFolder.newFile("background.grip");
+        final ListenableFuture<File> saved = project.saveInBackground(file);
+
+        // Changes made after the save started shouldn't end up in the file
+        pipeline.clear();
+        assertEquals(file, saved.get());
+
+        project.open(file);
+        assertEquals("The project should have been saved as it was when the save started",
+                2, pipeline.getSteps().size());
+        assertEquals("The temporary file should have been moved over the project",
+                1, temporaryFolder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void testSaveKeepsPermissions() throws Exception {
+        final File file = temporaryFolder.newFile("shared.grip");
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        java.nio.file.Files.setPosixFilePermissions(file.toPath(), permissions);
+
+        project.save(file);
+        assertEquals("Saving should not change who can read the project",
+                permissions, java.nio.file.Files.getPosixFilePermissions(file.toPath()));
+    }
+
+    @Test
+    public void testFailedSaveKeepsFile() throws Exception {
+        final File file = temporaryFolder.newFile("project.grip");
+        project.save(file);
+
+        final File missing = new File(temporaryFolder.getRoot(), "missing/project.grip");
+        try {
+            project.save(missing);
+            fail("Saving to a directory that doesn't exist should fail");
+        } catch (IOException e) {
+            assertEquals("A failed save should not change the project's file", Optional.of(file), project.getFile());
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package edu.wpi.grip.core.sources;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.events.SocketChangedEvent;
 import edu.wpi.grip.util.Files;
 import edu.wpi.grip.util.ImageWithData;
 import org.bytedeco.javacpp.opencv_core.Mat;
@@ -13,6 +15,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -70,4 +73,21 @@ public class ImageFileSourceTest {
         source.initialize();
         assertFalse("The value should now be present since the source has been initialized", imageSource.getValue().get().empty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testInitializePostsSocketChanged() throws IOException {
+        final ImageFileSource source = new ImageFileSource(eventBus, origin -> null, this.imageFile.file);
+        final OutputSocket<Mat> imageSource = source.getOutputSockets()[0];
+        final int[] changes = {0};
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onSocketChanged(SocketChangedEvent event) {
+                if (event.getSocket() == imageSource) {
+                    changes[0]++;
+                }
+            }
+        });
+        source.initialize();
+        assertEquals("Loading the image should tell the pipeline that the output changed", 1, changes[0]);
+    }
+}
@@ -0,0 +1,111 @@
+package edu.wpi.grip.core.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncLogHandlerTest {
+
+    /**
+     * Keeps the message of every record it's given
+     */
+    private static class RecordingHandler extends Handler {
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+
+    @Test
+    public void testRecordsAreWrittenInOrder() {
+        final RecordingHandler recorder = new RecordingHandler();
+        final AsyncLogHandler handler = new AsyncLogHandler(recorder);
+
+        handler.publish(new LogRecord(Level.INFO, "first"));
+        handler.publish(new LogRecord(Level.INFO, "second"));
+        handler.close();
+
+        final List<String> messages = recorder.getMessages();
+        assertEquals(2, messages.size());
+        assertEquals("first", messages.get(0));
+        assertEquals("second", messages.get(1));
+    }
+
+    @Test
+    public void testRepeatedRecordsAreCollapsed() {
+        final RecordingHandler recorder = new RecordingHandler();
+        final AsyncLogHandler handler = new AsyncLogHandler(recorder);
+        final RuntimeException exception = new RuntimeException("Step failed");
+
+        for (int i = 0; i < 5; i++) {
+            final LogRecord record = new LogRecord(Level.WARNING, "The operation did not perform correctly.");
+            record.setThrown(exception);
+            handler.publish(record);
+        }
+        handler.publish(new LogRecord(Level.INFO, "different"));
+        handler.close();
+
+        final List<String> messages = recorder.getMessages();
+        assertEquals("Repeated records should be written once, followed by a count", 3, messages.size());
+        assertEquals("The operation did not perform correctly.", messages.get(0));
+        assertEquals("The previous message was repeated 4 more times", messages.get(1));
+        assertEquals("different", messages.get(2));
+    }
+
+    @Test
+    public void testRecordsAreDroppedWhenFull() throws InterruptedException {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingHandler recorder = new RecordingHandler() {
+            @Override
+            public void publish(LogRecord record) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        final AsyncLogHandler handler = new AsyncLogHandler(2, recorder);
+
+        // Hold up the writer thread on the first record, then log more than the buffer can hold
+        handler.publish(new LogRecord(Level.INFO, "0"));
+        assertTrue("The writer thread never wrote the first record", writing.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            handler.publish(new LogRecord(Level.INFO, Integer.toString(i)));
+        }
+        release.countDown();
+        handler.close();
+
+        final List<String> messages = recorder.getMessages();
+        assertEquals("0", messages.get(0));
+        assertEquals("1", messages.get(1));
+        assertEquals("2", messages.get(2));
+        assertTrue("The number of dropped records was not logged", messages.get(3).startsWith("2 log records were dropped"));
+    }
+}
@@ -1,5 +1,6 @@
 package edu.wpi.grip.core.util;
 
+import com.google.common.base.Ticker;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import edu.wpi.grip.core.events.ExceptionClearedEvent;
@@ -8,8 +9,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public final class ErrorWitnessTest {
@@ -17,6 +20,7 @@ public final class ErrorWitnessTest {
     private ExceptionWitness errorWitness;
     private Object witnessObserver;
     private TestWitnessListener testWitnessListener;
+    private long nanos = 0;
 
     /**
      * Used to count the number of calls that ExceptionEvent and ExceptionClearedEvent fires.
@@ -26,10 +30,12 @@ public final class ErrorWitnessTest {
         private int clearRunCount = 0;
         private Optional<Object> errorWitnessObserver = Optional.empty();
         private Optional<Object> clearedWitnessObserver = Optional.empty();
+        private int lastOccurrences = 0;
 
         @Subscribe
         public void onErrorEvent(ExceptionEvent event) {
             errorRunCount++;
+            lastOccurrences = event.getOccurrences();
             this.errorWitnessObserver = Optional.of(event.getOrigin());
         }
 
@@ -44,7 +50,12 @@ public final class ErrorWitnessTest {
     public void setUp() {
         this.eventBus = new EventBus();
         this.witnessObserver = new Object();
-        this.errorWitness = new ExceptionWitness(eventBus, witnessObserver);
+        this.errorWitness = new ExceptionWitness(eventBus, witnessObserver, new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        });
         this.testWitnessListener = new TestWitnessListener();
         this.eventBus.register(testWitnessListener);
     }
@@ -81,6 +92,51 @@ public final class ErrorWitnessTest {
         assertEquals("The cleared run count was not 1 after multiple clearException calls without an error call between them", 1, testWitnessListener.clearRunCount);
     }
 
+    @Test
+    public void testRepeatedErrorsArePostedAtBoundedRate() {
+        for (int i = 0; i < 100; i++) {
+            fireAnError();
+        }
+        assertEquals("The same error flagged repeatedly should only be posted once", 1, testWitnessListener.errorRunCount);
+        assertEquals("Every error should still be counted", 100, errorWitness.getOccurrences());
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(ExceptionWitness.REPOST_INTERVAL_MILLIS);
+        fireAnError();
+        assertEquals("The error should be posted again after the interval", 2, testWitnessListener.errorRunCount);
+        assertEquals("The event should include the errors that weren't posted", 101, testWitnessListener.lastOccurrences);
+    }
+
+    @Test
+    public void testDifferentProblemIsPostedImmediately() {
+        fireAnError();
+        errorWitness.flagWarning("A warning");
+        assertEquals("A different kind of problem should be posted right away", 2, testWitnessListener.errorRunCount);
+    }
+
+    @Test
+    public void testErrorIsPostedAgainAfterClear() {
+        fireAnError();
+        errorWitness.clearException();
+        fireAnError();
+        assertEquals("An error after a clear should be posted", 2, testWitnessListener.errorRunCount);
+        assertEquals("Occurrences should start over after a clear", 1, testWitnessListener.lastOccurrences);
+    }
+
+    @Test
+    public void testRepeatedWarningIsNotPosted() {
+        assertTrue(errorWitness.flagWarning("A warning"));
+        assertFalse("A repeated warning should not be posted", errorWitness.flagWarning("A warning"));
+    }
+
+    @Test
+    public void testDifferentWarningIsPostedImmediately() {
+        errorWitness.flagWarning("A warning");
+        assertTrue("A warning with a different message should be posted right away",
+                errorWitness.flagWarning("Another warning"));
+        assertEquals(2, testWitnessListener.errorRunCount);
+        assertEquals("The event should still count both warnings", 2, testWitnessListener.lastOccurrences);
+    }
+
     private void fireAnError() {
         try {
             throw new IllegalStateException("This is expected");
@@ -114,8 +114,15 @@ public class DeployController {
         deploying.setValue(true);
         console.clear();
 
+        // The project may or may not be saved to a file (and even if it was saved, it might be modified), so we
+        // serialize it to a string before deploying.  This is done here so the deploy thread doesn't read the
+        // pipeline while it's being edited.
+        final StringWriter projectWriter = new StringWriter();
+        project.save(projectWriter);
+        final String projectContents = projectWriter.toString();
+
         // Start the deploy in a new thread, so the GUI doesn't freeze
-        deployThread = Optional.of(new Thread(this::deploy, "Deploy"));
+        deployThread = Optional.of(new Thread(() -> deploy(projectContents), "Deploy"));
         deployThread.get().setDaemon(true);
         deployThread.get().start();
     }
@@ -130,8 +137,10 @@ public class DeployController {
     /**
      * Upload and run the GRIP project using the current deploy settings.  This is run in a separate thread, and it
      * periodically updates the GUI to inform the user of the current status of the deployment.
+     *
+     * @param projectContents The project to deploy, already serialized on the FX thread
      */
-    private void deploy() {
+    private void deploy(String projectContents) {
         setStatusAsync("Connecting to " + address.getText(), false);
 
         try (SSHClient ssh = new SSHClient()) {
@@ -152,11 +161,6 @@ public class DeployController {
                 }
             });
 
-            // The project may or may not be saved to a file (and even if it was saved, it might be modified), so we
-            // serialize it to a string before deploying.
-            StringWriter projectWriter = new StringWriter();
-            project.save(projectWriter);
-
             final String commandStr = command.get();
             final String pathStr = deployDir.getText() + "/";
 
@@ -185,7 +189,7 @@ public class DeployController {
                             + "if [ $PID ]; then kill -9 $PID; fi\n"
                             + "echo \"" + commandStr + "\"\n"
                             + commandStr, 0755), pathStr);
-            scp.upload(new StringInMemoryFile(projectFile.getText(), projectWriter.toString()), pathStr);
+            scp.upload(new StringInMemoryFile(projectFile.getText(), projectContents), pathStr);
 
             // Stop the pipeline before running it remotely, so the two instances of GRIP don't try to publish to the
             // same NetworkTables keys.
@@ -11,6 +11,8 @@ import edu.wpi.grip.core.Palette;
 import edu.wpi.grip.core.PipelineRunner;
 import edu.wpi.grip.core.events.UnexpectedThrowableEvent;
 import edu.wpi.grip.core.operations.Operations;
+import edu.wpi.grip.core.serialization.Project;
+import edu.wpi.grip.core.serialization.ProjectAutosave;
 import edu.wpi.grip.core.util.SafeShutdown;
 import edu.wpi.grip.generated.CVOperations;
 import edu.wpi.grip.ui.util.DPIUtility;
@@ -35,6 +37,10 @@ public class Main extends Application {
     @Inject
     private PipelineRunner pipelineRunner;
     @Inject
+    private Project project;
+    @Inject
+    private ProjectAutosave projectAutosave;
+    @Inject
     private Logger logger;
 
     @VisibleForTesting
@@ -65,12 +71,15 @@ public class Main extends Application {
         CVOperations.addOperations(eventBus);
 
         stage.setOnCloseRequest((event) -> {
+            // Don't lose a save that's still being written
+            project.awaitBackgroundSaves();
             // If this isn't here this can cause a deadlock on windows
             // See issue #297
             SafeShutdown.exit(0, Platform::exit);
         });
 
         pipelineRunner.startAsync();
+        projectAutosave.serializeOn(Platform::runLater).startAsync();
 
         stage.setTitle("GRIP Computer Vision Engine");
         stage.getIcons().add(new Image("/edu/wpi/grip/ui/icons/grip.png"));
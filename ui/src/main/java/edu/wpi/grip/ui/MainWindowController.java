@@ -2,11 +2,15 @@ package edu.wpi.grip.ui;
 
 import com.google.common.base.CaseFormat;
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.Service;
 import edu.wpi.grip.core.Palette;
 import edu.wpi.grip.core.Pipeline;
 import edu.wpi.grip.core.PipelineRunner;
 import edu.wpi.grip.core.events.ProjectSettingsChangedEvent;
+import edu.wpi.grip.core.events.UnexpectedThrowableEvent;
+import edu.wpi.grip.core.serialization.BinaryProjectFormat;
 import edu.wpi.grip.core.serialization.Project;
 import edu.wpi.grip.core.settings.ProjectSettings;
 import edu.wpi.grip.core.util.SafeShutdown;
@@ -79,7 +83,7 @@ public class MainWindowController {
     /**
      * If there are any steps in the pipeline, give the user a chance to cancel an action or save the current project.
      *
-     * @return true If the user has not chosen to
+     * @return true If the user has not chosen to cancel, and the project was saved if the user chose to save it
      */
     private boolean showConfirmationDialogAndWait() {
         if (!pipeline.getSteps().isEmpty()) {
@@ -99,14 +103,10 @@ public class MainWindowController {
                     return false;
                 }
 
-                // If the user chose "Save", automatically show a save dialog and block until the user has had a
-                // chance to save the project.
+                // If the user chose "Save", automatically show a save dialog and block until the project has been
+                // written.  The current project is about to go away, so it can't be saved in the background.
                 if (dialog.getResult().equals(save)) {
-                    try {
-                        saveProject();
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+                    return saveProjectAndWait();
                 }
             }
         }
@@ -140,7 +140,7 @@ public class MainWindowController {
             final FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Open Project");
             fileChooser.getExtensionFilters().addAll(
-                    new ExtensionFilter("GRIP File", "*.grip"),
+                    new ExtensionFilter("GRIP File", "*.grip", "*" + BinaryProjectFormat.EXTENSION),
                     new ExtensionFilter("All Files", "*", "*.*"));
 
             project.getFile().ifPresent(file -> fileChooser.setInitialDirectory(file.getParentFile()));
@@ -163,7 +163,7 @@ public class MainWindowController {
     public boolean saveProject() throws IOException {
         if (project.getFile().isPresent()) {
             // Immediately save the project to whatever file it was loaded from or last saved to.
-            project.save(project.getFile().get());
+            saveInBackground(project.getFile().get());
             return true;
         } else {
             return saveProjectAs();
@@ -179,19 +179,62 @@ public class MainWindowController {
      */
     @FXML
     public boolean saveProjectAs() throws IOException {
+        final Optional<File> file = showSaveDialog();
+        file.ifPresent(this::saveInBackground);
+        return file.isPresent();
+    }
+
+    /**
+     * @return The file the user chose to save the project to, or nothing if the user cancelled
+     */
+    private Optional<File> showSaveDialog() {
         final FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save Project As");
-        fileChooser.getExtensionFilters().add(new ExtensionFilter("GRIP File", "*.grip"));
+        fileChooser.getExtensionFilters().addAll(
+                new ExtensionFilter("GRIP File", "*.grip"),
+                new ExtensionFilter("Compact GRIP File", "*" + BinaryProjectFormat.EXTENSION));
 
         project.getFile().ifPresent(file -> fileChooser.setInitialDirectory(file.getParentFile()));
 
-        final File file = fileChooser.showSaveDialog(root.getScene().getWindow());
-        if (file == null) {
+        return Optional.ofNullable(fileChooser.showSaveDialog(root.getScene().getWindow()));
+    }
+
+    /**
+     * Save the project to the file it was loaded from or last saved to, or ask the user for a file if there isn't
+     * one, and wait until it's been written.  If it can't be written, the user is told why before this returns.
+     *
+     * @return true if the project was saved
+     */
+    private boolean saveProjectAndWait() {
+        final Optional<File> file = project.getFile().isPresent() ? project.getFile() : showSaveDialog();
+        if (!file.isPresent()) {
             return false;
         }
 
-        project.save(file);
-        return true;
+        try {
+            project.save(file.get());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            eventBus.post(new UnexpectedThrowableEvent(e, "The project could not be saved to " + file.get()));
+            return false;
+        }
+    }
+
+    /**
+     * Save the project without blocking the UI.  If the file can't be written, the user is told about it the same way
+     * as any other unexpected error.
+     */
+    private void saveInBackground(File file) {
+        Futures.addCallback(project.saveInBackground(file), new FutureCallback<File>() {
+            @Override
+            public void onSuccess(File result) {
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                eventBus.post(new UnexpectedThrowableEvent(t, "The project could not be saved to " + file));
+            }
+        });
     }
 
     @FXML
@@ -210,6 +253,8 @@ public class MainWindowController {
     public void quit() {
         if (showConfirmationDialogAndWait()) {
             pipelineRunner.stopAsync();
+            // Don't lose a save that's still being written
+            project.awaitBackgroundSaves();
             SafeShutdown.exit(0);
         }
     }
@@ -102,7 +102,8 @@ public final class ExceptionWitnessResponderButton extends Button {
         private void assignFromExceptionEvent(ExceptionEvent event) {
             final int wrapNumber = 80;
             final String errorMessageText =
-                    WordUtils.wrap(event.getMessage(), wrapNumber, null, true);
+                    WordUtils.wrap(event.getMessage(), wrapNumber, null, true)
+                            + (event.getOccurrences() > 1 ? "\n(Happened " + event.getOccurrences() + " times)" : "");
             errorMessage.setText(errorMessageText);
             if (event.getException().isPresent()) {
                 final Exception exception = event.getException().get();
@@ -1,18 +1,11 @@
 package edu.wpi.grip.ui.preview;
 
-import com.google.common.eventbus.Subscribe;
 import edu.wpi.grip.core.OutputSocket;
-import edu.wpi.grip.core.events.RenderEvent;
 import edu.wpi.grip.core.operations.composite.BlobsReport;
-import edu.wpi.grip.ui.util.GRIPPlatform;
-import edu.wpi.grip.ui.util.ImageConverter;
 import javafx.application.Platform;
 import javafx.geometry.Orientation;
 import javafx.scene.control.CheckBox;
-import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 
 import static org.bytedeco.javacpp.opencv_core.*;
@@ -22,26 +15,21 @@ import static org.bytedeco.javacpp.opencv_imgproc.*;
  * A SocketPreviewView for BlobsReports that shows the original image with circles overlayed onto it,
  * showing the location and size of detected blobs.
  */
-public class BlobsSocketPreviewView extends SocketPreviewView<BlobsReport> {
+public class BlobsSocketPreviewView extends OverlaySocketPreviewView<BlobsReport> {
 
-    private final ImageConverter imageConverter = new ImageConverter();
-    private final ImageView imageView = new ImageView();
-    private final Label infoLabel = new Label();
-    private final Mat tmp = new Mat();
-    private final GRIPPlatform platform;
-    private boolean showInputImage = false;
+    private volatile boolean showInputImage = false;
 
     /**
+     * @param renderer The thread to draw the blobs on
      * @param socket   An output socket to preview
      */
-    public BlobsSocketPreviewView(GRIPPlatform platform, OutputSocket<BlobsReport> socket) {
-        super(socket);
-        this.platform = platform;
+    public BlobsSocketPreviewView(PreviewRenderer renderer, OutputSocket<BlobsReport> socket) {
+        super(renderer, socket);
         final CheckBox show = new CheckBox("Show Input Image");
         show.setSelected(this.showInputImage);
         show.selectedProperty().addListener(observable -> {
             this.showInputImage = show.isSelected();
-            this.convertImage();
+            this.render();
         });
 
         final VBox content = new VBox(this.imageView, new Separator(Orientation.HORIZONTAL), this.infoLabel, show);
@@ -51,43 +39,25 @@ public class BlobsSocketPreviewView extends SocketPreviewView<BlobsReport> {
         assert Platform.isFxApplicationThread() : "Must be in FX Thread to create this or you will be exposing constructor to another thread!";
     }
 
+    @Override
+    protected String rasterize(BlobsReport blobsReport, Mat raster, double maxWidth, double maxHeight) {
+        final Mat input = blobsReport.getInput();
+        final double scale = scaleToFit(input.cols(), input.rows(), maxWidth, maxHeight);
 
-    @Subscribe
-    public void onRender(RenderEvent event) {
-        this.convertImage();
-    }
-
-    private void convertImage() {
-        synchronized (this) {
-            final BlobsReport blobsReport = this.getSocket().getValue().get();
-            final Mat input = blobsReport.getInput();
-
-            if (input.channels() == 3) {
-                input.copyTo(tmp);
-            } else {
-                cvtColor(input, tmp, CV_GRAY2BGR);
-            }
-            // If we don't want to see the background image, set it to black
-            if (!this.showInputImage) {
-                bitwise_xor(tmp, tmp, tmp);
-            }
-
-            // If there were lines found, draw them on the image before displaying it
-            if (!blobsReport.getBlobs().isEmpty()) {
-                // For each line in the report, draw a line along with the starting and ending points
-                for (BlobsReport.Blob blob : blobsReport.getBlobs()) {
-                    final Point point = new Point((int) blob.x, (int) blob.y);
-                    circle(tmp, point, (int) (blob.size / 2), Scalar.WHITE, 2, LINE_8, 0);
-                }
-            }
+        // If we don't want to see the background image, set it to black
+        if (this.showInputImage) {
+            drawBackground(input, raster, scale);
+        } else {
+            drawBlank(input.rows(), input.cols(), raster, scale);
+        }
 
-            final Mat output = tmp;
-            final int numBlobs = blobsReport.getBlobs().size();
-            platform.runAsSoonAsPossible(() -> {
-                final Image image = this.imageConverter.convert(output);
-                this.imageView.setImage(image);
-                this.infoLabel.setText("Found " + numBlobs + " blobs");
-            });
+        // For each blob in the report, draw a circle with the blob's diameter on the image before displaying it
+        final int numBlobs = blobsReport.getCount();
+        for (int i = 0; i < numBlobs; i++) {
+            final Point point = new Point((int) (blobsReport.getX(i) * scale), (int) (blobsReport.getY(i) * scale));
+            circle(raster, point, (int) (blobsReport.getSize(i) * scale / 2), Scalar.WHITE, 2, LINE_8, 0);
         }
+
+        return "Found " + numBlobs + " blobs";
     }
 }
@@ -0,0 +1,156 @@
+package edu.wpi.grip.ui.preview;
+
+import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.ui.util.ImageConverter;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import org.bytedeco.javacpp.opencv_imgproc;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.*;
+
+/**
+ * A preview that draws shapes found by an operation, like contours or lines, into an image.
+ * <p>
+ * The snapshot to draw is taken on the FX thread, and then it's drawn on the {@link PreviewRenderer} thread, at the
+ * size the image is shown at rather than the size of the image the shapes were found in.  The result is handed back
+ * to the FX thread to be shown.  Only one image is
+ * drawn at a time for each preview.  If the preview goes out of date while it's being drawn, it's drawn once more
+ * with the newest snapshot when it's done.
+ *
+ * @param <T> The type of report this previews
+ */
+public abstract class OverlaySocketPreviewView<T> extends SocketPreviewView<T> {
+
+    private final PreviewRenderer renderer;
+    private final ImageConverter imageConverter = new ImageConverter();
+    protected final ImageView imageView = new ImageView();
+    protected final Label infoLabel = new Label();
+
+    /**
+     * The image that the overlay is drawn into.  This belongs to the render thread while it's drawing, and to the FX
+     * thread while it's being shown, but never to both at once.
+     */
+    private final Mat raster = new Mat();
+    private final Mat scaledInput = new Mat();
+
+    // These are only used on the FX thread
+    private boolean rendering = false;
+    private boolean renderAgain = false;
+
+    /**
+     * @param renderer The thread to draw the overlay on
+     * @param socket   An output socket to preview
+     */
+    protected OverlaySocketPreviewView(PreviewRenderer renderer, OutputSocket<T> socket) {
+        super(socket);
+        this.renderer = checkNotNull(renderer);
+    }
+
+    /**
+     * Draw a report into an image.  This is called on the {@link PreviewRenderer} thread.
+     *
+     * @param report    A snapshot of the value of the socket
+     * @param raster    The image to draw into.  This should be {@link #scaleToFit scaled} to fit in the given size,
+     *                  along with everything drawn in it.
+     * @param maxWidth  The widest the image is shown, or 0 if it's shown at full size
+     * @param maxHeight The tallest the image is shown, or 0 if it's shown at full size
+     * @return The text to show under the image
+     */
+    protected abstract String rasterize(T report, Mat raster, double maxWidth, double maxHeight);
+
+    @Override
+    protected final void render() {
+        if (this.rendering) {
+            this.renderAgain = true;
+            return;
+        }
+        final Optional<T> snapshot = this.getSnapshot();
+        if (!snapshot.isPresent()) {
+            return;
+        }
+        this.rendering = true;
+        this.renderAgain = false;
+
+        // The snapshot isn't changed until the next time it's read, which won't be until this one has been drawn
+        final T report = snapshot.get();
+        // Previews are laid out side by side and scroll sideways, so only their height is limited
+        final double maxHeight = getMaxImageHeight(this.imageView);
+        this.renderer.execute(() -> this.renderInBackground(report, 0, maxHeight));
+    }
+
+    private void renderInBackground(T report, double maxWidth, double maxHeight) {
+        final String info;
+        try {
+            info = this.rasterize(report, this.raster, maxWidth, maxHeight);
+        } catch (RuntimeException e) {
+            Platform.runLater(this::finishRender);
+            throw e;
+        }
+
+        Platform.runLater(() -> {
+            this.imageView.setImage(this.imageConverter.convert(this.raster));
+            this.infoLabel.setText(info);
+            this.finishRender();
+        });
+    }
+
+    private void finishRender() {
+        this.rendering = false;
+        if (this.renderAgain) {
+            this.render();
+        }
+    }
+
+    /**
+     * @return How much an image has to be shrunk to fit in the space it's shown in.  Images are never enlarged.
+     */
+    protected static double scaleToFit(int cols, int rows, double maxWidth, double maxHeight) {
+        return Math.min(1.0, Math.min(
+                maxWidth > 0 ? maxWidth / cols : 1.0,
+                maxHeight > 0 ? maxHeight / rows : 1.0));
+    }
+
+    /**
+     * Make the raster the given size times the scale and fill it with black.
+     *
+     * @param rows   The height of the image the report was made from
+     * @param cols   The width of the image the report was made from
+     * @param raster The image to fill.  This becomes a 3-channel BGR image.
+     * @param scale  How much to shrink the image by
+     */
+    protected static void drawBlank(int rows, int cols, Mat raster, double scale) {
+        raster.create((int) Math.round(rows * scale), (int) Math.round(cols * scale), CV_8UC3);
+        raster.put(Scalar.all(0));
+    }
+
+    /**
+     * Make the raster the size of the input image times the scale and fill it with a scaled copy of the input image.
+     *
+     * @param input  The image the report was made from, with 1 or 3 channels
+     * @param raster The image to fill.  This becomes a 3-channel BGR image.
+     * @param scale  How much to shrink the image by
+     */
+    protected final void drawBackground(Mat input, Mat raster, double scale) {
+        Mat background = input;
+        if (input.empty()) {
+            input.copyTo(raster);
+            return;
+        } else if (scale != 1.0) {
+            // Region has its own resize method, so OpenCV's has to be named in full
+            opencv_imgproc.resize(input, this.scaledInput, new Size((int) Math.round(input.cols() * scale),
+                    (int) Math.round(input.rows() * scale)), 0, 0, INTER_AREA);
+            background = this.scaledInput;
+        }
+
+        if (background.channels() == 3) {
+            background.copyTo(raster);
+        } else {
+            cvtColor(background, raster, CV_GRAY2BGR);
+        }
+    }
+}
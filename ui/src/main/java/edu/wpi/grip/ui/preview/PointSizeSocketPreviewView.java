@@ -1,9 +1,6 @@
 package edu.wpi.grip.ui.preview;
 
-import com.google.common.eventbus.Subscribe;
 import edu.wpi.grip.core.OutputSocket;
-import edu.wpi.grip.core.events.RenderEvent;
-import edu.wpi.grip.ui.util.GRIPPlatform;
 import javafx.application.Platform;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
@@ -19,14 +16,12 @@ import static org.bytedeco.javacpp.opencv_core.Size;
 public class PointSizeSocketPreviewView extends SocketPreviewView<IntPointer> {
 
     private final TextField x, y;
-    private GRIPPlatform platform;
 
     /**
      * @param socket   An output socket to preview
      */
-    PointSizeSocketPreviewView(GRIPPlatform platform, OutputSocket<IntPointer> socket) {
+    PointSizeSocketPreviewView(OutputSocket<IntPointer> socket) {
         super(socket);
-        this.platform = platform;
 
         x = new TextField();
         x.setEditable(false);
@@ -48,18 +43,13 @@ public class PointSizeSocketPreviewView extends SocketPreviewView<IntPointer> {
         this.setContent(gridPane);
 
         assert Platform.isFxApplicationThread() : "Must be in FX Thread to create this or you will be exposing constructor to another thread!";
-        updateTextFields();
     }
 
-    @Subscribe
-    public void onRenderEvent(RenderEvent event) {
-        this.updateTextFields();
-    }
-
-    private void updateTextFields() {
-        platform.runAsSoonAsPossible(() -> {
-            this.x.setText(Integer.toString(this.getSocket().getValue().get().get(0)));
-            this.y.setText(Integer.toString(this.getSocket().getValue().get().get(1)));
+    @Override
+    protected void render() {
+        this.getSnapshot().ifPresent(pointer -> {
+            this.x.setText(Integer.toString(pointer.get(0)));
+            this.y.setText(Integer.toString(pointer.get(1)));
         });
     }
 }
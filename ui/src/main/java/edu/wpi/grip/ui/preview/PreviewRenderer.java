@@ -0,0 +1,30 @@
+package edu.wpi.grip.ui.preview;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Singleton;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The thread that {@link OverlaySocketPreviewView overlay previews} draw on.
+ * <p>
+ * Drawing contours, lines, and blobs can take a while with a lot of them, and neither the pipeline thread nor the FX
+ * thread should have to wait for it.  This thread has the lowest priority, so when the computer is busy, the previews
+ * fall behind instead of the pipeline or the rest of the GUI.
+ */
+@Singleton
+public class PreviewRenderer implements Executor {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("GRIP-Preview-Renderer")
+            .setPriority(Thread.MIN_PRIORITY)
+            .setDaemon(true)
+            .build());
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+}
@@ -7,12 +7,19 @@ import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.Pipeline;
 import edu.wpi.grip.core.Source;
 import edu.wpi.grip.core.Step;
+import edu.wpi.grip.core.events.ProjectSettingsChangedEvent;
 import edu.wpi.grip.core.events.SocketPreviewChangedEvent;
 import edu.wpi.grip.core.events.StepMovedEvent;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.HBox;
 
 import javax.inject.Inject;
@@ -28,6 +35,8 @@ import java.util.Comparator;
 @Singleton
 public class PreviewsController {
 
+    @FXML
+    private ScrollPane scrollPane;
     @FXML
     private HBox previewBox;
 
@@ -36,6 +45,60 @@ public class PreviewsController {
     @Inject
     private SocketPreviewViewFactory previewViewFactory;
 
+    private int maxFrameRate;
+    private double availableHeight;
+
+    /**
+     * Previews only mark themselves as out of date when the pipeline runs.  Once every JavaFX pulse, this redraws
+     * any that are, so the pipeline thread never waits for the GUI.
+     */
+    private final AnimationTimer renderTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            final ObservableList<SocketPreviewView<?>> previews = getPreviews();
+            for (int i = 0; i < previews.size(); i++) {
+                previews.get(i).renderIfNeeded(now);
+            }
+        }
+    };
+
+    @FXML
+    public void initialize() {
+        maxFrameRate = pipeline.getProjectSettings().getPreviewFrameRate();
+        scrollPane.viewportBoundsProperty().addListener(observable -> {
+            availableHeight = getAvailableHeight();
+            getPreviews().forEach(preview -> preview.setAvailableHeight(availableHeight));
+        });
+        renderTimer.start();
+    }
+
+    /**
+     * @return The height that previews can be without scrolling vertically
+     */
+    private double getAvailableHeight() {
+        final Insets padding = previewBox.getInsets();
+        double height = scrollPane.getViewportBounds().getHeight() - padding.getTop() - padding.getBottom();
+
+        // Leave room for the horizontal scroll bar even when it's hidden.  Otherwise, shrinking the previews to make
+        // room for it could make it go away again, and the previews would keep changing size.
+        for (Node node : scrollPane.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.HORIZONTAL
+                    && !node.isVisible()) {
+                height -= ((ScrollBar) node).prefHeight(-1);
+            }
+        }
+        return Math.max(0, height);
+    }
+
+    @Subscribe
+    public void onProjectSettingsChanged(ProjectSettingsChangedEvent event) {
+        final int maxFrameRate = event.getProjectSettings().getPreviewFrameRate();
+        Platform.runLater(() -> {
+            this.maxFrameRate = maxFrameRate;
+            getPreviews().forEach(preview -> preview.setMaxFrameRate(maxFrameRate));
+        });
+    }
+
     /**
      * Any time a step is moved in the pipeline, we have to re-sort the previews
      */
@@ -57,7 +120,10 @@ public class PreviewsController {
             final ObservableList<SocketPreviewView<?>> previews = getPreviews();
             if (socket.isPreviewed()) {
                 // When a socket previewed, add a new view, then sort all of the views so they stay ordered
-                previews.add(previewViewFactory.create(socket));
+                final SocketPreviewView<?> preview = previewViewFactory.create(socket);
+                preview.setMaxFrameRate(maxFrameRate);
+                preview.setAvailableHeight(availableHeight);
+                previews.add(preview);
                 sortPreviews(previews);
             } else {
                 // When a socket is no longer marked as previewed, find and remove the view associated with it
@@ -0,0 +1,73 @@
+package edu.wpi.grip.ui.preview;
+
+import javafx.geometry.Bounds;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decides when a {@link SocketPreviewView} should be redrawn.  A preview is redrawn only if it's out of date, it can be
+ * seen, and it hasn't already been redrawn within the last frame at the maximum frame rate.
+ * <p>
+ * The preview is marked out of date from the pipeline thread, and everything else happens on the FX thread.
+ */
+final class RenderThrottle {
+
+    private volatile boolean outOfDate = true;
+    private long minRenderIntervalNanos;
+    private boolean hasRendered;
+    private long lastRenderNanos;
+
+    /**
+     * Mark the preview as out of date.  This is safe to call from any thread.
+     */
+    void invalidate() {
+        this.outOfDate = true;
+    }
+
+    /**
+     * @param maxFrameRate The most times per second the preview should be redrawn, or 0 for no limit
+     */
+    void setMaxFrameRate(int maxFrameRate) {
+        this.minRenderIntervalNanos = maxFrameRate > 0 ? 1_000_000_000L / maxFrameRate : 0;
+    }
+
+    /**
+     * Check if the preview should be redrawn now.  If it should, it's assumed that it will be, so it's no longer out
+     * of date and the next redraw is held off until the frame interval has passed.
+     *
+     * @param nowNanos The current time in nanoseconds, from the same clock every time
+     * @param onScreen Checks if the preview can currently be seen.  This is only called if the preview would otherwise
+     *                 be redrawn, since it's the most expensive check.
+     * @return true if the preview should be redrawn
+     */
+    boolean tryRender(long nowNanos, BooleanSupplier onScreen) {
+        if (!this.outOfDate) {
+            return false;
+        }
+        if (this.hasRendered && nowNanos - this.lastRenderNanos < this.minRenderIntervalNanos) {
+            return false;
+        }
+        if (!onScreen.getAsBoolean()) {
+            return false;
+        }
+
+        // Clear the flag first, so a frame that finishes while rendering marks the preview out of date again
+        this.outOfDate = false;
+        this.hasRendered = true;
+        this.lastRenderNanos = nowNanos;
+        return true;
+    }
+
+    /**
+     * @param bounds      The bounds of a preview in scene coordinates
+     * @param sceneWidth  The width of the scene the preview is in
+     * @param sceneHeight The height of the scene the preview is in
+     * @param viewport    The bounds in scene coordinates of the scroll pane the preview is in, if there is one
+     * @return true if any part of the preview is inside both the scene and the scroll pane
+     */
+    static boolean isInView(Bounds bounds, double sceneWidth, double sceneHeight, Optional<Bounds> viewport) {
+        return bounds.intersects(0, 0, sceneWidth, sceneHeight)
+                && viewport.map(bounds::intersects).orElse(true);
+    }
+}
@@ -1,17 +1,38 @@
 package edu.wpi.grip.ui.preview;
 
+import com.google.common.eventbus.Subscribe;
 import edu.wpi.grip.core.OutputSocket;
+import edu.wpi.grip.core.events.RenderEvent;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TitledPane;
 
+import java.util.Optional;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A JavaFX control that shows a preview of the current value of a socket.  This allows the user to have real-time
  * feedback on an algorithm.
+ * <p>
+ * Previews don't redraw themselves as soon as the pipeline runs.  A {@link RenderEvent} only marks the preview as out
+ * of date, which never blocks the pipeline thread, and {@link PreviewsController} redraws out of date previews on the
+ * FX thread at most {@link #setMaxFrameRate(int) a few times per second}.  However many frames the pipeline runs in
+ * between, each preview is only redrawn once, and previews that are scrolled out of view aren't redrawn at all.
+ * <p>
+ * Previews draw a {@link #getSnapshot() snapshot} of the socket's value rather than the value itself, because the
+ * pipeline may already be writing the next frame into it.
  */
 public abstract class SocketPreviewView<T> extends TitledPane {
     private final OutputSocket<T> socket;
 
+    private final RenderThrottle throttle = new RenderThrottle();
+    private double availableHeight = 0;
+
     /**
      * @param socket   An output socket to preview
      */
@@ -43,4 +64,99 @@ public abstract class SocketPreviewView<T> extends TitledPane {
         return this.socket;
     }
 
+    /**
+     * @return A copy of the newest value of the socket that the pipeline published, which the pipeline won't change.
+     * This is empty until the pipeline has run with the socket previewed.  Only call this on the FX thread.  The copy
+     * isn't changed until the next call, so it can be handed to another thread to draw, as long as this isn't called
+     * again until the drawing is done.
+     * @see OutputSocket#getPreview()
+     */
+    protected final Optional<T> getSnapshot() {
+        assert Platform.isFxApplicationThread() : "Must be in FX Thread";
+        return this.socket.getPreview().read();
+    }
+
+    /**
+     * Update the preview with the current value of the socket.  This is always called on the FX thread.
+     */
+    protected abstract void render();
+
+    /**
+     * Mark this preview as out of date, so it's redrawn the next time it can be.  This is safe to call from any thread.
+     */
+    protected final void invalidate() {
+        this.throttle.invalidate();
+    }
+
+    @Subscribe
+    public void onRender(RenderEvent event) {
+        invalidate();
+    }
+
+    /**
+     * @param maxFrameRate The most times per second this preview should be redrawn, or 0 for no limit
+     */
+    public void setMaxFrameRate(int maxFrameRate) {
+        assert Platform.isFxApplicationThread() : "Must be in FX Thread";
+        this.throttle.setMaxFrameRate(maxFrameRate);
+    }
+
+    /**
+     * @param availableHeight The height of the space this preview is shown in, or 0 if it can be as tall as it needs
+     *                        to be.  Images in the preview are shrunk to fit.
+     */
+    void setAvailableHeight(double availableHeight) {
+        assert Platform.isFxApplicationThread() : "Must be in FX Thread";
+        if (availableHeight != this.availableHeight) {
+            this.availableHeight = availableHeight;
+            invalidate();
+        }
+    }
+
+    /**
+     * @param image The node in this preview that the image is shown in
+     * @return The tallest the image can be without making this preview taller than the space it's shown in, or 0 if
+     * there's no limit.  Images should be shrunk to this size before they're shown, so only pixels that can be seen
+     * are converted or drawn.
+     */
+    protected final double getMaxImageHeight(Node image) {
+        assert Platform.isFxApplicationThread() : "Must be in FX Thread";
+        if (this.availableHeight <= 0) {
+            return 0;
+        }
+        // Leave room for everything else in the preview, like the title and any labels or controls under the image
+        final double otherHeight = prefHeight(-1) - image.prefHeight(-1);
+        return Math.max(1, this.availableHeight - otherHeight);
+    }
+
+    /**
+     * Redraw this preview if it's out of date, visible, and hasn't been redrawn too recently.
+     *
+     * @param nowNanos The current time in nanoseconds
+     */
+    void renderIfNeeded(long nowNanos) {
+        assert Platform.isFxApplicationThread() : "Must be in FX Thread";
+        if (this.throttle.tryRender(nowNanos, this::isOnScreen)) {
+            render();
+        }
+    }
+
+    /**
+     * @return true if any part of this preview is in the part of its scroll pane and window that can be seen
+     */
+    private boolean isOnScreen() {
+        final Scene scene = getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing() || !isVisible()) {
+            return false;
+        }
+
+        Optional<Bounds> viewport = Optional.empty();
+        for (Parent parent = getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof ScrollPane) {
+                viewport = Optional.of(parent.localToScene(parent.getLayoutBounds()));
+                break;
+            }
+        }
+        return RenderThrottle.isInView(localToScene(getBoundsInLocal()), scene.getWidth(), scene.getHeight(), viewport);
+    }
 }
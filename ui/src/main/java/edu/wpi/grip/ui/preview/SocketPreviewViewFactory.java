@@ -7,7 +7,6 @@ import edu.wpi.grip.core.OutputSocket;
 import edu.wpi.grip.core.operations.composite.BlobsReport;
 import edu.wpi.grip.core.operations.composite.ContoursReport;
 import edu.wpi.grip.core.operations.composite.LinesReport;
-import edu.wpi.grip.ui.util.GRIPPlatform;
 import org.bytedeco.javacpp.IntPointer;
 
 import static org.bytedeco.javacpp.opencv_core.*;
@@ -20,12 +19,12 @@ import static org.bytedeco.javacpp.opencv_core.*;
 public class SocketPreviewViewFactory {
 
     private final EventBus eventBus;
-    private final GRIPPlatform platform;
+    private final PreviewRenderer renderer;
 
     @Inject
-    SocketPreviewViewFactory(EventBus eventBus, GRIPPlatform gripPlatform) {
+    SocketPreviewViewFactory(EventBus eventBus, PreviewRenderer renderer) {
         this.eventBus = eventBus;
-        this.platform = gripPlatform;
+        this.renderer = renderer;
     }
 
     /**
@@ -37,17 +36,17 @@ public class SocketPreviewViewFactory {
     public <T> SocketPreviewView<T> create(OutputSocket<T> socket) {
         final SocketPreviewView<T> previewView;
         if (socket.getSocketHint().getType() == Mat.class) {
-            previewView = (SocketPreviewView) new ImageSocketPreviewView(platform, (OutputSocket<Mat>) socket);
+            previewView = (SocketPreviewView) new ImageSocketPreviewView((OutputSocket<Mat>) socket);
         } else if (socket.getSocketHint().getType() == Point.class || socket.getSocketHint().getType() == Size.class) {
-            previewView = (SocketPreviewView) new PointSizeSocketPreviewView(platform, (OutputSocket<IntPointer>) socket);
+            previewView = (SocketPreviewView) new PointSizeSocketPreviewView((OutputSocket<IntPointer>) socket);
         } else if (socket.getSocketHint().getType() == ContoursReport.class) {
-            previewView = (SocketPreviewView) new ContoursSocketPreviewView(platform, (OutputSocket<ContoursReport>) socket);
+            previewView = (SocketPreviewView) new ContoursSocketPreviewView(renderer, (OutputSocket<ContoursReport>) socket);
         } else if (socket.getSocketHint().getType() == LinesReport.class) {
-            previewView = (SocketPreviewView) new LinesSocketPreviewView(platform, (OutputSocket<LinesReport>) socket);
+            previewView = (SocketPreviewView) new LinesSocketPreviewView(renderer, (OutputSocket<LinesReport>) socket);
         } else if (socket.getSocketHint().getType() == BlobsReport.class) {
-            previewView = (SocketPreviewView) new BlobsSocketPreviewView(platform, (OutputSocket<BlobsReport>) socket);
+            previewView = (SocketPreviewView) new BlobsSocketPreviewView(renderer, (OutputSocket<BlobsReport>) socket);
         } else {
-            previewView = new TextAreaSocketPreviewView<>(platform, socket);
+            previewView = new TextAreaSocketPreviewView<>(socket);
         }
         eventBus.register(previewView);
         return previewView;
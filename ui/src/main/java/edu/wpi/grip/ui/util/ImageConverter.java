@@ -1,37 +1,56 @@
 package edu.wpi.grip.ui.util;
 
-import com.google.common.primitives.UnsignedBytes;
 import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 
 import static org.bytedeco.javacpp.opencv_core.*;
+import static org.bytedeco.javacpp.opencv_imgproc.COLOR_BGR2BGRA;
+import static org.bytedeco.javacpp.opencv_imgproc.COLOR_GRAY2BGRA;
+import static org.bytedeco.javacpp.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.javacpp.opencv_imgproc.cvtColor;
+import static org.bytedeco.javacpp.opencv_imgproc.resize;
 
 /**
  * Utility class for creating a JavaFX image from an OpenCV image.  This used by the preview views to render an image
  * in the GUI.
  */
 public final class ImageConverter {
+    private final Mat scaled = new Mat();
+    private final Mat bgra = new Mat();
+    private final Size scaledSize = new Size();
     private WritableImage image;
-    private IntBuffer pixels;
+    private ByteBuffer pixels;
 
     /**
-     * Convert a BGR-formatted OpenCV {@link Mat} into a JavaFX {@link Image}.
+     * Convert a BGR-formatted OpenCV {@link Mat} into a JavaFX {@link Image} the same size as the Mat.
+     *
+     * @see #convert(Mat, double, double)
+     */
+    public Image convert(Mat mat) {
+        return convert(mat, 0, 0);
+    }
+
+    /**
+     * Convert a BGR-formatted OpenCV {@link Mat} into a JavaFX {@link Image}, shrinking it first if it's bigger than
+     * the space it's shown in.
      * <p>
-     * JavaFX understands ARGB pixel data, so one way to turn a Mat into a JavaFX image is to shift around the bytes
-     * from the Mat into an int array of pixels.
+     * The whole image is converted to BGRA with one call to OpenCV, and the JavaFX image is filled straight from the
+     * converted Mat's native memory, so no pixels are touched in Java.  The converted Mat and the JavaFX image are
+     * reused as long as the size of the image stays the same.
      * <p>
      * This is also possible to do by using JavaCV, but the JavaCV method involves several intermediate conversions
      * (Mat -> Frame -> BufferedImage -> JavaFX Image) and is way too slow to use for a real-time video.
      *
-     * @param mat An 8-bit OpenCV Mat containing an image with either 1 or 3 channels
+     * @param mat       An 8-bit OpenCV Mat containing an image with either 1 or 3 channels
+     * @param maxWidth  The widest the image is shown, or 0 if it's shown at its full size
+     * @param maxHeight The tallest the image is shown, or 0 if it's shown at its full size
      * @return A JavaFX image, or null for empty
      */
-    public Image convert(Mat mat) {
+    public Image convert(Mat mat, double maxWidth, double maxHeight) {
         /*
          * IMPORTANT!
          * The {@link ImageConverter#image} is a component that may be actively part of the UI
@@ -42,8 +61,6 @@ public final class ImageConverter {
             throw new IllegalStateException("This modifies an FX object. This must be run in the UI Thread");
         }
 
-        final int width = mat.cols();
-        final int height = mat.rows();
         final int channels = mat.channels();
 
         assert channels == 3 || channels == 1 :
@@ -57,45 +74,33 @@ public final class ImageConverter {
             return null;
         }
 
-        // If the size of the Mat changed for whatever reason, allocate a new image with the proper dimensions and a buffer
-        // big enough to hold all of the pixels in the image.
-        if (this.image == null || this.image.getWidth() != width || this.image.getHeight() != height) {
-            this.image = new WritableImage(width, height);
-            this.pixels = IntBuffer.allocate(width * height);
+        // Shrink the image to the size it's actually shown at, so only the pixels that can be seen are converted
+        Mat input = mat;
+        final double scale = Math.min(
+                maxWidth > 0 ? maxWidth / mat.cols() : 1.0,
+                maxHeight > 0 ? maxHeight / mat.rows() : 1.0);
+        if (scale < 1.0) {
+            scaledSize.width(Math.max(1, (int) Math.round(mat.cols() * scale)));
+            scaledSize.height(Math.max(1, (int) Math.round(mat.rows() * scale)));
+            resize(mat, scaled, scaledSize, 0, 0, INTER_AREA);
+            input = scaled;
         }
 
-        final ByteBuffer buffer = mat.<ByteBuffer>createBuffer();
-        final int stride = buffer.capacity() / height;
-
-        // Convert the data from the Mat into ARGB data that we can put into a JavaFX WritableImage
-        switch (channels) {
-            case 1:
-                // 1 channel - convert grayscale to ARGB
-                for (int y = 0; y < height; y++) {
-                    for (int x = 0; x < width; x++) {
-                        final int value = UnsignedBytes.toInt(buffer.get(stride * y + channels * x));
-                        this.pixels.put(width * y + x, (0xff << 24) | (value << 16) | (value << 8) | value);
-                    }
-                }
-
-                break;
-
-            case 3:
-                // 3 channels - convert BGR to RGBA
-                for (int y = 0; y < height; y++) {
-                    for (int x = 0; x < width; x++) {
-                        final int b = UnsignedBytes.toInt(buffer.get(stride * y + channels * x));
-                        final int g = UnsignedBytes.toInt(buffer.get(stride * y + channels * x + 1));
-                        final int r = UnsignedBytes.toInt(buffer.get(stride * y + channels * x + 2));
-                        this.pixels.put(width * y + x, (0xff << 24) | (r << 16) | (g << 8) | b);
-                    }
-                }
-
-                break;
+        // JavaFX can read BGRA bytes directly, so one native conversion puts the pixels in the order it wants
+        cvtColor(input, bgra, channels == 1 ? COLOR_GRAY2BGRA : COLOR_BGR2BGRA);
+
+        final int width = bgra.cols();
+        final int height = bgra.rows();
+
+        // If the size of the Mat changed for whatever reason, allocate a new image with the proper dimensions.  The
+        // BGRA Mat was also reallocated in this case, so the buffer pointing to its pixels has to be created again.
+        if (this.image == null || this.image.getWidth() != width || this.image.getHeight() != height) {
+            this.image = new WritableImage(width, height);
+            this.pixels = bgra.createBuffer();
         }
 
-        final PixelFormat<IntBuffer> argb = PixelFormat.getIntArgbInstance();
-        this.image.getPixelWriter().setPixels(0, 0, width, height, argb, this.pixels, width);
+        final PixelFormat<ByteBuffer> format = PixelFormat.getByteBgraInstance();
+        this.image.getPixelWriter().setPixels(0, 0, width, height, format, this.pixels, (int) bgra.step());
 
         return this.image;
     }
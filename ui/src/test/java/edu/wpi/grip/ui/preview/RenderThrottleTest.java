@@ -0,0 +1,111 @@
+package edu.wpi.grip.ui.preview;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RenderThrottleTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private RenderThrottle throttle;
+
+    @Before
+    public void setUp() {
+        throttle = new RenderThrottle();
+        throttle.setMaxFrameRate(10);
+    }
+
+    @Test
+    public void testFirstRenderIsNotDelayed() {
+        // The clock used for animation can start anywhere, including at negative numbers
+        assertTrue("A new preview should be drawn right away", throttle.tryRender(-5000 * MILLIS, () -> true));
+    }
+
+    @Test
+    public void testUpToDatePreviewIsNotRedrawn() {
+        assertTrue(throttle.tryRender(0, () -> true));
+        assertFalse("A preview should not be redrawn if nothing changed",
+                throttle.tryRender(1000 * MILLIS, () -> true));
+    }
+
+    @Test
+    public void testRedrawsAreLimitedToFrameRate() {
+        assertTrue(throttle.tryRender(0, () -> true));
+
+        throttle.invalidate();
+        assertFalse("A preview should not be redrawn again within one frame",
+                throttle.tryRender(50 * MILLIS, () -> true));
+        assertTrue("A preview should be redrawn once a frame has passed", throttle.tryRender(100 * MILLIS, () -> true));
+    }
+
+    @Test
+    public void testManyFramesCauseOneRedraw() {
+        assertTrue(throttle.tryRender(0, () -> true));
+
+        for (int i = 0; i < 10; i++) {
+            throttle.invalidate();
+        }
+        assertTrue(throttle.tryRender(100 * MILLIS, () -> true));
+        assertFalse("Every frame since the last redraw should be covered by one redraw",
+                throttle.tryRender(1000 * MILLIS, () -> true));
+    }
+
+    @Test
+    public void testNoFrameRateLimit() {
+        throttle.setMaxFrameRate(0);
+        assertTrue(throttle.tryRender(0, () -> true));
+
+        throttle.invalidate();
+        assertTrue("With no limit, a preview should be redrawn whenever it's out of date",
+                throttle.tryRender(0, () -> true));
+    }
+
+    @Test
+    public void testHiddenPreviewIsRedrawnOnceShown() {
+        assertFalse("A preview that can't be seen should not be drawn", throttle.tryRender(0, () -> false));
+        assertTrue("A preview should be drawn once it can be seen", throttle.tryRender(10 * MILLIS, () -> true));
+    }
+
+    @Test
+    public void testVisibilityIsOnlyCheckedWhenNeeded() {
+        assertTrue(throttle.tryRender(0, () -> true));
+        assertFalse(throttle.tryRender(1000 * MILLIS, () -> {
+            throw new AssertionError("Visibility should not be checked for a preview that's up to date");
+        }));
+    }
+
+    @Test
+    public void testInViewWithoutScrollPane() {
+        assertTrue(RenderThrottle.isInView(box(10, 10, 100, 100), 800, 600, Optional.empty()));
+    }
+
+    @Test
+    public void testPartlyInView() {
+        assertTrue("A preview that's partly in the scene should be drawn",
+                RenderThrottle.isInView(box(750, 10, 100, 100), 800, 600, Optional.empty()));
+    }
+
+    @Test
+    public void testOutsideScene() {
+        assertFalse(RenderThrottle.isInView(box(900, 10, 100, 100), 800, 600, Optional.empty()));
+    }
+
+    @Test
+    public void testScrolledOutOfView() {
+        final Optional<Bounds> viewport = Optional.of(box(0, 400, 800, 200));
+        assertFalse("A preview scrolled out of its scroll pane should not be drawn",
+                RenderThrottle.isInView(box(10, 10, 100, 100), 800, 600, viewport));
+        assertTrue(RenderThrottle.isInView(box(10, 350, 100, 100), 800, 600, viewport));
+    }
+
+    private static Bounds box(double x, double y, double width, double height) {
+        return new BoundingBox(x, y, width, height);
+    }
+}
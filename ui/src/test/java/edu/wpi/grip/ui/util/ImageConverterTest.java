@@ -14,9 +14,12 @@ import org.testfx.framework.junit.ApplicationTest;
 import java.net.URLDecoder;
 import java.nio.file.Paths;
 
+import static org.bytedeco.javacpp.opencv_core.CV_8UC3;
+import static org.bytedeco.javacpp.opencv_core.Scalar;
 import static org.bytedeco.javacpp.opencv_imgproc.COLOR_BGR2GRAY;
 import static org.bytedeco.javacpp.opencv_imgproc.cvtColor;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 public class ImageConverterTest extends ApplicationTest {
@@ -75,6 +78,38 @@ public class ImageConverterTest extends ApplicationTest {
         });
     }
 
+    @Test
+    public void testConvertDownscalesToFit() throws Exception {
+        final Mat gompeiMat = new Mat();
+        ImageLoadingUtility.loadImage(URLDecoder.decode(Paths.get(gompeiImage.file.toURI()).toString()), gompeiMat);
+        final double scale = 100.0 / gompeiImage.getCols();
+
+        interact(() -> {
+            Image javaFXImage = converter.convert(gompeiMat, 100, 1000);
+            assertEquals(100, Math.round(javaFXImage.getWidth()));
+            assertEquals(Math.round(gompeiImage.getRows() * scale), Math.round(javaFXImage.getHeight()));
+
+            // Images that already fit aren't made any bigger
+            javaFXImage = converter.convert(gompeiMat, 10000, 10000);
+            assertSameImage(gompeiImage, javaFXImage);
+        });
+    }
+
+    @Test
+    public void testLargeImageIsNoBiggerThanBound() {
+        final Mat large = new Mat(3000, 4000, CV_8UC3, Scalar.all(128));
+
+        interact(() -> {
+            Image javaFXImage = converter.convert(large, 0, 240);
+            assertTrue("The image is taller than the bound", javaFXImage.getHeight() <= 240);
+            assertEquals(320, Math.round(javaFXImage.getWidth()));
+
+            javaFXImage = converter.convert(large, 400, 400);
+            assertTrue("The image is wider than the bound", javaFXImage.getWidth() <= 400);
+            assertTrue("The image is taller than the bound", javaFXImage.getHeight() <= 400);
+        });
+    }
+
     private void assertSameImage(ImageWithData imageWithData, Image javaFXImage) {
         assertEquals(imageWithData.getCols(), Math.round(javaFXImage.getWidth()));
         assertEquals(imageWithData.getRows(), Math.round(javaFXImage.getHeight()));